@@ -39,6 +39,9 @@ public class PacManApp extends Application {
 		@Parameter(names = { "-ghostsHarmless" }, description = "Ghost collisions are harmless")
 		public boolean ghostsHarmless = false;
 
+		@Parameter(names = { "-ghosts" }, description = "Number of ghosts (at least 4), personalities are assigned round-robin")
+		public int ghosts = 4;
+
 		@Parameter(names = { "-ghostsSafeCorner" }, description = "Ghosts don't flee randomly but to a safe corner")
 		public boolean ghostsSafeCorner = false;
 
@@ -48,9 +51,27 @@ public class PacManApp extends Application {
 		@Parameter(names = { "-pacManImmortable" }, description = "Pac-Man stays alive when killed by ghost")
 		public boolean pacManImmortable = false;
 
+		@Parameter(names = { "-record" }, description = "Records the game into the specified file")
+		public String record;
+
+		@Parameter(names = { "-replay" }, description = "Replays the game recorded in the specified file")
+		public String replay;
+
+		@Parameter(names = { "-seed" }, description = "Seed of the random generator (same seed and input gives same game)")
+		public long seed = System.nanoTime();
+
+		@Parameter(names = { "-framebuffer" }, description = "Play view is drawn into a framebuffer (arcade theme)")
+		public boolean framebuffer = false;
+
+		@Parameter(names = { "-keyframeInterval" }, description = "Ticks between keyframes in recorded games")
+		public int keyframeInterval = 600;
+
 		@Parameter(names = { "-pathFinder" }, description = "Used path finding algorithm (astar, bfs, bestfs)")
 		public String pathFinder = "astar";
 
+		@Parameter(names = { "-renderThread" }, description = "Play view is drawn in a separate thread")
+		public boolean renderThread = false;
+
 		@Parameter(names = { "-skipIntro" }, description = "Game starts without intro screen")
 		public boolean skipIntro = false;
 
@@ -76,11 +97,18 @@ public class PacManApp extends Application {
 	protected void printSettings() {
 		super.printSettings();
 		settings.print("Demo Mode", settings.demoMode);
+		settings.print("Ghosts", settings.ghosts);
 		settings.print("Ghosts harmless", settings.ghostsHarmless);
 		settings.print("Ghosts flee into corner", settings.ghostsSafeCorner);
 		settings.print("Fix Overflow Bug", settings.fixOverflowBug);
 		settings.print("Pac-Man immortable", settings.pacManImmortable);
+		settings.print("Framebuffer", settings.framebuffer);
+		settings.print("Keyframe Interval", settings.keyframeInterval);
 		settings.print("Pathfinder", settings.pathFinder);
+		settings.print("Render Thread", settings.renderThread);
+		settings.print("Random Seed", settings.seed);
+		settings.print("Record", settings.record);
+		settings.print("Replay", settings.replay);
 		settings.print("Skip Intro", settings.skipIntro);
 		settings.print("Startlevel", settings.startLevel);
 		settings.print("Theme", settings.theme.toUpperCase());
@@ -1,16 +1,19 @@
 package de.amr.games.pacman.controller.bonus;
 
-import static de.amr.easy.game.Application.loginfo;
 import static de.amr.games.pacman.controller.bonus.BonusFoodState.BONUS_CONSUMABLE;
 import static de.amr.games.pacman.controller.bonus.BonusFoodState.BONUS_CONSUMED;
 import static de.amr.games.pacman.controller.bonus.BonusFoodState.BONUS_INACTIVE;
 import static de.amr.games.pacman.controller.game.Timing.sec;
 
-import java.util.Random;
 import java.util.function.Supplier;
 
 import de.amr.games.pacman.controller.event.BonusFoundEvent;
 import de.amr.games.pacman.controller.event.PacManGameEvent;
+import de.amr.games.pacman.controller.log.GameLog;
+import de.amr.games.pacman.controller.log.LogCategory;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.TemporaryFood;
 import de.amr.games.pacman.model.world.api.TiledWorld;
 import de.amr.statemachine.core.StateMachine;
@@ -22,10 +25,15 @@ import de.amr.statemachine.core.StateMachine;
  */
 public class BonusFoodController extends StateMachine<BonusFoodState, PacManGameEvent> {
 
-	private Random rnd = new Random();
+	private final TiledWorld world;
+	private final SeededRandom rnd;
+	private final Supplier<TemporaryFood> fnBonusSupplier;
 
-	public BonusFoodController(TiledWorld world, Supplier<TemporaryFood> fnBonusSupplier) {
+	public BonusFoodController(TiledWorld world, SeededRandom rnd, Supplier<TemporaryFood> fnBonusSupplier) {
 		super(BonusFoodState.class);
+		this.world = world;
+		this.rnd = rnd;
+		this.fnBonusSupplier = fnBonusSupplier;
 		/*@formatter:off*/
 		beginStateMachine()
 			.description("Bonus Food Controller")
@@ -39,7 +47,7 @@ public class BonusFoodController extends StateMachine<BonusFoodState, PacManGame
 					.timeoutAfter(this::bonusTime)
 					.onEntry(() -> activateBonus(world, fnBonusSupplier.get()))
 				
-				.state(BONUS_CONSUMED).timeoutAfter(sec(3))
+				.state(BONUS_CONSUMED).timeoutAfter(this::consumedTime)
 
 			.transitions()
 				
@@ -59,22 +67,48 @@ public class BonusFoodController extends StateMachine<BonusFoodState, PacManGame
 		return sec(9 + rnd.nextFloat());
 	}
 
+	private long consumedTime() {
+		return sec(3);
+	}
+
+	public void writeSnapshot(SnapshotWriter out) {
+		out.writeState(this);
+	}
+
+	/**
+	 * Restores the controller state and the bonus food in the world matching this state.
+	 * 
+	 * @param in snapshot reader
+	 */
+	public void readSnapshot(SnapshotReader in) {
+		in.readState(this, BonusFoodState.values(),
+				state -> state == BONUS_CONSUMABLE ? bonusTime() : state == BONUS_CONSUMED ? consumedTime() : Long.MAX_VALUE);
+		if (is(BONUS_CONSUMABLE, BONUS_CONSUMED)) {
+			world.showTemporaryFood(fnBonusSupplier.get());
+			if (is(BONUS_CONSUMED)) {
+				world.temporaryFood().ifPresent(TemporaryFood::consume);
+			}
+		} else {
+			world.hideTemporaryFood();
+		}
+	}
+
 	private void activateBonus(TiledWorld world, TemporaryFood bonus) {
 		world.showTemporaryFood(bonus);
-		loginfo("Bonus %s activated for %.2f sec", bonus, state().getDuration() / 60f);
+		GameLog.info(LogCategory.BONUS, "Bonus %s activated for %.2f sec", bonus, state().getDuration() / 60f);
 	}
 
 	private void consumeBonus(TiledWorld world) {
 		world.temporaryFood().ifPresent(food -> {
 			food.consume();
-			loginfo("Bonus %s consumed after %.2f sec", food, state().getTicksConsumed() / 60f);
+			GameLog.info(LogCategory.BONUS, "Bonus %s consumed after %.2f sec", food, state().getTicksConsumed() / 60f);
 		});
 	}
 
 	private void deactivateBonus(TiledWorld world) {
 		world.temporaryFood().ifPresent(food -> {
 			food.deactivate();
-			loginfo("Bonus %s has not been consumed and gets deactivated", food);
+			GameLog.info(LogCategory.BONUS, "Bonus %s has not been consumed and gets deactivated", food);
 		});
 	}
 }
\ No newline at end of file
@@ -0,0 +1,277 @@
+package de.amr.games.pacman.controller.creatures;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+
+/**
+ * Keeps the per-tick data of all creatures of a session in parallel primitive arrays: tile
+ * position, pixel position, move and wish direction, speed, state ordinal and the "in world" flag.
+ * Each creature has a fixed slot in the store.
+ * <p>
+ * The creatures write their data into their slot whenever it changes (moving, placing,
+ * initialization and update, inclusion into or exclusion from the world). The state ordinal is the
+ * state after the creature's last update, use {@link #syncAll()} if it is needed right after an
+ * event has been processed. Code that has to look at all creatures every
+ * tick (collisions, ghost house, sound state, later the occupancy grid) iterates over these arrays
+ * instead of streaming over the creature objects.
+ * <p>
+ * The store also maintains the {@link OccupancyGrid} of the creatures in the world.
+ * <p>
+ * A tick of the creatures has two phases: first all creatures in the world compute their intent
+ * (see {@link #computeIntents()}), then they are updated one by one in slot order, which moves them,
+ * checks collisions and publishes events.
+ * <p>
+ * The pixel position itself is owned by the entity transform of the game library, the store holds
+ * a copy that is updated after each move. The position at the start of the current tick is kept for
+ * rendering the creatures between two ticks, see {@link #setInterpolation(float)}.
+ *
+ * @author Armin Reichert
+ */
+public class CreatureStore {
+
+	private static final byte NO_DIR = -1;
+	private static final int MIN_PARALLEL_INTENTS = 16;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private Guy<?>[] guys = new Guy<?>[8];
+	private int size;
+
+	private float[] x = new float[8];
+	private float[] y = new float[8];
+	private float[] prevX = new float[8];
+	private float[] prevY = new float[8];
+	private int[] col = new int[8];
+	private int[] row = new int[8];
+	private byte[] moveDir = new byte[8];
+	private byte[] wishDir = new byte[8];
+	private float[] speed = new float[8];
+	private int[] state = new int[8];
+	private boolean[] inWorld = new boolean[8];
+
+	private final OccupancyGrid grid;
+	private float interpolation = 1;
+
+	/**
+	 * @param width  width (in tiles) of the occupancy grid
+	 * @param height height (in tiles) of the occupancy grid
+	 */
+	public CreatureStore(int width, int height) {
+		grid = new OccupancyGrid(width, height);
+		grid.ensureCapacity(guys.length);
+	}
+
+	/**
+	 * @return the tile occupancy grid of the creatures in the world
+	 */
+	public OccupancyGrid grid() {
+		return grid;
+	}
+
+	/**
+	 * Adds the creature to this store and assigns its slot.
+	 *
+	 * @param guy a creature
+	 * @return the slot of the creature
+	 */
+	public int add(Guy<?> guy) {
+		if (guy.store != null) {
+			throw new IllegalStateException(String.format("%s is already added to a creature store", guy.name));
+		}
+		if (size == guys.length) {
+			grow(2 * size);
+		}
+		int slot = size++;
+		guys[slot] = guy;
+		guy.store = this;
+		guy.slot = slot;
+		sync(guy);
+		return slot;
+	}
+
+	private void grow(int capacity) {
+		guys = Arrays.copyOf(guys, capacity);
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		prevX = Arrays.copyOf(prevX, capacity);
+		prevY = Arrays.copyOf(prevY, capacity);
+		col = Arrays.copyOf(col, capacity);
+		row = Arrays.copyOf(row, capacity);
+		moveDir = Arrays.copyOf(moveDir, capacity);
+		wishDir = Arrays.copyOf(wishDir, capacity);
+		speed = Arrays.copyOf(speed, capacity);
+		state = Arrays.copyOf(state, capacity);
+		inWorld = Arrays.copyOf(inWorld, capacity);
+		grid.ensureCapacity(capacity);
+	}
+
+	/**
+	 * Copies the current data of the given creature into its slot.
+	 *
+	 * @param guy a creature of this store
+	 */
+	public void sync(Guy<?> guy) {
+		int i = guy.slot;
+		x[i] = guy.tf.x;
+		y[i] = guy.tf.y;
+		col[i] = guy.col();
+		row[i] = guy.row();
+		moveDir[i] = guy.moveDir != null ? (byte) guy.moveDir.ordinal() : NO_DIR;
+		wishDir[i] = guy.wishDir != null ? (byte) guy.wishDir.ordinal() : NO_DIR;
+		state[i] = guy.stateOrdinal();
+		inWorld[i] = guy.isInWorld();
+		updateGrid(i);
+	}
+
+	private void updateGrid(int slot) {
+		if (inWorld[slot]) {
+			grid.place(slot, col[slot], row[slot]);
+		} else {
+			grid.remove(slot);
+		}
+	}
+
+	/**
+	 * Keeps the current positions as the positions at the start of the next tick.
+	 */
+	public void savePositions() {
+		System.arraycopy(x, 0, prevX, 0, size);
+		System.arraycopy(y, 0, prevY, 0, size);
+	}
+
+	/**
+	 * Sets the fraction of the interval between the last two ticks at which the creatures are
+	 * rendered. 1 means at their current position.
+	 *
+	 * @param fraction value between 0 and 1
+	 */
+	public void setInterpolation(float fraction) {
+		interpolation = fraction;
+	}
+
+	/**
+	 * @param slot     creature slot
+	 * @param currentX current x-position
+	 * @return x-position between the last two ticks, the current position after a jump (teleport,
+	 *         placement)
+	 */
+	public float interpolatedX(int slot, float currentX) {
+		return interpolate(prevX[slot], currentX);
+	}
+
+	/**
+	 * @param slot     creature slot
+	 * @param currentY current y-position
+	 * @return y-position between the last two ticks, the current position after a jump (teleport,
+	 *         placement)
+	 */
+	public float interpolatedY(int slot, float currentY) {
+		return interpolate(prevY[slot], currentY);
+	}
+
+	private float interpolate(float prev, float current) {
+		if (interpolation == 1 || Math.abs(current - prev) > Tile.SIZE) {
+			return current;
+		}
+		return prev + (current - prev) * interpolation;
+	}
+
+	/**
+	 * Copies the data of all creatures into their slots.
+	 */
+	public void syncAll() {
+		for (int i = 0; i < size; ++i) {
+			sync(guys[i]);
+		}
+	}
+
+	void setInWorld(int slot, boolean value) {
+		inWorld[slot] = value;
+		updateGrid(slot);
+	}
+
+	void setSpeed(int slot, float value) {
+		speed[slot] = value;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Guy<?> guy(int slot) {
+		return guys[slot];
+	}
+
+	public float x(int slot) {
+		return x[slot];
+	}
+
+	public float y(int slot) {
+		return y[slot];
+	}
+
+	public int col(int slot) {
+		return col[slot];
+	}
+
+	public int row(int slot) {
+		return row[slot];
+	}
+
+	public Direction moveDir(int slot) {
+		return moveDir[slot] == NO_DIR ? null : DIRECTIONS[moveDir[slot]];
+	}
+
+	public Direction wishDir(int slot) {
+		return wishDir[slot] == NO_DIR ? null : DIRECTIONS[wishDir[slot]];
+	}
+
+	/**
+	 * @param slot creature slot
+	 * @return speed used in the last move
+	 */
+	public float speed(int slot) {
+		return speed[slot];
+	}
+
+	/**
+	 * @param slot creature slot
+	 * @return ordinal of the creature's state or -1 if the creature has no state yet
+	 */
+	public int state(int slot) {
+		return state[slot];
+	}
+
+	public boolean inWorld(int slot) {
+		return inWorld[slot];
+	}
+
+	/**
+	 * Lets each creature in the world compute its intent (wish direction) for the current tick. No
+	 * creature moves in this phase, so each one sees the others at their position at the start of the
+	 * tick, independent of the slot order. With many creatures, the intents are computed in parallel.
+	 */
+	public void computeIntents() {
+		IntStream slots = IntStream.range(0, size).filter(i -> inWorld[i]);
+		if (size >= MIN_PARALLEL_INTENTS) {
+			slots = slots.parallel();
+		}
+		slots.forEach(i -> guys[i].computeIntent());
+	}
+
+	/**
+	 * Calls the action for each creature currently in the world, in slot order.
+	 *
+	 * @param action action to execute
+	 */
+	public void forEachInWorld(Consumer<Guy<?>> action) {
+		for (int i = 0; i < size; ++i) {
+			if (inWorld[i]) {
+				action.accept(guys[i]);
+			}
+		}
+	}
+}
@@ -13,10 +13,14 @@ import static de.amr.games.pacman.controller.creatures.ghost.GhostState.LOCKED;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
 import static de.amr.games.pacman.controller.steering.api.SteeringBuilder.you;
 
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
 import de.amr.games.pacman.model.world.components.Door;
@@ -24,16 +28,65 @@ import de.amr.games.pacman.model.world.components.House;
 
 /**
  * The folks from the original game with their individual behaviors.
+ * <p>
+ * Besides the four ghosts of the original game, any number of additional ghosts can be created. The
+ * personalities of the additional ghosts are assigned round-robin (Shadow, Speedy, Bashful, Pokey,
+ * Shadow, ...) and each additional ghost behaves like the original ghost with the same personality,
+ * e.g. "Pinky 2" is the second ghost with the personality of Pinky.
  * 
  * @author Armin Reichert
  */
 public class Folks {
 
+	/** Number of ghosts in the original game. */
+	public static final int ORIGINAL_GHOST_COUNT = 4;
+
+	private static final GhostPersonality[] PERSONALITIES = GhostPersonality.values();
+
 	public final PacMan pacMan;
 	public final Ghost blinky, pinky, inky, clyde;
+	public final CreatureStore store;
+
+	private final Ghost[] ghostArray;
+	private final Guy<?>[] guyArray;
 
+	/**
+	 * Creates the folks for use outside of a game session (intro, previews etc.).
+	 * 
+	 * @param world      the world
+	 * @param ghostHouse the ghost house
+	 */
 	public Folks(TiledWorld world, House ghostHouse) {
+		this(world, ghostHouse, new SeededRandom(System.nanoTime()));
+	}
 
+	/**
+	 * Creates the folks of a game session. All random decisions taken by the folks draw from streams
+	 * split off the given session generator.
+	 * 
+	 * @param world      the world
+	 * @param ghostHouse the ghost house
+	 * @param rnd        random generator of the game session
+	 */
+	public Folks(TiledWorld world, House ghostHouse, SeededRandom rnd) {
+		this(world, ghostHouse, rnd, ORIGINAL_GHOST_COUNT);
+	}
+
+	/**
+	 * Creates the folks of a game session with the given number of ghosts.
+	 * 
+	 * @param world      the world
+	 * @param ghostHouse the ghost house
+	 * @param rnd        random generator of the game session
+	 * @param ghostCount number of ghosts, at least {@link #ORIGINAL_GHOST_COUNT}
+	 */
+	public Folks(TiledWorld world, House ghostHouse, SeededRandom rnd, int ghostCount) {
+		if (ghostCount < ORIGINAL_GHOST_COUNT) {
+			throw new IllegalArgumentException(
+					String.format("Number of ghosts must be at least %d but is %d", ORIGINAL_GHOST_COUNT, ghostCount));
+		}
+
+		store = new CreatureStore(world.width(), world.height());
 		pacMan = new PacMan(world, "Pac-Man");
 
 		blinky = shadowGhost(world, "Blinky", pacMan);
@@ -41,13 +94,32 @@ public class Folks {
 		pinky = speedyGhost(world, "Pinky", pacMan);
 		clyde = pokeyGhost(world, "Clyde", pacMan);
 
-		ghosts().forEach(ghost -> ghost.house = ghostHouse);
-
 		blinky.bed = ghostHouse.bed(0);
 		inky.bed = ghostHouse.bed(1);
 		pinky.bed = ghostHouse.bed(2);
 		clyde.bed = ghostHouse.bed(3);
 
+		ghostArray = new Ghost[ghostCount];
+		ghostArray[0] = blinky;
+		ghostArray[1] = pinky;
+		ghostArray[2] = inky;
+		ghostArray[3] = clyde;
+		for (int i = ORIGINAL_GHOST_COUNT; i < ghostCount; ++i) {
+			Ghost original = ghostArray[i % ORIGINAL_GHOST_COUNT];
+			String name = String.format("%s %d", original.name, i / ORIGINAL_GHOST_COUNT + 1);
+			ghostArray[i] = Ghost.ghost(world, name, PERSONALITIES[i % PERSONALITIES.length], pacMan);
+			ghostArray[i].bed = original.bed;
+		}
+
+		guyArray = new Guy<?>[ghostCount + 1];
+		guyArray[0] = pacMan;
+		System.arraycopy(ghostArray, 0, guyArray, 1, ghostCount);
+		for (Guy<?> guy : guyArray) {
+			store.add(guy);
+		}
+
+		ghosts().forEach(ghost -> ghost.house = ghostHouse);
+
 		// define behavior
 
 		you(pacMan).followTheCursorKeys().ok();
@@ -59,41 +131,95 @@ public class Folks {
 			you(ghost).when(LOCKED).bounceOnBed().ok();
 			you(ghost).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).ok();
 			you(ghost).when(LEAVING_HOUSE).leaveHouse().house(ghostHouse).ok();
-			you(ghost).when(FRIGHTENED).moveRandomly().ok();
+			you(ghost).when(FRIGHTENED).moveRandomly().random(rnd.split(ghost.name)).ok();
 			you(ghost).when(DEAD).headFor().tile(houseEntry).ok();
+			definePersonalBehavior(world, door, ghost);
 		});
+	}
 
-		you(blinky).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).bed(pinky.bed).ok();
-		you(blinky).when(SCATTERING).headFor().tile(world.width() - 3, 0).ok();
-		you(blinky).when(CHASING).headFor().tile(pacMan::tile).ok();
+	private void definePersonalBehavior(TiledWorld world, Door door, Ghost ghost) {
+		switch (ghost.personality) {
+		case SHADOW:
+			you(ghost).when(ENTERING_HOUSE).enterDoorAndGoToBed().door(door).bed(pinky.bed).ok();
+			you(ghost).when(SCATTERING).headFor().tile(world.width() - 3, 0).ok();
+			you(ghost).when(CHASING).headFor().tile(pacMan::tile).ok();
+			break;
+		case BASHFUL:
+			you(ghost).when(SCATTERING).headFor().tile(world.width() - 1, world.height() - 1).ok();
+			you(ghost).when(CHASING).headFor().tile(() -> {
+				Tile b = blinky.tile(), p = pacMan.tilesAhead(2);
+				return Tile.at(2 * p.col - b.col, 2 * p.row - b.row);
+			}).ok();
+			break;
+		case SPEEDY:
+			you(ghost).when(SCATTERING).headFor().tile(2, 0).ok();
+			you(ghost).when(CHASING).headFor().tile(() -> pacMan.tilesAhead(4)).ok();
+			break;
+		case POKEY:
+			you(ghost).when(SCATTERING).headFor().tile(0, world.height() - 1).ok();
+			you(ghost).when(CHASING).headFor()
+					.tile(() -> ghost.tileDistance(pacMan) > 8 ? pacMan.tile() : Tile.at(0, world.height() - 1)).ok();
+			break;
+		default:
+			throw new IllegalArgumentException("Illegal ghost personality: " + ghost.personality);
+		}
+	}
 
-		you(inky).when(SCATTERING).headFor().tile(world.width() - 1, world.height() - 1).ok();
-		you(inky).when(CHASING).headFor().tile(() -> {
-			Tile b = blinky.tile(), p = pacMan.tilesAhead(2);
-			return Tile.at(2 * p.col - b.col, 2 * p.row - b.row);
-		}).ok();
+	/**
+	 * @return number of ghosts
+	 */
+	public int ghostCount() {
+		return ghostArray.length;
+	}
 
-		you(pinky).when(SCATTERING).headFor().tile(2, 0).ok();
-		you(pinky).when(CHASING).headFor().tile(() -> pacMan.tilesAhead(4)).ok();
+	/**
+	 * @param i ghost index (Blinky, Pinky, Inky, Clyde, then the additional ghosts)
+	 * @return the ghost with this index
+	 */
+	public Ghost ghost(int i) {
+		return ghostArray[i];
+	}
 
-		you(clyde).when(SCATTERING).headFor().tile(0, world.height() - 1).ok();
-		you(clyde).when(CHASING).headFor()
-				.tile(() -> clyde.tileDistance(pacMan) > 8 ? pacMan.tile() : Tile.at(0, world.height() - 1)).ok();
+	/**
+	 * @param ghost one of the ghosts
+	 * @return the index of this ghost, see {@link #ghost(int)}
+	 */
+	public int ghostIndex(Ghost ghost) {
+		// ghosts are added to the store directly after Pac-Man and in index order
+		int i = ghost.slot() - pacMan.slot() - 1;
+		if (i < 0 || i >= ghostArray.length || ghostArray[i] != ghost) {
+			throw new IllegalArgumentException(ghost.name + " is not one of the folks");
+		}
+		return i;
 	}
 
 	public Stream<Ghost> ghosts() {
-		return Stream.of(blinky, pinky, inky, clyde);
+		return Arrays.stream(ghostArray);
 	}
 
 	public Stream<Guy<?>> guys() {
-		return Stream.of(pacMan, blinky, pinky, inky, clyde);
+		return Arrays.stream(guyArray);
 	}
 
 	public Stream<Ghost> ghostsInWorld() {
-		return ghosts().filter(ghost -> ghost.world.contains(ghost));
+		return ghosts().filter(Ghost::isInWorld);
 	}
 
 	public Stream<Guy<?>> guysInWorld() {
-		return guys().filter(guy -> guy.world.contains(guy));
+		return guys().filter(Guy::isInWorld);
+	}
+
+	/**
+	 * @param state a ghost state
+	 * @return if any ghost in the world is currently in the given state
+	 */
+	public boolean anyGhostInWorldIs(GhostState state) {
+		// the states mirrored in the store are only synced once per tick, read the state machines
+		for (Ghost ghost : ghostArray) {
+			if (ghost.ai.getState() == state && ghost.isInWorld()) {
+				return true;
+			}
+		}
+		return false;
 	}
 }
\ No newline at end of file
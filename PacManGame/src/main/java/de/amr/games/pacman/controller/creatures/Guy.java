@@ -2,6 +2,8 @@ package de.amr.games.pacman.controller.creatures;
 
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.easy.game.controller.StateMachineControlled;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
 import de.amr.games.pacman.controller.steering.api.Steering;
 import de.amr.games.pacman.controller.steering.common.MovementController;
 import de.amr.games.pacman.model.world.api.Direction;
@@ -23,12 +25,76 @@ public abstract class Guy<STATE> extends TileWorldEntity implements Lifecycle, S
 
 	protected final MovementController movement;
 
+	/** Store keeping the per-tick data of this guy, {@code null} if not part of a session. */
+	CreatureStore store;
+	int slot = -1;
+
+	/** Steering that has already steered this guy in the current tick, see {@link #computeIntent()}. */
+	private Steering intentSteering;
+
 	public Guy(TiledWorld world, String name) {
 		super(world);
 		this.name = name;
 		this.movement = new MovementController(this);
 	}
 
+	/**
+	 * @return slot of this guy in the creature store or -1 if not stored
+	 */
+	public int slot() {
+		return slot;
+	}
+
+	/**
+	 * @return ordinal of the current state or -1 if there is no state yet
+	 */
+	protected int stateOrdinal() {
+		return -1;
+	}
+
+	/**
+	 * Copies the data of this guy into the creature store.
+	 */
+	protected void sync() {
+		if (store != null) {
+			store.sync(this);
+		}
+	}
+
+	@Override
+	public void setInWorld(boolean inWorld) {
+		super.setInWorld(inWorld);
+		if (store != null) {
+			store.setInWorld(slot, inWorld);
+		}
+	}
+
+	/**
+	 * @param other other guy
+	 * @return if both guys are on the same tile. Uses the occupancy grid if both guys are in the same
+	 *         creature store.
+	 */
+	public boolean isOnSameTileAs(Guy<?> other) {
+		if (store != null && store == other.store) {
+			return store.grid().onSameTile(slot, other.slot);
+		}
+		return tile().equals(other.tile());
+	}
+
+	/**
+	 * @return x-position where this guy is rendered, between the positions of the last two ticks
+	 */
+	public float renderX() {
+		return store != null ? store.interpolatedX(slot, tf.x) : tf.x;
+	}
+
+	/**
+	 * @return y-position where this guy is rendered, between the positions of the last two ticks
+	 */
+	public float renderY() {
+		return store != null ? store.interpolatedY(slot, tf.y) : tf.y;
+	}
+
 	/**
 	 * @return pixels this guy can move on the next tick.
 	 */
@@ -64,9 +130,42 @@ public abstract class Guy<STATE> extends TileWorldEntity implements Lifecycle, S
 		return canMoveBetween(currentTile, neighbor);
 	}
 
+	/**
+	 * @return the steering that may compute the intent of this guy before the guy is updated or
+	 *         {@code null} if the steering must not be used yet
+	 */
+	protected Steering steeringForIntent() {
+		return getSteering();
+	}
+
+	/**
+	 * First phase of a tick: lets the current steering compute the wish direction of this guy. Only
+	 * concurrent steerings are used here, the intent is computed from the state of the world and the
+	 * guys at the start of the tick. Guys without intent are steered when moving.
+	 */
+	void computeIntent() {
+		Steering steering = steeringForIntent();
+		if (steering != null && steering.isConcurrent()) {
+			steering.steer(this);
+			intentSteering = steering;
+		}
+	}
+
+	/**
+	 * Discards the intent computed for the current tick. Called at the end of each update.
+	 */
+	protected void discardIntent() {
+		intentSteering = null;
+	}
+
 	public void move() {
-		getSteering().steer(this);
+		Steering steering = getSteering();
+		if (steering != intentSteering) {
+			steering.steer(this);
+		}
+		intentSteering = null;
 		movement.update();
+		sync();
 	}
 
 	@Override
@@ -74,6 +173,45 @@ public abstract class Guy<STATE> extends TileWorldEntity implements Lifecycle, S
 		Tile oldTile = tile();
 		super.placeAt(tile, dx, dy);
 		enteredNewTile = !tile().equals(oldTile);
+		sync();
+	}
+
+	/**
+	 * Writes the state of this guy (position, directions, visibility, movement) into the snapshot.
+	 * Subclasses write their state before calling this method.
+	 * 
+	 * @param out snapshot writer
+	 */
+	public void writeSnapshot(SnapshotWriter out) {
+		out.writeFloat(tf.x);
+		out.writeFloat(tf.y);
+		out.writeEnum(moveDir);
+		out.writeEnum(wishDir);
+		out.writeBoolean(enteredNewTile);
+		out.writeBoolean(visible);
+		out.writeBoolean(world.contains(this));
+		movement.writeSnapshot(out);
+	}
+
+	/**
+	 * Restores the state of this guy from the snapshot.
+	 * 
+	 * @param in snapshot reader
+	 */
+	public void readSnapshot(SnapshotReader in) {
+		tf.x = in.readFloat();
+		tf.y = in.readFloat();
+		moveDir = in.readEnum(Direction.values());
+		wishDir = in.readEnum(Direction.values());
+		enteredNewTile = in.readBoolean();
+		visible = in.readBoolean();
+		if (in.readBoolean()) {
+			world.include(this);
+		} else {
+			world.exclude(this);
+		}
+		movement.readSnapshot(in);
+		sync();
 	}
 
 	/**
@@ -114,6 +252,10 @@ public abstract class Guy<STATE> extends TileWorldEntity implements Lifecycle, S
 		tf.setVelocity(moveDir.vector().times(possibleDistance));
 		tf.move();
 		enteredNewTile = !tile().equals(tileBeforeMove);
+		if (store != null) {
+			store.setSpeed(slot, speed);
+			store.sync(this);
+		}
 	}
 
 	/**
@@ -0,0 +1,166 @@
+package de.amr.games.pacman.controller.creatures;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Tile occupancy of the creatures in the world. For each tile, the slots (see {@link CreatureStore})
+ * of the creatures on that tile are kept in a doubly linked list stored in primitive arrays. The
+ * grid is updated incrementally whenever a creature changes its tile or gets included into or
+ * excluded from the world.
+ * <p>
+ * Creatures outside of the grid (e.g. inside a portal) or outside of the world are not on any tile.
+ *
+ * @author Armin Reichert
+ */
+public class OccupancyGrid {
+
+	private static final int NONE = -1;
+
+	private final int width;
+	private final int height;
+	private final int[] head;
+	private int[] next = new int[0];
+	private int[] prev = new int[0];
+	private int[] tileIndex = new int[0];
+
+	public OccupancyGrid(int width, int height) {
+		this.width = width;
+		this.height = height;
+		head = new int[width * height];
+		Arrays.fill(head, NONE);
+	}
+
+	public int width() {
+		return width;
+	}
+
+	public int height() {
+		return height;
+	}
+
+	void ensureCapacity(int slots) {
+		int oldCapacity = tileIndex.length;
+		if (slots > oldCapacity) {
+			next = Arrays.copyOf(next, slots);
+			prev = Arrays.copyOf(prev, slots);
+			tileIndex = Arrays.copyOf(tileIndex, slots);
+			Arrays.fill(tileIndex, oldCapacity, slots, NONE);
+		}
+	}
+
+	/**
+	 * Puts the creature in the given slot onto the given tile. If the tile is outside of the grid, the
+	 * creature is removed from the grid.
+	 *
+	 * @param slot creature slot
+	 * @param col  tile column
+	 * @param row  tile row
+	 */
+	void place(int slot, int col, int row) {
+		int index = 0 <= col && col < width && 0 <= row && row < height ? row * width + col : NONE;
+		if (index == tileIndex[slot]) {
+			return;
+		}
+		remove(slot);
+		if (index != NONE) {
+			prev[slot] = NONE;
+			next[slot] = head[index];
+			if (head[index] != NONE) {
+				prev[head[index]] = slot;
+			}
+			head[index] = slot;
+			tileIndex[slot] = index;
+		}
+	}
+
+	/**
+	 * Removes the creature in the given slot from the grid.
+	 *
+	 * @param slot creature slot
+	 */
+	void remove(int slot) {
+		int index = tileIndex[slot];
+		if (index == NONE) {
+			return;
+		}
+		if (prev[slot] != NONE) {
+			next[prev[slot]] = next[slot];
+		} else {
+			head[index] = next[slot];
+		}
+		if (next[slot] != NONE) {
+			prev[next[slot]] = prev[slot];
+		}
+		tileIndex[slot] = NONE;
+	}
+
+	/**
+	 * @param slot creature slot
+	 * @return if the creature is on a tile of the grid
+	 */
+	public boolean isOnGrid(int slot) {
+		return tileIndex[slot] != NONE;
+	}
+
+	/**
+	 * @param slot  creature slot
+	 * @param other other creature slot
+	 * @return if both creatures are on the same tile of the grid
+	 */
+	public boolean onSameTile(int slot, int other) {
+		return tileIndex[slot] != NONE && tileIndex[slot] == tileIndex[other];
+	}
+
+	/**
+	 * @param col tile column
+	 * @param row tile row
+	 * @return slot of some creature on this tile or -1 if the tile is empty or outside of the grid
+	 */
+	public int first(int col, int row) {
+		return 0 <= col && col < width && 0 <= row && row < height ? head[row * width + col] : NONE;
+	}
+
+	/**
+	 * @param slot creature slot
+	 * @return slot of the next creature on the same tile or -1
+	 */
+	public int next(int slot) {
+		return next[slot];
+	}
+
+	/**
+	 * Calls the action for the slot of each creature on the given tile.
+	 *
+	 * @param col    tile column
+	 * @param row    tile row
+	 * @param action action receiving the creature slots
+	 */
+	public void forEachOn(int col, int row, IntConsumer action) {
+		for (int slot = first(col, row); slot != NONE; slot = next[slot]) {
+			action.accept(slot);
+		}
+	}
+
+	/**
+	 * Calls the action for the slot of each creature whose tile has a Manhattan distance of at most
+	 * {@code k} tiles from the given tile. Takes O(k²) time independent of the number of creatures.
+	 *
+	 * @param col    tile column
+	 * @param row    tile row
+	 * @param k      maximum distance in tiles
+	 * @param action action receiving the creature slots
+	 */
+	public void forEachWithin(int col, int row, int k, IntConsumer action) {
+		int minRow = Math.max(0, row - k), maxRow = Math.min(height - 1, row + k);
+		for (int r = minRow; r <= maxRow; ++r) {
+			int dc = k - Math.abs(r - row);
+			int minCol = Math.max(0, col - dc), maxCol = Math.min(width - 1, col + dc);
+			for (int c = minCol; c <= maxCol; ++c) {
+				for (int slot = head[r * width + c]; slot != NONE; slot = next[slot]) {
+					action.accept(slot);
+				}
+			}
+		}
+	}
+}
@@ -23,6 +23,8 @@ import de.amr.games.pacman.controller.event.GhostUnlockedEvent;
 import de.amr.games.pacman.controller.event.PacManGainsPowerEvent;
 import de.amr.games.pacman.controller.event.PacManGameEvent;
 import de.amr.games.pacman.controller.event.PacManGhostCollisionEvent;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
 import de.amr.games.pacman.controller.steering.api.Steering;
 import de.amr.games.pacman.controller.steering.common.MovementType;
 import de.amr.games.pacman.model.game.PacManGame;
@@ -58,6 +60,10 @@ public class Ghost extends Guy<GhostState> {
 		return new Ghost(world, name, GhostPersonality.POKEY, pacMan);
 	}
 
+	public static Ghost ghost(TiledWorld world, String name, GhostPersonality personality, PacMan pacMan) {
+		return new Ghost(world, name, personality, pacMan);
+	}
+
 	public final StateMachine<GhostState, PacManGameEvent> ai;
 	public final GhostMadness madness;
 	public final GhostPersonality personality;
@@ -69,6 +75,7 @@ public class Ghost extends Guy<GhostState> {
 
 	private final Map<GhostState, Steering> behaviors;
 	private Steering previousSteering;
+	private final PacManGhostCollisionEvent collisionEvent = new PacManGhostCollisionEvent(this);
 
 	private Ghost(TiledWorld world, String name, GhostPersonality personality, PacMan pacMan) {
 		super(world, name);
@@ -129,7 +136,7 @@ public class Ghost extends Guy<GhostState> {
 					})
 	
 				.state(DEAD)
-					.timeoutAfter(sec(1))
+					.timeoutAfter(this::getDeadTicks)
 					.onEntry(this::computeBounty)
 					.onTick((s, consumed, remaining) -> {
 						if (remaining == 0) {
@@ -218,11 +225,19 @@ public class Ghost extends Guy<GhostState> {
 		previousSteering = null;
 		movement.init();
 		ai.init();
+		sync();
 	}
 
 	@Override
 	public void update() {
 		ai.update();
+		discardIntent();
+		sync();
+	}
+
+	@Override
+	protected int stateOrdinal() {
+		return ai.getState() != null ? ai.getState().ordinal() : -1;
 	}
 
 	@Override
@@ -236,6 +251,13 @@ public class Ghost extends Guy<GhostState> {
 		return currentSteering;
 	}
 
+	@Override
+	protected Steering steeringForIntent() {
+		// a new steering gets initialized by the update
+		Steering currentSteering = behaviors.getOrDefault(ai.getState(), Steering.STANDING_STILL);
+		return currentSteering == previousSteering ? currentSteering : null;
+	}
+
 	@Override
 	public void setSteering(GhostState state, Steering steering) {
 		behaviors.put(state, steering);
@@ -280,6 +302,68 @@ public class Ghost extends Guy<GhostState> {
 		}
 	}
 
+	/**
+	 * Writes the ghost's state including its mental state and the state of its current steering. The
+	 * steering is stored as active if it has already been initialized for the current ghost state.
+	 */
+	@Override
+	public void writeSnapshot(SnapshotWriter out) {
+		out.writeState(ai);
+		if (madness != null) {
+			madness.writeSnapshot(out);
+		}
+		out.writeEnum(nextState);
+		out.writeInt(bounty);
+		out.writeBoolean(recovering);
+		Steering steering = ai.getState() != null ? behaviors.getOrDefault(ai.getState(), Steering.STANDING_STILL) : null;
+		out.writeBoolean(steering != null && steering == previousSteering);
+		if (steering instanceof StateMachine) {
+			out.writeEnum((Enum<?>) ((StateMachine<?, ?>) steering).getState());
+		}
+		super.writeSnapshot(out);
+	}
+
+	@Override
+	public void readSnapshot(SnapshotReader in) {
+		in.readState(ai, GhostState.values(), this::timerDuration);
+		if (madness != null) {
+			madness.readSnapshot(in);
+		}
+		nextState = in.readEnum(GhostState.values());
+		bounty = in.readInt();
+		recovering = in.readBoolean();
+		Steering steering = ai.getState() != null ? behaviors.getOrDefault(ai.getState(), Steering.STANDING_STILL) : null;
+		previousSteering = in.readBoolean() ? steering : null;
+		if (steering instanceof StateMachine) {
+			readSteeringState(in, (StateMachine<?, ?>) steering);
+		}
+		// position etc. last because initializing the steering may have moved the ghost
+		super.readSnapshot(in);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void readSteeringState(SnapshotReader in, StateMachine fsm) {
+		int ordinal = in.readInt();
+		if (ordinal != -1) {
+			if (fsm.getState() == null) {
+				fsm.init();
+			}
+			Enum<?>[] states = ((Enum<?>) fsm.getState()).getDeclaringClass().getEnumConstants();
+			fsm.resumeState(states[ordinal]);
+		}
+	}
+
+	private long timerDuration(GhostState state) {
+		switch (state) {
+		case FRIGHTENED:
+			return getFrightenedTicks();
+		case DEAD:
+			return getDeadTicks();
+		default:
+			return Long.MAX_VALUE;
+		}
+	}
+
 	@Override
 	public Stream<StateMachine<?, ?>> machines() {
 		return madness != null ? Stream.of(ai, movement, madness) : Stream.of(ai, movement);
@@ -297,6 +381,10 @@ public class Ghost extends Guy<GhostState> {
 		return PacManGame.started() ? sec(game.pacManPowerSeconds) : sec(5);
 	}
 
+	private long getDeadTicks() {
+		return sec(1);
+	}
+
 	private long getFlashTimeTicks() {
 		// assuming one flashing takes 0.5 seconds
 		return PacManGame.started() ? game.numFlashes * sec(0.5f) : 0;
@@ -306,19 +394,21 @@ public class Ghost extends Guy<GhostState> {
 		if (!visible || !pacMan.visible) {
 			return;
 		}
-		if (!tile().equals(pacMan.tile())) {
+		if (!isOnSameTileAs(pacMan)) {
 			return;
 		}
-		if (!ai.is(CHASING, SCATTERING, FRIGHTENED)) {
+		GhostState state = ai.getState();
+		if (state != CHASING && state != SCATTERING && state != FRIGHTENED) {
 			return;
 		}
-		if (!pacMan.ai.is(PacManState.AWAKE, PacManState.POWERFUL)) {
+		PacManState pacManState = pacMan.ai.getState();
+		if (pacManState != PacManState.AWAKE && pacManState != PacManState.POWERFUL) {
 			return;
 		}
 		if (movement.is(MovementType.INSIDE_PORTAL)) {
 			return;
 		}
-		ai.publish(new PacManGhostCollisionEvent(this));
+		ai.publish(collisionEvent);
 	}
 
 	@Override
@@ -11,6 +11,8 @@ import static de.amr.games.pacman.model.game.PacManGame.game;
 import java.util.Objects;
 
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
 import de.amr.statemachine.api.TransitionMatchStrategy;
 import de.amr.statemachine.core.StateMachine;
 
@@ -119,6 +121,25 @@ public class GhostMadness extends StateMachine<GhostMentalState, String> {
 		process(CLYDE_EXITS_HOUSE);
 	}
 
+	public void writeSnapshot(SnapshotWriter out) {
+		out.writeState(this);
+	}
+
+	/**
+	 * Restores the mental state. As restoring does not execute the entry action of the state, the
+	 * scattering behavior matching the mental state is set here.
+	 * 
+	 * @param in snapshot reader
+	 */
+	public void readSnapshot(SnapshotReader in) {
+		in.readState(this, GhostMentalState.values(), state -> Long.MAX_VALUE);
+		if (is(ELROY1, ELROY2)) {
+			headForPacMan();
+		} else {
+			headForCorner();
+		}
+	}
+
 	private boolean elroy1ScoreReached() {
 		return game.remainingFoodCount() <= game.elroy1DotsLeft;
 	}
@@ -11,7 +11,8 @@ import static de.amr.games.pacman.model.game.PacManGame.game;
 import static de.amr.games.pacman.model.world.api.Direction.LEFT;
 import static de.amr.games.pacman.model.world.api.Direction.UP;
 
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import de.amr.games.pacman.PacManApp;
@@ -25,6 +26,8 @@ import de.amr.games.pacman.controller.event.PacManKilledEvent;
 import de.amr.games.pacman.controller.event.PacManLostPowerEvent;
 import de.amr.games.pacman.controller.event.PacManWakeUpEvent;
 import de.amr.games.pacman.controller.game.Timing;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
 import de.amr.games.pacman.controller.steering.api.Steering;
 import de.amr.games.pacman.model.game.PacManGame;
 import de.amr.games.pacman.model.world.api.TemporaryFood;
@@ -48,6 +51,13 @@ public class PacMan extends Guy<PacManState> {
 	private Steering walkingBehavior;
 	private int weight;
 
+	// events are immutable and reused, eating food or waking up does not create garbage
+	private final PacManWakeUpEvent wakeUpEvent = new PacManWakeUpEvent();
+	private final PacManFallAsleepEvent fallAsleepEvent = new PacManFallAsleepEvent();
+	private final PacManLostPowerEvent lostPowerEvent = new PacManLostPowerEvent();
+	private final Map<Tile, FoodFoundEvent> foodFoundEvents = new HashMap<>();
+	private BonusFoundEvent bonusFoundEvent;
+
 	public PacMan(TiledWorld world, String name) {
 		super(world, name);
 		ai = buildAI();
@@ -76,17 +86,17 @@ public class PacMan extends Guy<PacManState> {
 				.state(AWAKE)
 					.onTick(() -> {
 						move();
-						searchForFood().ifPresent(ai::publish);
+						publishFoundFood();
 					})
 					
 				.state(POWERFUL)
 					.onTick(() -> {
 						move();
-						searchForFood().ifPresent(ai::publish);
+						publishFoundFood();
 					})
 					
 				.state(DEAD)
-					.timeoutAfter(Timing.sec(2.5f))
+					.timeoutAfter(() -> timerDuration(DEAD))
 
 				.state(COLLAPSING)
 
@@ -111,7 +121,7 @@ public class PacMan extends Guy<PacManState> {
 				
 				.when(POWERFUL).then(SLEEPING).on(PacManFallAsleepEvent.class)
 				
-				.when(POWERFUL).then(AWAKE).onTimeout().act(() -> ai.publish(new PacManLostPowerEvent()))
+				.when(POWERFUL).then(AWAKE).onTimeout().act(() -> ai.publish(lostPowerEvent))
 					.annotation("Lost power")
 					
 				.when(DEAD).then(COLLAPSING).onTimeout()	
@@ -129,6 +139,31 @@ public class PacMan extends Guy<PacManState> {
 		return Stream.of(ai, movement);
 	}
 
+	@Override
+	public void writeSnapshot(SnapshotWriter out) {
+		out.writeState(ai);
+		out.writeInt(weight);
+		super.writeSnapshot(out);
+	}
+
+	@Override
+	public void readSnapshot(SnapshotReader in) {
+		in.readState(ai, PacManState.values(), this::timerDuration);
+		weight = in.readInt();
+		super.readSnapshot(in);
+	}
+
+	private long timerDuration(PacManState state) {
+		switch (state) {
+		case POWERFUL:
+			return PacManGame.started() ? Timing.sec(game.pacManPowerSeconds) : 0;
+		case DEAD:
+			return Timing.sec(2.5f);
+		default:
+			return Long.MAX_VALUE;
+		}
+	}
+
 	@Override
 	public void setSteering(PacManState state, Steering steering) {
 		if (state == AWAKE || state == POWERFUL) {
@@ -144,19 +179,27 @@ public class PacMan extends Guy<PacManState> {
 	@Override
 	public void init() {
 		ai.init();
+		sync();
 	}
 
 	@Override
 	public void update() {
 		ai.update();
+		discardIntent();
+		sync();
+	}
+
+	@Override
+	protected int stateOrdinal() {
+		return ai.getState() != null ? ai.getState().ordinal() : -1;
 	}
 
 	public void wakeUp() {
-		ai.process(new PacManWakeUpEvent());
+		ai.process(wakeUpEvent);
 	}
 
 	public void fallAsleep() {
-		ai.process(new PacManFallAsleepEvent());
+		ai.process(fallAsleepEvent);
 	}
 
 	@Override
@@ -213,24 +256,50 @@ public class PacMan extends Guy<PacManState> {
 		ai.state(POWERFUL).resetTimer();
 	}
 
-	private Optional<PacManGameEvent> searchForFood() {
+	private void publishFoundFood() {
+		PacManGameEvent event = searchForFood();
+		if (event != null) {
+			ai.publish(event);
+		}
+	}
+
+	private PacManGameEvent searchForFood() {
 		if (weight > 0 && enteredNewTile) {
 			weight -= 1;
 		}
 		Tile location = tile();
-		TemporaryFood consumableBonus = world.temporaryFood().filter(bonus -> bonus.isActive() && !bonus.isConsumed())
-				.filter(bonus -> bonus.location().equals(location)).orElse(null);
-		if (consumableBonus != null) {
-			return Optional.of(new BonusFoundEvent(location, consumableBonus));
+		TemporaryFood bonus = world.temporaryFood().orElse(null);
+		if (bonus != null && bonus.isActive() && !bonus.isConsumed() && bonus.location().equals(location)) {
+			return bonusFound(location, bonus);
 		}
 		if (world.hasFood(ArcadeFood.ENERGIZER, location)) {
 			weight += ArcadeFood.ENERGIZER.fat();
-			return Optional.of(new FoodFoundEvent(location, ArcadeFood.ENERGIZER));
+			return foodFound(location, ArcadeFood.ENERGIZER);
 		}
 		if (world.hasFood(ArcadeFood.PELLET, location)) {
 			weight += ArcadeFood.PELLET.fat();
-			return Optional.of(new FoodFoundEvent(location, ArcadeFood.PELLET));
+			return foodFound(location, ArcadeFood.PELLET);
+		}
+		return null;
+	}
+
+	private BonusFoundEvent bonusFound(Tile location, TemporaryFood bonus) {
+		if (bonusFoundEvent == null || bonusFoundEvent.food != bonus || !bonusFoundEvent.location.equals(location)) {
+			bonusFoundEvent = new BonusFoundEvent(location, bonus);
+		}
+		return bonusFoundEvent;
+	}
+
+	/**
+	 * Returns the (cached) event for the food at the given location. There is one event instance per
+	 * food tile, created when the food on this tile is found for the first time.
+	 */
+	private FoodFoundEvent foodFound(Tile location, ArcadeFood food) {
+		FoodFoundEvent event = foodFoundEvents.get(location);
+		if (event == null || event.food != food) {
+			event = new FoodFoundEvent(location, food);
+			foodFoundEvents.put(location, event);
 		}
-		return Optional.empty();
+		return event;
 	}
 }
\ No newline at end of file
@@ -12,16 +12,24 @@ import static de.amr.games.pacman.controller.game.PacManGameState.INTRO;
 import static de.amr.games.pacman.controller.game.PacManGameState.LOADING_MUSIC;
 import static de.amr.games.pacman.controller.game.PacManGameState.PACMAN_DYING;
 import static de.amr.games.pacman.controller.game.PacManGameState.PLAYING;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
 import static de.amr.games.pacman.controller.game.Timing.sec;
+import static de.amr.games.pacman.controller.perf.PerformanceMonitor.PERFORMANCE;
+import static de.amr.games.pacman.controller.steering.api.SteeringBuilder.you;
 import static de.amr.games.pacman.model.game.PacManGame.game;
 
 import java.awt.Color;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Consumer;
 
-import de.amr.easy.game.assets.SoundClip;
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.easy.game.input.Keyboard;
 import de.amr.easy.game.view.View;
@@ -29,7 +37,9 @@ import de.amr.easy.game.view.VisualController;
 import de.amr.games.pacman.controller.bonus.BonusFoodController;
 import de.amr.games.pacman.controller.bonus.BonusFoodState;
 import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.Guy;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostMadness;
 import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.controller.event.BonusFoundEvent;
 import de.amr.games.pacman.controller.event.FoodFoundEvent;
@@ -41,7 +51,15 @@ import de.amr.games.pacman.controller.event.PacManGhostCollisionEvent;
 import de.amr.games.pacman.controller.event.PacManKilledEvent;
 import de.amr.games.pacman.controller.event.PacManLostPowerEvent;
 import de.amr.games.pacman.controller.ghosthouse.DoorMan;
+import de.amr.games.pacman.controller.log.GameLog;
+import de.amr.games.pacman.controller.log.LogCategory;
+import de.amr.games.pacman.controller.perf.Metric;
+import de.amr.games.pacman.controller.replay.ReplayPlayer;
+import de.amr.games.pacman.controller.replay.ReplayRecorder;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
 import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
@@ -52,9 +70,12 @@ import de.amr.games.pacman.model.world.components.House;
 import de.amr.games.pacman.theme.api.Theme;
 import de.amr.games.pacman.view.api.PacManGameSounds;
 import de.amr.games.pacman.view.api.PacManGameView;
+import de.amr.games.pacman.view.api.Sound;
 import de.amr.games.pacman.view.intro.IntroView;
 import de.amr.games.pacman.view.loading.MusicLoadingView;
 import de.amr.games.pacman.view.play.PlayView;
+import de.amr.games.pacman.view.play.RenderThread;
+import de.amr.games.pacman.view.play.RendererCache;
 import de.amr.statemachine.core.State;
 import de.amr.statemachine.core.StateMachine;
 
@@ -65,6 +86,8 @@ import de.amr.statemachine.core.StateMachine;
  */
 public class GameController extends StateMachine<PacManGameState, PacManGameEvent> implements VisualController {
 
+	private static final int SNAPSHOT_FORMAT = 2;
+
 	public final TiledWorld world;
 	public final Folks folks;
 	public final BonusFoodController bonusController;
@@ -72,11 +95,45 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	public final GhostCommand ghostCommand;
 	public final ThemeSelector themes;
 
-	protected final Random rnd = new Random();
+	public final SeededRandom rnd;
+	public final GameInput input = new GameInput();
+
 	protected PacManGameView currentView;
+	private long stateHash;
+	private PacManGameState restoredState;
+	private long restoredTicks;
+	private ReplayRecorder recorder;
+	private ReplayPlayer player;
+	private RenderThread renderThread;
+	private final RendererCache rendererCache = new RendererCache();
+
+	// events are immutable and reused to avoid garbage in the game loop
+	private final Map<Ghost, GhostKilledEvent> ghostKilledEvents = new HashMap<>();
+	private final Map<Ghost, PacManKilledEvent> pacManKilledEvents = new HashMap<>();
+	private final LevelCompletedEvent levelCompletedEvent = new LevelCompletedEvent();
+	private PacManGainsPowerEvent pacManGainsPowerEvent;
+
+	private final Metric inputTiming = PERFORMANCE.timing("Input");
+	private final Metric intentsTiming = PERFORMANCE.timing("Intents");
+	private final Metric ghostCommandTiming = PERFORMANCE.timing("Ghost Command");
+	private final Metric doorManTiming = PERFORMANCE.timing("Door Man");
+	private final Metric bonusTiming = PERFORMANCE.timing("Bonus Food");
+	private final Metric viewTiming = PERFORMANCE.timing("View Update");
+	private final Metric[] guyTimings; // indexed by creature slot
 
 	public GameController(List<Theme> supportedThemes) {
 		super(PacManGameState.class);
+		if (settings.replay != null) {
+			try {
+				player = new ReplayPlayer(Paths.get(settings.replay));
+				player.applySettings();
+			} catch (IOException e) {
+				loginfo("Could not open replay file '%s'", settings.replay);
+				throw new UncheckedIOException(e);
+			}
+		}
+		rnd = new SeededRandom(settings.seed);
+		loginfo("Random seed is %d", settings.seed);
 		buildStateMachine();
 
 		themes = new ThemeSelector(supportedThemes);
@@ -89,19 +146,47 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 		world = new ArcadeWorld();
 
-		folks = new Folks(world, world.house(0).get());
+		folks = new Folks(world, world.house(0).get(), rnd, settings.ghosts);
+		you(folks.pacMan).followTheCursorKeys().input(input).ok();
 		folks.pacMan.ai.addEventListener(this::process);
 		folks.ghosts().forEach(ghost -> ghost.ai.addEventListener(this::process));
+		guyTimings = new Metric[folks.store.size()];
+		for (int i = 0; i < guyTimings.length; ++i) {
+			guyTimings[i] = PERFORMANCE.timing(folks.store.guy(i).name);
+		}
 
 		doorMan = new DoorMan(world.house(0).get(), folks);
 		ghostCommand = new GhostCommand(folks);
-		bonusController = new BonusFoodController(world, () -> ArcadeBonus.of(game.bonusSymbol, game.bonusValue));
+		bonusController = new BonusFoodController(world, rnd.split("Bonus"),
+				() -> ArcadeBonus.of(game.bonusSymbol, game.bonusValue));
+
+		if (settings.renderThread) {
+			renderThread = new RenderThread(themes.current(), folks, world, settings.framebuffer);
+			renderThread.start();
+		}
 
-		app().onClose(() -> {
-			if (PacManGame.started()) {
-				game.hiscore.save();
+		// no application when running headless, e.g. in the frame exporter
+		if (app() != null) {
+			app().onClose(() -> {
+				stopRecording();
+				if (PacManGame.started()) {
+					game.hiscore.save();
+				}
+			});
+		}
+	}
+
+	@Override
+	public void init() {
+		super.init();
+		if (player != null) {
+			try {
+				player.attach(this);
+			} catch (IOException e) {
+				loginfo("Could not read replay file '%s'", settings.replay);
+				throw new UncheckedIOException(e);
 			}
-		});
+		}
 	}
 
 	private void buildStateMachine() {
@@ -120,7 +205,11 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 					.onExit(() -> currentView.exit())
 					
 				.state(INTRO)
-					.onEntry(() -> currentView = new IntroView(themes.current()))
+					.onEntry(() -> {
+						currentView = new IntroView(themes.current());
+						// no hitch when the theme is switched during the game
+						rendererCache.preload(themes.all(), world, settings.scale > 0 ? settings.scale : 1);
+					})
 					.onExit(() -> currentView.exit())
 				
 				.state(GETTING_READY).customState(new GettingReadyState())
@@ -130,7 +219,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 				.state(CHANGING_LEVEL).customState(new ChangingLevelState())
 				
 				.state(GHOST_DYING)
-					.timeoutAfter(sec(1))
+					.timeoutAfter(() -> timerDuration(GHOST_DYING))
 					.onEntry(() -> {
 						folks.pacMan.visible = false;
 						playView().soundState.ghostEaten = true;
@@ -146,16 +235,17 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 					})
 				
 				.state(PACMAN_DYING)
-					.timeoutAfter(sec(5))
+					.timeoutAfter(() -> timerDuration(PACMAN_DYING))
 					.onEntry(() -> {
 						if (!settings.pacManImmortable) {
 							game.lives -= 1;
 						}
 						world.setFrozen(true);
-						folks.blinky.madness.pacManDies();
+						forEachGhostMadness(GhostMadness::pacManDies);
 						sounds().stopAll();
 					})
-					.onTick((state, passed, remaining) -> {
+					.onTick((state, consumed, remaining) -> {
+						long passed = ticksPassed(consumed);
 						if (passed == sec(2)) {
 							bonusController.setState(BonusFoodState.BONUS_INACTIVE);
 							folks.ghostsInWorld().forEach(ghost -> ghost.visible = false);
@@ -258,7 +348,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 					)
 			
 				.when(GAME_OVER).then(GETTING_READY)
-					.condition(() -> Keyboard.keyPressedOnce("space") || Keyboard.keyPressedOnce("enter"))
+					.condition(() -> input.keyPressedOnce(KeyEvent.VK_SPACE) || input.keyPressedOnce(KeyEvent.VK_ENTER))
 					.annotation("New game requested by user")
 					
 				.when(GAME_OVER).then(INTRO)
@@ -267,28 +357,58 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 							
 		.endStateMachine();
 		//@formatter:on
+		for (PacManGameState state : PacManGameState.values()) {
+			addStateExitListener(state, s -> restoredState = null);
+		}
+	}
+
+	private long timerDuration(PacManGameState state) {
+		switch (state) {
+		case GETTING_READY:
+			return sec(6);
+		case GHOST_DYING:
+			return sec(1);
+		case PACMAN_DYING:
+			return sec(5);
+		default:
+			return Long.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Restored states start with a fresh timer, the ticks passed before the snapshot was taken are
+	 * added here.
+	 * 
+	 * @param consumed ticks consumed in the current state as reported by the state machine
+	 * @return ticks passed in the current state
+	 */
+	private long ticksPassed(long consumed) {
+		return getState() == restoredState ? restoredTicks + consumed : consumed;
 	}
 
 	public class GettingReadyState extends State<PacManGameState> {
 
 		private void startNewGame() {
 			PacManGame.start(settings.startLevel, world.totalFoodCount());
+			if (settings.record != null && recorder == null && player == null) {
+				startRecording();
+			}
 			world.setFrozen(true);
 			closeAllDoors();
 			folks.guys().forEach(guy -> {
 				world.include(guy);
 				guy.init();
 			});
-			folks.blinky.madness.init();
+			forEachGhostMadness(GhostMadness::init);
 			ghostCommand.init();
 			bonusController.init();
-			currentView = createPlayView();
+			showPlayView();
 			playView().messagesView.showMessage(2, "Ready!", Color.YELLOW);
 			sounds().playMusic(sounds().musicGameReady());
 		}
 
 		public GettingReadyState() {
-			setTimer(sec(6));
+			setTimer(() -> timerDuration(GETTING_READY));
 		}
 
 		@Override
@@ -325,26 +445,41 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		}
 
 		@Override
-		public void onTick(State<PacManGameState> state, long passed, long remaining) {
-			folks.guysInWorld().forEach(Lifecycle::update);
+		public void onTick(State<PacManGameState> state, long consumed, long remaining) {
+			long passed = ticksPassed(consumed);
+			// phase 1: all guys decide where to go, phase 2: guys move and interact in slot order
+			intentsTiming.begin();
+			folks.store.computeIntents();
+			intentsTiming.end();
+			for (int i = 0; i < folks.store.size(); ++i) {
+				if (folks.store.inWorld(i)) {
+					updateTimed(i);
+				}
+			}
 			if (passed == INITIAL_WAIT_TIME) {
 				folks.pacMan.wakeUp();
 			}
 			if (passed > INITIAL_WAIT_TIME) {
+				ghostCommandTiming.begin();
 				ghostCommand.update();
+				ghostCommandTiming.end();
+				doorManTiming.begin();
 				doorMan.update();
+				doorManTiming.end();
+				bonusTiming.begin();
 				bonusController.update();
+				bonusTiming.end();
 				if (folks.clyde.justLeftHouse()) {
-					folks.blinky.madness.clydeExitsHouse();
+					forEachGhostMadness(GhostMadness::clydeExitsHouse);
 				}
-				playView().soundState.chasingGhosts = folks.ghostsInWorld().anyMatch(ghost -> ghost.ai.is(GhostState.CHASING));
-				playView().soundState.deadGhosts = folks.ghostsInWorld().anyMatch(ghost -> ghost.ai.is(GhostState.DEAD));
+				playView().soundState.chasingGhosts = folks.anyGhostInWorldIs(GhostState.CHASING);
+				playView().soundState.deadGhosts = folks.anyGhostInWorldIs(GhostState.DEAD);
 			}
 		}
 
 		@Override
 		public void onExit() {
-			sounds().clips().forEach(SoundClip::stop);
+			sounds().clips().forEach(Sound::stop);
 			playView().soundState.chasingGhosts = false;
 			playView().soundState.deadGhosts = false;
 		}
@@ -367,18 +502,20 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			if (ghost.ai.is(FRIGHTENED)) {
 				boolean extraLife = game.gainGhostPoints();
 				playView().soundState.gotExtraLife = extraLife;
-				ghost.ai.process(new GhostKilledEvent(ghost));
-				enqueue(new GhostKilledEvent(ghost));
-				loginfo("%s got killed at %s", ghost.name, ghost.tile());
+				GhostKilledEvent ghostKilled = ghostKilledEvents.computeIfAbsent(ghost, GhostKilledEvent::new);
+				ghost.ai.process(ghostKilled);
+				enqueue(ghostKilled);
+				GameLog.info(LogCategory.GAME, "%s got killed at %s", ghost.name, ghost.tile());
 			}
 
 			else if (!settings.ghostsHarmless) {
-				loginfo("Pac-Man killed by %s at %s", ghost.name, ghost.tile());
+				GameLog.info(LogCategory.GAME, "Pac-Man killed by %s at %s", ghost.name, ghost.tile());
 				doorMan.onPacManLostLife();
 				playView().soundState.chasingGhosts = false;
 				playView().soundState.deadGhosts = false;
-				folks.pacMan.ai.process(new PacManKilledEvent(ghost));
-				enqueue(new PacManKilledEvent(ghost));
+				PacManKilledEvent pacManKilled = pacManKilledEvents.computeIfAbsent(ghost, PacManKilledEvent::new);
+				folks.pacMan.ai.process(pacManKilled);
+				enqueue(pacManKilled);
 			}
 		}
 
@@ -404,14 +541,18 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			world.removeFood(found.location);
 			if (game.remainingFoodCount() == 0) {
 				// enter next level
-				enqueue(new LevelCompletedEvent());
+				enqueue(levelCompletedEvent);
 				return;
 			}
 
 			if (energizer && game.pacManPowerSeconds > 0) {
 				// restart attack timer
 				ghostCommand.pauseAttacking();
-				PacManGameEvent pacManGainsPower = new PacManGainsPowerEvent(sec(game.pacManPowerSeconds));
+				long duration = sec(game.pacManPowerSeconds);
+				if (pacManGainsPowerEvent == null || pacManGainsPowerEvent.duration != duration) {
+					pacManGainsPowerEvent = new PacManGainsPowerEvent(duration);
+				}
+				PacManGameEvent pacManGainsPower = pacManGainsPowerEvent;
 				folks.pacMan.ai.process(pacManGainsPower);
 				folks.ghostsInWorld().forEach(ghost -> ghost.ai.process(pacManGainsPower));
 			}
@@ -429,17 +570,18 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 
 		@Override
 		public void onEntry() {
-			loginfo("Ghosts killed in level %d: %d", game.level, game.ghostsKilledInLevel);
+			GameLog.info(LogCategory.GAME, "Ghosts killed in level %d: %d", game.level, game.ghostsKilledInLevel);
 			world.setFrozen(true);
 			folks.pacMan.fallAsleep();
 			doorMan.onLevelChange();
-			sounds().clips().forEach(SoundClip::stop);
+			sounds().clips().forEach(Sound::stop);
 			flashingEnd = flashingStart + game.numFlashes * sec(themes.current().$float("maze-flash-sec"));
 			complete = false;
 		}
 
 		@Override
-		public void onTick(State<PacManGameState> state, long passed, long ticksRemaining) {
+		public void onTick(State<PacManGameState> state, long consumed, long ticksRemaining) {
+			long passed = ticksPassed(consumed);
 
 			// For two seconds, do nothing.
 
@@ -454,7 +596,7 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 				world.restoreFood();
 				PacManGame.nextLevel();
 				folks.guys().forEach(Lifecycle::init);
-				folks.blinky.madness.init();
+				forEachGhostMadness(GhostMadness::init);
 				playView().init();
 			}
 
@@ -470,11 +612,269 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		}
 	}
 
+	/**
+	 * Called once per rendered frame. Runs the simulation ticks due in this frame (see
+	 * {@link SimulationClock}) and updates the view.
+	 */
 	@Override
 	public void update() {
+		PERFORMANCE.beginTick();
+		inputTiming.begin();
 		handleInput();
-		super.update();
+		input.readKeyboard();
+		inputTiming.end();
+		int ticks = CLOCK.nextFrame(app().clock().getTargetFramerate());
+		try {
+			for (int i = 0; i < ticks; ++i) {
+				simulateTick();
+				CLOCK.tick();
+			}
+		} catch (IOException e) {
+			loginfo("Replay file access failed: %s", e.getMessage());
+			throw new UncheckedIOException(e);
+		}
+		folks.store.setInterpolation(CLOCK.interpolation());
+		viewTiming.begin();
 		currentView.update();
+		viewTiming.end();
+		PERFORMANCE.endTick();
+	}
+
+	private void simulateTick() throws IOException {
+		if (player != null) {
+			player.step();
+			if (player.isComplete()) {
+				loginfo("Replay complete after %d ticks, keyboard controls the game again", player.tick());
+				player.close();
+				player = null;
+			}
+		} else {
+			if (recorder != null) {
+				recorder.record();
+			}
+			step();
+		}
+	}
+
+	private void updateTimed(int slot) {
+		guyTimings[slot].begin();
+		folks.store.guy(slot).update();
+		guyTimings[slot].end();
+	}
+
+	/**
+	 * Simulates one tick using the current game input, without updating the view.
+	 */
+	public void step() {
+		folks.store.savePositions();
+		super.update();
+		input.consumePressedKeys();
+		stateHash = computeStateHash();
+	}
+
+	/**
+	 * @return the replay player if a recorded game is played, else {@code null}
+	 */
+	public ReplayPlayer replayPlayer() {
+		return player;
+	}
+
+	private void startRecording() {
+		try {
+			recorder = new ReplayRecorder(this, Paths.get(settings.record), settings.keyframeInterval);
+		} catch (IOException e) {
+			loginfo("Could not create replay file '%s'", settings.record);
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void stopRecording() {
+		if (recorder != null) {
+			try {
+				recorder.close();
+			} catch (IOException e) {
+				loginfo("Could not finish replay file '%s'", settings.record);
+				throw new UncheckedIOException(e);
+			} finally {
+				recorder = null;
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} if a snapshot of the game can be taken, i.e. a game has been started and
+	 *         the intro is not running
+	 */
+	public boolean canTakeSnapshot() {
+		return PacManGame.started() && !is(LOADING_MUSIC, INTRO);
+	}
+
+	/**
+	 * Takes a snapshot of the complete simulation state: game model, eaten food, random generators,
+	 * the state and timer of every state machine, positions and directions of all creatures, the
+	 * ghost house counters and the bonus food. The snapshot can be restored into this or another game
+	 * controller of the same type using {@link #restore(byte[])}.
+	 * 
+	 * @return the snapshot in a compact binary form
+	 */
+	public byte[] snapshot() {
+		if (!canTakeSnapshot()) {
+			throw new IllegalStateException("Cannot take snapshot, no game is running");
+		}
+		SnapshotWriter out = new SnapshotWriter();
+		out.writeByte(SNAPSHOT_FORMAT);
+		out.writeInt(folks.ghostCount());
+
+		out.writeInt(game.level);
+		out.writeInt(game.levelCounter.size());
+		out.writeInt(game.lives);
+		out.writeInt(game.score);
+		out.writeInt(game.eatenFoodCount);
+		out.writeInt(game.ghostsKilledByEnergizer);
+		out.writeInt(game.ghostsKilledInLevel);
+
+		BitSet eaten = new BitSet(world.width() * world.height());
+		for (int row = 0; row < world.height(); ++row) {
+			for (int col = 0; col < world.width(); ++col) {
+				eaten.set(row * world.width() + col, world.hasEatenFood(Tile.at(col, row)));
+			}
+		}
+		out.writeBits(eaten);
+		out.writeBoolean(world.isFrozen());
+		out.writeBoolean(world.isChanging());
+
+		out.writeLong(rnd.getState());
+		out.writeInt(rnd.streams().size());
+		rnd.streams().forEach((label, stream) -> {
+			out.writeInt(label.hashCode());
+			out.writeLong(stream.getState());
+		});
+
+		out.writeState(this);
+		out.writeLong(ticksPassed(state().getTicksConsumed()));
+		out.writeBoolean(state_CHANGING_LEVEL().complete);
+		out.writeLong(state_CHANGING_LEVEL().flashingEnd);
+
+		folks.pacMan.writeSnapshot(out);
+		folks.ghosts().forEach(ghost -> ghost.writeSnapshot(out));
+		ghostCommand.writeSnapshot(out);
+		doorMan.writeSnapshot(out);
+		bonusController.writeSnapshot(out);
+
+		return out.toByteArray();
+	}
+
+	/**
+	 * Restores the simulation state from the given snapshot. Continuing the game from the restored
+	 * state with the same input gives the same result as continuing it when the snapshot was taken.
+	 * 
+	 * @param snapshot snapshot as created by {@link #snapshot()}
+	 */
+	public void restore(byte[] snapshot) {
+		SnapshotReader in = new SnapshotReader(snapshot);
+		int format = in.readByte();
+		if (format != SNAPSHOT_FORMAT) {
+			throw new IllegalArgumentException("Unsupported snapshot format: " + format);
+		}
+		int ghostCount = in.readInt();
+		if (ghostCount != folks.ghostCount()) {
+			throw new IllegalArgumentException(
+					String.format("Snapshot has %d ghosts but game has %d", ghostCount, folks.ghostCount()));
+		}
+
+		int level = in.readInt(), levelsPlayed = in.readInt(), lives = in.readInt(), score = in.readInt();
+		PacManGame.restore(level, levelsPlayed, world.totalFoodCount(), lives, score);
+		game.eatenFoodCount = in.readInt();
+		game.ghostsKilledByEnergizer = in.readInt();
+		game.ghostsKilledInLevel = in.readInt();
+
+		BitSet eaten = in.readBits();
+		world.restoreFood();
+		eaten.stream().forEach(i -> world.removeFood(Tile.at(i % world.width(), i / world.width())));
+		world.setFrozen(in.readBoolean());
+		world.setChanging(in.readBoolean());
+
+		rnd.setState(in.readLong());
+		Map<String, SeededRandom> streams = rnd.streams();
+		for (int n = in.readInt(); n > 0; --n) {
+			int labelHash = in.readInt();
+			long streamState = in.readLong();
+			SeededRandom stream = streams.entrySet().stream().filter(e -> e.getKey().hashCode() == labelHash)
+					.map(Map.Entry::getValue).findFirst().orElseThrow(() -> new IllegalStateException(
+							String.format("Random stream with label hash %08x of snapshot does not exist", labelHash)));
+			stream.setState(streamState);
+		}
+
+		in.readState(this, PacManGameState.values(), this::timerDuration);
+		restoredState = getState();
+		restoredTicks = in.readLong() - state().getTicksConsumed();
+		state_CHANGING_LEVEL().complete = in.readBoolean();
+		state_CHANGING_LEVEL().flashingEnd = in.readLong();
+
+		folks.pacMan.readSnapshot(in);
+		folks.ghosts().forEach(ghost -> ghost.readSnapshot(in));
+		ghostCommand.readSnapshot(in);
+		doorMan.readSnapshot(in);
+		bonusController.readSnapshot(in);
+
+		if (!in.isComplete()) {
+			throw new IllegalArgumentException("Snapshot contains unexpected data");
+		}
+		if (!(currentView instanceof PlayView)) {
+			showPlayView();
+		}
+		stateHash = computeStateHash();
+	}
+
+	/**
+	 * @return hash value of the simulation state after the last tick. Two runs with the same seed and
+	 *         the same input have the same state hash at every tick.
+	 */
+	public long stateHash() {
+		return stateHash;
+	}
+
+	private static long hash(long h, long value) {
+		return (h ^ value) * 0x100000001b3L;
+	}
+
+	private static long hash(long h, Enum<?> value) {
+		return hash(h, value != null ? value.ordinal() : -1);
+	}
+
+	private static long hash(long h, Guy<?> guy) {
+		h = hash(h, Float.floatToIntBits(guy.tf.x));
+		h = hash(h, Float.floatToIntBits(guy.tf.y));
+		h = hash(h, guy.moveDir);
+		h = hash(h, guy.wishDir);
+		return hash(h, guy.world.contains(guy) ? 1 : 0);
+	}
+
+	private long computeStateHash() {
+		long h = 0xcbf29ce484222325L;
+		h = hash(h, getState());
+		h = hash(h, ticksPassed(state().getTicksConsumed()));
+		h = hash(h, rnd.getState());
+		// the consumers draw from the streams split off the root generator
+		for (SeededRandom stream : rnd.streams().values()) {
+			h = hash(h, stream.getState());
+		}
+		if (PacManGame.started()) {
+			h = hash(h, game.level);
+			h = hash(h, game.score);
+			h = hash(h, game.lives);
+			h = hash(h, game.eatenFoodCount);
+			h = hash(h, game.ghostsKilledByEnergizer);
+		}
+		h = hash(h, folks.pacMan);
+		h = hash(h, folks.pacMan.ai.getState());
+		for (int i = 0; i < folks.ghostCount(); ++i) {
+			Ghost ghost = folks.ghost(i);
+			h = hash(h, ghost);
+			h = hash(h, ghost.ai.getState());
+		}
+		h = hash(h, ghostCommand.getState());
+		return hash(h, bonusController.getState());
 	}
 
 	protected void handleInput() {
@@ -484,6 +884,8 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 			Timing.changeClockFrequency(70);
 		} else if (Keyboard.keyPressedOnce("3") || Keyboard.keyPressedOnce(KeyEvent.VK_NUMPAD3)) {
 			Timing.changeClockFrequency(80);
+		} else if (Keyboard.keyPressedOnce("4") || Keyboard.keyPressedOnce(KeyEvent.VK_NUMPAD4)) {
+			CLOCK.setSpeed(CLOCK.getSpeed() == 1 ? SimulationClock.FAST_FORWARD : 1);
 		} else if (Keyboard.keyPressedOnce("z")) {
 			themes.next();
 		}
@@ -521,6 +923,13 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 		return new PlayView(themes.current(), folks, world);
 	}
 
+	private void showPlayView() {
+		currentView = createPlayView();
+		playView().setRenderThread(renderThread);
+		playView().setRendererCache(rendererCache);
+		playView().setFramebufferRendering(settings.framebuffer);
+	}
+
 	/**
 	 * @return A typed reference to the "PLAYING" state instance such that method references like
 	 *         {@code state_PLAYING()::onPacManFoundFood} can be used. <br/>
@@ -537,4 +946,13 @@ public class GameController extends StateMachine<PacManGameState, PacManGameEven
 	protected void closeAllDoors() {
 		world.houses().flatMap(House::doors).forEach(doorMan::closeDoor);
 	}
+
+	private void forEachGhostMadness(Consumer<GhostMadness> action) {
+		for (int i = 0; i < folks.ghostCount(); ++i) {
+			GhostMadness madness = folks.ghost(i).madness;
+			if (madness != null) {
+				action.accept(madness);
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package de.amr.games.pacman.controller.game;
+
+import java.awt.event.KeyEvent;
+
+import de.amr.easy.game.input.Keyboard;
+
+/**
+ * The player input used by the simulation in the current tick.
+ * <p>
+ * The state of the keys that influence the game (cursor keys for steering Pac-Man, space and enter
+ * for starting a new game) is sampled once per tick and kept as a bit set. This makes the input
+ * recordable and replayable. Keys that are not part of the game input are read directly from the
+ * keyboard.
+ * <p>
+ * The keyboard is sampled once per rendered frame which may run any number of ticks. A key pressed
+ * in a frame without tick is reported by the next tick, a key pressed in a frame with several ticks
+ * only by the first one.
+ *
+ * @author Armin Reichert
+ */
+public class GameInput {
+
+	/** Key codes of the keys that are part of the game input. */
+	static final int[] KEYS = { KeyEvent.VK_UP, KeyEvent.VK_RIGHT, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_SPACE,
+			KeyEvent.VK_ENTER };
+
+	private static final int DOWN_MASK = (1 << KEYS.length) - 1;
+
+	private int state;
+
+	private static int index(int keyCode) {
+		for (int i = 0; i < KEYS.length; ++i) {
+			if (KEYS[i] == keyCode) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Samples the game keys from the keyboard. Pressed keys not yet consumed by a tick are kept.
+	 */
+	public void readKeyboard() {
+		int sampled = state & ~DOWN_MASK;
+		for (int i = 0; i < KEYS.length; ++i) {
+			if (Keyboard.keyDown(KEYS[i])) {
+				sampled |= 1 << i;
+			}
+			if (Keyboard.keyPressedOnce(KEYS[i])) {
+				sampled |= 1 << (KEYS.length + i);
+			}
+		}
+		state = sampled;
+	}
+
+	/**
+	 * @return the key state as bit set: bit {@code i} is set if key {@code i} is down, bit
+	 *         {@code n + i} if key {@code i} has been pressed in this tick ({@code n} = number of game
+	 *         keys)
+	 */
+	public int getState() {
+		return state;
+	}
+
+	public void setState(int state) {
+		this.state = state;
+	}
+
+	/**
+	 * Clears the pressed keys after a tick has used them.
+	 */
+	public void consumePressedKeys() {
+		state = consumed(state);
+	}
+
+	/**
+	 * @param state key state
+	 * @return the key state after a tick has used it, i.e. without the pressed keys
+	 */
+	public static int consumed(int state) {
+		return state & DOWN_MASK;
+	}
+
+	public boolean keyDown(int keyCode) {
+		int i = index(keyCode);
+		return i != -1 ? (state & (1 << i)) != 0 : Keyboard.keyDown(keyCode);
+	}
+
+	public boolean keyPressedOnce(int keyCode) {
+		int i = index(keyCode);
+		return i != -1 ? (state & (1 << (KEYS.length + i))) != 0 : Keyboard.keyPressedOnce(keyCode);
+	}
+}
@@ -10,6 +10,8 @@ import static de.amr.games.pacman.model.game.PacManGame.game;
 
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.game.GhostCommand.Phase;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
 import de.amr.statemachine.api.TransitionMatchStrategy;
 import de.amr.statemachine.core.StateMachine;
 
@@ -85,6 +87,17 @@ public class GhostCommand extends StateMachine<Phase, String> {
 		return level >= 5 ? L5[round] : level >= 2 ? L2[round] : L1[round];
 	}
 
+	private long duration(Phase phase) {
+		switch (phase) {
+		case SCATTER:
+			return times(game.level).scatter;
+		case CHASE:
+			return times(game.level).chase;
+		default:
+			return Long.MAX_VALUE;
+		}
+	}
+
 	public GhostCommand(Folks folks) {
 		super(Phase.class, TransitionMatchStrategy.BY_VALUE);
 		this.folks = folks;
@@ -95,11 +108,11 @@ public class GhostCommand extends StateMachine<Phase, String> {
 			.initialState(SCATTER)
 		.states()
 			.state(SCATTER)
-				.timeoutAfter(() -> times(game.level).scatter)
+				.timeoutAfter(() -> duration(SCATTER))
 				.onTick(this::notifyGhosts)
 				.annotation(() -> "Round " + (round + 1))
 			.state(CHASE)
-				.timeoutAfter(() -> times(game.level).chase)
+				.timeoutAfter(() -> duration(CHASE))
 				.onTick(this::notifyGhosts)
 				.annotation(() -> "Round " + (round + 1))
 			.state(PAUSED)
@@ -123,6 +136,31 @@ public class GhostCommand extends StateMachine<Phase, String> {
 		super.init();
 	}
 
+	/**
+	 * Writes the current phase, the round and, if attacking is paused, the phase to resume including
+	 * its remaining time.
+	 * 
+	 * @param out snapshot writer
+	 */
+	public void writeSnapshot(SnapshotWriter out) {
+		out.writeInt(round);
+		out.writeEnum(pausedState);
+		if (pausedState != null) {
+			out.writeTimer(state(pausedState));
+		}
+		out.writeState(this);
+	}
+
+	public void readSnapshot(SnapshotReader in) {
+		round = in.readInt();
+		pausedState = in.readEnum(Phase.values());
+		if (pausedState != null) {
+			Phase phase = pausedState;
+			in.readTimer(state(phase), () -> duration(phase));
+		}
+		in.readState(this, Phase.values(), this::duration);
+	}
+
 	public void pauseAttacking() {
 		process("Pause");
 	}
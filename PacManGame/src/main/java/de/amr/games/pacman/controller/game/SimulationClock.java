@@ -0,0 +1,114 @@
+package de.amr.games.pacman.controller.game;
+
+import static de.amr.easy.game.Application.loginfo;
+
+/**
+ * Decouples the simulation rate (ticks/sec) from the render rate (frames/sec) of the application
+ * clock.
+ * <p>
+ * Each rendered frame runs the number of simulation ticks that are due at the current simulation
+ * rate and speed factor: 10 ticks per frame for a 10x fast-forward at 60 frames/sec, a tick every
+ * 2.4 frames for 60 ticks/sec at 144 frames/sec. The remainder is used to interpolate the creature
+ * positions between the last two ticks, which delays the rendered positions by at most one tick.
+ * Only integer arithmetic is used, so the number of ticks only depends on the number of frames.
+ * <p>
+ * The timing of the game ({@link Timing#sec(float)}) is in simulation ticks, so is the tick count
+ * of this clock which also drives blinking and other animations.
+ *
+ * @author Armin Reichert
+ */
+public class SimulationClock {
+
+	public static final SimulationClock CLOCK = new SimulationClock();
+
+	/** Speed factor of the fast-forward mode. */
+	public static final int FAST_FORWARD = 10;
+
+	private int ticksPerSecond = 60;
+	private int speed = 1;
+	private int frameRate;
+	private long accumulated;
+	private long ticks;
+
+	private SimulationClock() {
+	}
+
+	/**
+	 * @return simulation ticks per second at normal speed
+	 */
+	public int getTicksPerSecond() {
+		return ticksPerSecond;
+	}
+
+	public void setTicksPerSecond(int ticksPerSecond) {
+		if (ticksPerSecond < 1) {
+			throw new IllegalArgumentException("Ticks per second must be positive but is " + ticksPerSecond);
+		}
+		if (this.ticksPerSecond != ticksPerSecond) {
+			this.ticksPerSecond = ticksPerSecond;
+			loginfo("Simulation rate changed to %d ticks/sec", ticksPerSecond);
+		}
+	}
+
+	/**
+	 * @return speed factor (1 = normal speed)
+	 */
+	public int getSpeed() {
+		return speed;
+	}
+
+	public void setSpeed(int speed) {
+		if (speed < 1) {
+			throw new IllegalArgumentException("Speed factor must be positive but is " + speed);
+		}
+		if (this.speed != speed) {
+			this.speed = speed;
+			loginfo("Simulation speed changed to %dx", speed);
+		}
+	}
+
+	/**
+	 * @return total number of simulation ticks
+	 */
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Counts a simulated tick. Must be called once per simulation tick by whoever runs the
+	 * simulation: the game loop or a headless runner like the frame exporter.
+	 */
+	public void tick() {
+		++ticks;
+	}
+
+	/**
+	 * Advances the clock by one rendered frame. The ticks are counted when they are run (see
+	 * {@link #tick()}).
+	 *
+	 * @param framesPerSecond current render rate
+	 * @return number of simulation ticks to run in this frame
+	 */
+	public int nextFrame(int framesPerSecond) {
+		if (framesPerSecond != frameRate) {
+			frameRate = framesPerSecond;
+			accumulated = 0;
+		}
+		// one tick corresponds to frameRate units
+		accumulated += (long) ticksPerSecond * speed;
+		int due = (int) (accumulated / frameRate);
+		accumulated %= frameRate;
+		return due;
+	}
+
+	/**
+	 * @return fraction of the interval between the last two ticks that has passed in the current
+	 *         frame, 1 if at least one tick runs per frame
+	 */
+	public float interpolation() {
+		if (frameRate == 0 || (long) ticksPerSecond * speed >= frameRate) {
+			return 1;
+		}
+		return (float) accumulated / frameRate;
+	}
+}
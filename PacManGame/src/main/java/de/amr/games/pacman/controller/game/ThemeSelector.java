@@ -24,6 +24,10 @@ public class ThemeSelector {
 		listeners.add(listener);
 	}
 
+	public List<Theme> all() {
+		return List.of(themes);
+	}
+
 	public Theme current() {
 		return themes[current];
 	}
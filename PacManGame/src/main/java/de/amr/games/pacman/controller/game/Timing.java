@@ -1,7 +1,6 @@
 package de.amr.games.pacman.controller.game;
 
-import static de.amr.easy.game.Application.app;
-import static de.amr.easy.game.Application.loginfo;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
 
 public interface Timing {
 
@@ -23,8 +22,8 @@ public interface Timing {
 	}
 
 	/**
-	 * Returns the number of ticks corresponding to the given time (in seconds) for a framerate of 60
-	 * ticks/sec.
+	 * Returns the number of ticks corresponding to the given time (in seconds) for a simulation rate of
+	 * 60 ticks/sec.
 	 * 
 	 * @param seconds seconds
 	 * @return ticks corresponding to given number of seconds
@@ -33,10 +32,12 @@ public interface Timing {
 		return Math.round(60 * seconds);
 	}
 
+	/**
+	 * Changes the simulation rate and therefore the game speed. The render rate is not affected.
+	 * 
+	 * @param ticksPerSecond simulation ticks per second
+	 */
 	static void changeClockFrequency(int ticksPerSecond) {
-		if (app().clock().getTargetFramerate() != ticksPerSecond) {
-			app().clock().setTargetFrameRate(ticksPerSecond);
-			loginfo("Clock frequency changed to %d ticks/sec", ticksPerSecond);
-		}
+		CLOCK.setTicksPerSecond(ticksPerSecond);
 	}
 }
\ No newline at end of file
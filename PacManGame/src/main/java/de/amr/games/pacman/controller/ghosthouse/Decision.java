@@ -2,20 +2,23 @@ package de.amr.games.pacman.controller.ghosthouse;
 
 class Decision {
 
-	public boolean confirmed;
-	public String reason;
+	private static final Decision REJECTED = new Decision(false, "", new Object[0]);
+
+	public final boolean confirmed;
+	public final String reason;
+	public final Object[] args;
+
+	private Decision(boolean confirmed, String reason, Object[] args) {
+		this.confirmed = confirmed;
+		this.reason = reason;
+		this.args = args;
+	}
 
 	static Decision confirmed(String msg, Object... args) {
-		Decision d = new Decision();
-		d.confirmed = true;
-		d.reason = String.format(msg, args);
-		return d;
+		return new Decision(true, msg, args);
 	}
 
-	static Decision rejected(String msg, Object... args) {
-		Decision d = new Decision();
-		d.confirmed = false;
-		d.reason = String.format(msg, args);
-		return d;
+	static Decision rejected() {
+		return REJECTED;
 	}
-}
\ No newline at end of file
+}
@@ -1,6 +1,5 @@
 package de.amr.games.pacman.controller.ghosthouse;
 
-import static de.amr.easy.game.Application.loginfo;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.ENTERING_HOUSE;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.LEAVING_HOUSE;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.LOCKED;
@@ -15,7 +14,12 @@ import java.util.Optional;
 import de.amr.easy.game.controller.Lifecycle;
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.controller.event.GhostUnlockedEvent;
+import de.amr.games.pacman.controller.log.GameLog;
+import de.amr.games.pacman.controller.log.LogCategory;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.components.Door;
 import de.amr.games.pacman.model.world.components.Door.DoorState;
@@ -23,6 +27,9 @@ import de.amr.games.pacman.model.world.components.House;
 
 /**
  * This class controls when and in which order locked ghosts can leave the ghost house.
+ * <p>
+ * Additional ghosts (see {@link Folks}) leave the house after the original ghosts, in the order of
+ * their creation, and use the dot limits of the original ghost with the same personality.
  * 
  * @author Armin Reichert
  * 
@@ -36,14 +43,15 @@ public class DoorMan implements Lifecycle {
 	private final Ghost[] ghost_preference;
 	private final DotCounter globalCounter;
 	private final int[] ghostCounters;
+	private final GhostUnlockedEvent unlockedEvent = new GhostUnlockedEvent();
 	private int pacManStarvingTicks;
 
 	public DoorMan(House house, Folks folks) {
 		this.house = house;
 		this.folks = folks;
-		ghost_preference = new Ghost[] { folks.blinky, folks.pinky, folks.inky, folks.clyde };
+		ghost_preference = folks.ghosts().toArray(Ghost[]::new);
 		globalCounter = new DotCounter();
-		ghostCounters = new int[4];
+		ghostCounters = new int[folks.ghostCount()];
 	}
 
 	@Override
@@ -56,18 +64,44 @@ public class DoorMan implements Lifecycle {
 
 	@Override
 	public void update() {
-		preferredLockedGhost().ifPresent(ghost -> {
+		Ghost ghost = findPreferredLockedGhost();
+		if (ghost != null) {
 			Decision decision = decideIfGhostCanLeaveHouse(ghost);
 			if (decision.confirmed) {
-				loginfo(decision.reason);
+				GameLog.info(LogCategory.GHOST_HOUSE, decision.reason, decision.args);
 				unlock(ghost);
 			}
-		});
+		}
 		pacManStarvingTicks += 1;
 		house.doors().forEach(this::closeDoor);
 		house.doors().filter(this::isOpeningDoorRequested).forEach(this::openDoor);
 	}
 
+	/**
+	 * Writes the dot counters, Pac-Man's starving time and the state of the doors.
+	 * 
+	 * @param out snapshot writer
+	 */
+	public void writeSnapshot(SnapshotWriter out) {
+		out.writeBoolean(globalCounter.enabled);
+		out.writeInt(globalCounter.dots);
+		for (int count : ghostCounters) {
+			out.writeInt(count);
+		}
+		out.writeInt(pacManStarvingTicks);
+		house.doors().forEach(door -> out.writeEnum(door.state));
+	}
+
+	public void readSnapshot(SnapshotReader in) {
+		globalCounter.enabled = in.readBoolean();
+		globalCounter.dots = in.readInt();
+		for (int i = 0; i < ghostCounters.length; ++i) {
+			ghostCounters[i] = in.readInt();
+		}
+		pacManStarvingTicks = in.readInt();
+		house.doors().forEach(door -> door.state = in.readEnum(DoorState.values()));
+	}
+
 	public void onPacManFoundFood() {
 		pacManStarvingTicks = 0;
 		if (globalCounter.enabled) {
@@ -75,7 +109,8 @@ public class DoorMan implements Lifecycle {
 			if (globalCounter.dots == 32 && folks.clyde.ai.is(LOCKED)) {
 				globalCounter.dots = 0;
 				globalCounter.enabled = false;
-				loginfo("Global dot counter reset and disabled (Clyde was locked when counter reached 32)");
+				GameLog.info(LogCategory.GHOST_HOUSE,
+						"Global dot counter reset and disabled (Clyde was locked when counter reached 32)");
 			}
 		} else {
 			preferredLockedGhost().ifPresent(ghost -> {
@@ -87,7 +122,7 @@ public class DoorMan implements Lifecycle {
 	public void onPacManLostLife() {
 		globalCounter.enabled = true;
 		globalCounter.dots = 0;
-		loginfo("Global dot counter enabled and set to zero (Pac-Man lost life)");
+		GameLog.info(LogCategory.GHOST_HOUSE, "Global dot counter enabled and set to zero (Pac-Man lost life)");
 	}
 
 	public void onLevelChange() {
@@ -95,7 +130,7 @@ public class DoorMan implements Lifecycle {
 	}
 
 	public boolean isPreferredLockedGhost(Ghost ghost) {
-		return preferredLockedGhost().orElse(null) == ghost;
+		return findPreferredLockedGhost() == ghost;
 	}
 
 	/**
@@ -121,29 +156,32 @@ public class DoorMan implements Lifecycle {
 	}
 
 	public int personalDotLimit(Ghost ghost) {
-		if (ghost == folks.pinky) {
+		switch (ghost.personality) {
+		case SHADOW:
+		case SPEEDY:
 			return 0;
-		}
-		if (ghost == folks.inky) {
+		case BASHFUL:
 			return game.level == 1 ? 30 : 0;
-		}
-		if (ghost == folks.clyde) {
+		case POKEY:
 			return game.level == 1 ? 60 : game.level == 2 ? 50 : 0;
+		default:
+			throw new IllegalArgumentException("Illegal ghost personality: " + ghost.personality);
 		}
-		throw new IllegalArgumentException("Ghost must be either Pinky, Inky or Clyde");
 	}
 
 	public int globalDotLimit(Ghost ghost) {
-		if (ghost == folks.pinky) {
+		switch (ghost.personality) {
+		case SHADOW:
+			return 0;
+		case SPEEDY:
 			return 7;
-		}
-		if (ghost == folks.inky) {
+		case BASHFUL:
 			return 17;
-		}
-		if (ghost == folks.clyde) {
+		case POKEY:
 			return 32;
+		default:
+			throw new IllegalArgumentException("Illegal ghost personality: " + ghost.personality);
 		}
-		throw new IllegalArgumentException("Ghost must be either Pinky, Inky or Clyde");
 	}
 
 	public int pacManStarvingTicks() {
@@ -151,12 +189,17 @@ public class DoorMan implements Lifecycle {
 	}
 
 	public Optional<Ghost> preferredLockedGhost() {
-		//@formatter:off
-		return Arrays.stream(ghost_preference)
-			.filter(ghost -> ghost.world.contains(ghost))
-			.filter(ghost -> ghost.ai.is(LOCKED))
-			.findFirst();
-		//@formatter:on
+		Ghost ghost = findPreferredLockedGhost();
+		return ghost != null ? Optional.of(ghost) : Optional.empty();
+	}
+
+	private Ghost findPreferredLockedGhost() {
+		for (Ghost ghost : ghost_preference) {
+			if (ghost.isInWorld() && ghost.ai.getState() == LOCKED) {
+				return ghost;
+			}
+		}
+		return null;
 	}
 
 	public void closeDoor(Door door) {
@@ -169,23 +212,25 @@ public class DoorMan implements Lifecycle {
 
 	private void resetGhostDotCounters() {
 		Arrays.fill(ghostCounters, 0);
-		loginfo("Ghost dot counters have been reset to zero");
+		GameLog.info(LogCategory.GHOST_HOUSE, "Ghost dot counters have been reset to zero");
 	}
 
 	private int index(Ghost ghost) {
-		return ghost.personality.ordinal();
+		return folks.ghostIndex(ghost);
 	}
 
 	private void unlock(Ghost ghost) {
-		ghost.ai.process(new GhostUnlockedEvent());
+		ghost.ai.process(unlockedEvent);
 	}
 
 	private boolean isOpeningDoorRequested(Door door) {
-		//@formatter:off
-		return folks.ghostsInWorld()
-			.filter(ghost -> ghost.ai.is(ENTERING_HOUSE, LEAVING_HOUSE))
-			.anyMatch(ghost -> isGhostNearDoor(ghost, door));
-		//@formatter:on
+		for (Ghost ghost : ghost_preference) {
+			GhostState state = ghost.ai.getState();
+			if ((state == ENTERING_HOUSE || state == LEAVING_HOUSE) && ghost.isInWorld() && isGhostNearDoor(ghost, door)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	private boolean isGhostNearDoor(Ghost ghost, Door door) {
@@ -229,6 +274,6 @@ public class DoorMan implements Lifecycle {
 				return confirmed("%s can leave house: ghost's dot limit (%d) reached", ghost.name, personalLimit);
 			}
 		}
-		return rejected("");
+		return rejected();
 	}
 }
\ No newline at end of file
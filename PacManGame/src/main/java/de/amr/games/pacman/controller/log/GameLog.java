@@ -0,0 +1,174 @@
+package de.amr.games.pacman.controller.log;
+
+import static de.amr.easy.game.Application.app;
+import static de.amr.easy.game.Application.loginfo;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Asynchronous log for messages from the game loop.
+ * <p>
+ * Call sites record the message format and its arguments into a preallocated ring buffer, a
+ * background thread formats the messages and writes them to the application log. This way, message
+ * formatting never takes time from the game loop. Messages of categories whose level does not
+ * include the message level are discarded immediately, as are all messages while the application
+ * logger is shut up. If the ring buffer is full, messages are dropped and the number of dropped
+ * messages is logged later.
+ * <p>
+ * Arguments are stored as references, so they must not be mutated after the call. Primitive
+ * arguments get boxed (small integers are cached by the JVM).
+ *
+ * @author Armin Reichert
+ */
+public class GameLog {
+
+	private static class Entry {
+
+		String format;
+		final Object[] args = new Object[MAX_ARGS];
+		int argCount;
+	}
+
+	/** Maximum number of message arguments. */
+	public static final int MAX_ARGS = 4;
+
+	private static final int CAPACITY = 1024;
+	private static final Entry[] ring = new Entry[CAPACITY];
+	private static final Map<LogCategory, Level> levels = new EnumMap<>(LogCategory.class);
+	private static final Object drainLock = new Object();
+	private static volatile long written;
+	private static volatile long read;
+	private static long dropped;
+	private static Thread writerThread;
+
+	static {
+		for (int i = 0; i < CAPACITY; ++i) {
+			ring[i] = new Entry();
+		}
+		for (LogCategory category : LogCategory.values()) {
+			levels.put(category, Level.INFO);
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread(GameLog::drain, "GameLog-Shutdown"));
+	}
+
+	private GameLog() {
+	}
+
+	public static synchronized void setLevel(LogCategory category, Level level) {
+		levels.put(category, level);
+	}
+
+	public static synchronized Level getLevel(LogCategory category) {
+		return levels.get(category);
+	}
+
+	public static synchronized boolean isLoggable(LogCategory category, Level level) {
+		Level categoryLevel = levels.get(category);
+		return categoryLevel != Level.OFF && level.intValue() >= categoryLevel.intValue();
+	}
+
+	public static void info(LogCategory category, String format) {
+		record(category, Level.INFO, format, 0, null, null, null, null);
+	}
+
+	public static void info(LogCategory category, String format, Object a0) {
+		record(category, Level.INFO, format, 1, a0, null, null, null);
+	}
+
+	public static void info(LogCategory category, String format, Object a0, Object a1) {
+		record(category, Level.INFO, format, 2, a0, a1, null, null);
+	}
+
+	public static void info(LogCategory category, String format, Object a0, Object a1, Object a2) {
+		record(category, Level.INFO, format, 3, a0, a1, a2, null);
+	}
+
+	public static void info(LogCategory category, String format, Object a0, Object a1, Object a2, Object a3) {
+		record(category, Level.INFO, format, 4, a0, a1, a2, a3);
+	}
+
+	/**
+	 * Logs a message with up to {@link #MAX_ARGS} arguments given as array.
+	 */
+	public static void info(LogCategory category, String format, Object[] args) {
+		if (args.length > MAX_ARGS) {
+			throw new IllegalArgumentException("Too many log message arguments: " + args.length);
+		}
+		record(category, Level.INFO, format, args.length, args.length > 0 ? args[0] : null,
+				args.length > 1 ? args[1] : null, args.length > 2 ? args[2] : null, args.length > 3 ? args[3] : null);
+	}
+
+	private static synchronized void record(LogCategory category, Level level, String format, int argCount, Object a0,
+			Object a1, Object a2, Object a3) {
+		if (!isLoggable(category, level) || isAppLoggerShutUp()) {
+			return;
+		}
+		if (written - read == CAPACITY) {
+			++dropped;
+			return;
+		}
+		Entry entry = ring[(int) (written % CAPACITY)];
+		entry.format = format;
+		entry.argCount = argCount;
+		entry.args[0] = a0;
+		entry.args[1] = a1;
+		entry.args[2] = a2;
+		entry.args[3] = a3;
+		++written; // volatile write publishes the entry to the writer thread
+		if (writerThread == null) {
+			writerThread = new Thread(GameLog::writeLoop, "GameLog-Writer");
+			writerThread.setDaemon(true);
+			writerThread.start();
+		}
+	}
+
+	private static boolean isAppLoggerShutUp() {
+		return app() != null && app().getLogger().isShutUp();
+	}
+
+	private static void writeLoop() {
+		while (true) {
+			drain();
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException x) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Formats and writes all recorded messages.
+	 */
+	public static void drain() {
+		synchronized (drainLock) {
+			while (read < written) {
+				Entry entry = ring[(int) (read % CAPACITY)];
+				String text = entry.argCount == 0 ? entry.format
+						: String.format(entry.format, copyArgs(entry));
+				entry.format = null;
+				for (int i = 0; i < MAX_ARGS; ++i) {
+					entry.args[i] = null;
+				}
+				++read; // volatile write frees the entry for the producer
+				loginfo("%s", text);
+			}
+			long droppedNow;
+			synchronized (GameLog.class) {
+				droppedNow = dropped;
+				dropped = 0;
+			}
+			if (droppedNow > 0) {
+				loginfo("%d log messages dropped (log buffer full)", droppedNow);
+			}
+		}
+	}
+
+	private static Object[] copyArgs(Entry entry) {
+		Object[] args = new Object[entry.argCount];
+		System.arraycopy(entry.args, 0, args, 0, entry.argCount);
+		return args;
+	}
+}
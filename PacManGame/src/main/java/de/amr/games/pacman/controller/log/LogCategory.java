@@ -0,0 +1,10 @@
+package de.amr.games.pacman.controller.log;
+
+/**
+ * Categories of the game log, each category has its own log level.
+ *
+ * @author Armin Reichert
+ */
+public enum LogCategory {
+	GAME, MOVEMENT, GHOST_HOUSE, BONUS, PATH_FINDING
+}
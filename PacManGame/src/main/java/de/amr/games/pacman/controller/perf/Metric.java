@@ -0,0 +1,109 @@
+package de.amr.games.pacman.controller.perf;
+
+import static de.amr.games.pacman.controller.perf.PerformanceMonitor.PERFORMANCE;
+
+import java.util.Arrays;
+
+/**
+ * Rolling window of measured values (e.g. durations in nanoseconds) with percentiles.
+ *
+ * @author Armin Reichert
+ */
+public class Metric {
+
+	/** Number of most recent values used for the statistics. */
+	public static final int WINDOW = 600;
+
+	public final String name;
+	public final String unit;
+	private final double scale;
+	private final long[] values = new long[WINDOW];
+	private long count;
+	private long startTime;
+
+	/**
+	 * @param name  metric name
+	 * @param unit  unit used for display
+	 * @param scale factor converting a measured value into the display unit
+	 */
+	public Metric(String name, String unit, double scale) {
+		this.name = name;
+		this.unit = unit;
+		this.scale = scale;
+	}
+
+	/**
+	 * Starts a time measurement.
+	 */
+	public void begin() {
+		if (PERFORMANCE.isEnabled()) {
+			startTime = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Ends a time measurement started with {@link #begin()} and adds the duration.
+	 */
+	public void end() {
+		if (startTime != 0) {
+			add(System.nanoTime() - startTime);
+			startTime = 0;
+		}
+	}
+
+	public synchronized void add(long value) {
+		values[(int) (count % WINDOW)] = value;
+		++count;
+	}
+
+	/**
+	 * @return total number of values added
+	 */
+	public synchronized long count() {
+		return count;
+	}
+
+	/**
+	 * Computes the given percentiles over the current window.
+	 *
+	 * @param percentiles percentiles (0-100)
+	 * @return the percentile values in the display unit (NaN if there are no values yet)
+	 */
+	public double[] percentiles(double... percentiles) {
+		long[] window;
+		synchronized (this) {
+			window = Arrays.copyOf(values, (int) Math.min(count, WINDOW));
+		}
+		Arrays.sort(window);
+		double[] result = new double[percentiles.length];
+		for (int i = 0; i < percentiles.length; ++i) {
+			if (window.length == 0) {
+				result[i] = Double.NaN;
+			} else {
+				int index = (int) Math.ceil(percentiles[i] / 100 * window.length) - 1;
+				result[i] = window[Math.max(0, Math.min(index, window.length - 1))] * scale;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return mean value of the current window in the display unit (NaN if there are no values yet)
+	 */
+	public synchronized double mean() {
+		int n = (int) Math.min(count, WINDOW);
+		if (n == 0) {
+			return Double.NaN;
+		}
+		long sum = 0;
+		for (int i = 0; i < n; ++i) {
+			sum += values[i];
+		}
+		return sum * scale / n;
+	}
+
+	public synchronized void reset() {
+		count = 0;
+		startTime = 0;
+	}
+}
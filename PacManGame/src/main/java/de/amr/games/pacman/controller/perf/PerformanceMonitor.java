@@ -0,0 +1,130 @@
+package de.amr.games.pacman.controller.perf;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Collects timings of the game subsystems, the memory allocated per tick and the garbage collector
+ * pauses. Measuring is off by default, the metrics are only updated when the monitor is enabled.
+ *
+ * @author Armin Reichert
+ */
+public class PerformanceMonitor {
+
+	public static final PerformanceMonitor PERFORMANCE = new PerformanceMonitor();
+
+	public static final String TICK = "Tick";
+	public static final String ALLOCATION = "Allocation per tick";
+	public static final String GC_PAUSE = "GC pause";
+
+	private final Map<String, Metric> metrics = new LinkedHashMap<>();
+	private final ThreadMXBean threadBean;
+	private final Metric tickMetric;
+	private final Metric allocationMetric;
+	private final Metric gcPauseMetric;
+	private volatile boolean enabled;
+	private boolean gcListenerInstalled;
+	private long allocatedAtTickStart = -1;
+
+	private PerformanceMonitor() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		threadBean = bean instanceof ThreadMXBean && ((ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+				? (ThreadMXBean) bean
+				: null;
+		tickMetric = timing(TICK);
+		allocationMetric = metric(ALLOCATION, "KB", 1.0 / 1024);
+		gcPauseMetric = metric(GC_PAUSE, "ms", 1);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public synchronized void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if (enabled && !gcListenerInstalled) {
+			installGcListener();
+			gcListenerInstalled = true;
+		}
+		loginfo("Performance monitor is %s", enabled ? "on" : "off");
+	}
+
+	/**
+	 * @param name metric name
+	 * @return the timing metric with the given name, measured in microseconds
+	 */
+	public Metric timing(String name) {
+		return metric(name, "µs", 1e-3);
+	}
+
+	/**
+	 * @param name  metric name
+	 * @param unit  display unit
+	 * @param scale factor converting measured values into the display unit
+	 * @return the metric with the given name, created if it does not exist yet
+	 */
+	public synchronized Metric metric(String name, String unit, double scale) {
+		return metrics.computeIfAbsent(name, n -> new Metric(n, unit, scale));
+	}
+
+	/**
+	 * @return the metrics in the order of creation
+	 */
+	public synchronized List<Metric> metrics() {
+		return new ArrayList<>(metrics.values());
+	}
+
+	public synchronized void reset() {
+		metrics.values().forEach(Metric::reset);
+	}
+
+	/**
+	 * Must be called by the game loop thread at the start of each tick.
+	 */
+	public void beginTick() {
+		tickMetric.begin();
+		allocatedAtTickStart = enabled && threadBean != null ? allocatedBytes() : -1;
+	}
+
+	/**
+	 * Must be called by the game loop thread at the end of each tick.
+	 */
+	public void endTick() {
+		tickMetric.end();
+		if (allocatedAtTickStart != -1) {
+			allocationMetric.add(allocatedBytes() - allocatedAtTickStart);
+			allocatedAtTickStart = -1;
+		}
+	}
+
+	private long allocatedBytes() {
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private void installGcListener() {
+		for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (gcBean instanceof NotificationEmitter) {
+				((NotificationEmitter) gcBean).addNotificationListener((notification, handback) -> {
+					if (enabled
+							&& GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+						GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+								.from((CompositeData) notification.getUserData());
+						gcPauseMetric.add(info.getGcInfo().getDuration());
+					}
+				}, null, null);
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package de.amr.games.pacman.controller.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Layout of a replay file:
+ * 
+ * <pre>
+ * header:   magic, version, seed, settings, keyframe interval
+ * records:  (type, tick gap, data)*, terminated by an END record
+ * index:    number of keyframes, (tick gap, file offset gap)* of all keyframes
+ * trailer:  file offset of the index (8 bytes), magic (4 bytes)
+ * </pre>
+ * 
+ * The tick gap of a record is the number of ticks since the previous record. An INPUT record holds
+ * the game input that is valid from its tick on, a KEYFRAME record holds the game input and a
+ * complete snapshot of the game taken before its tick is simulated. Numbers inside records and the
+ * index are unsigned variable-length numbers.
+ * 
+ * @author Armin Reichert
+ */
+class ReplayFormat {
+
+	static final int MAGIC = 0x504D5250; // "PMRP"
+	static final int VERSION = 3;
+	static final int TRAILER_SIZE = 12;
+
+	static final int END = 0;
+	static final int INPUT = 1;
+	static final int KEYFRAME = 2;
+
+	static void writeVarLong(DataOutput out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	static long readVarLong(DataInput in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed number in replay data");
+	}
+}
@@ -0,0 +1,245 @@
+package de.amr.games.pacman.controller.replay;
+
+import static de.amr.easy.game.Application.loginfo;
+import static de.amr.games.pacman.PacManApp.settings;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import de.amr.games.pacman.controller.game.GameController;
+
+/**
+ * Plays a game recorded by a {@link ReplayRecorder}.
+ * <p>
+ * Only the header and the keyframe index are read when the player is opened, the records are read
+ * as a stream while playing. Seeking to a tick restores the nearest keyframe before this tick and
+ * then simulates the remaining ticks without rendering.
+ *
+ * @author Armin Reichert
+ */
+public class ReplayPlayer implements Closeable {
+
+	private final FileChannel channel;
+	private final long seed;
+	private final int startLevel, ghosts;
+	private final boolean demoMode, ghostsHarmless, ghostsSafeCorner, fixOverflowBug, pacManImmortable;
+	private final String pathFinder;
+	private final int keyframeInterval;
+	private final long[] keyframeTicks;
+	private final long[] keyframeOffsets;
+	private final long lastTick;
+
+	private GameController controller;
+	private DataInputStream in;
+	private long tick;
+	private long nextRecordTick;
+	private int nextRecordType;
+
+	/**
+	 * Opens the replay file and reads the header and the keyframe index.
+	 *
+	 * @param file replay file
+	 * @throws IOException if the file cannot be read or is not a replay file
+	 */
+	public ReplayPlayer(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		DataInputStream header = stream(0);
+		if (header.readInt() != ReplayFormat.MAGIC) {
+			throw new IOException("Not a replay file: " + file);
+		}
+		int version = header.readUnsignedByte();
+		if (version != ReplayFormat.VERSION) {
+			throw new IOException("Unsupported replay file version: " + version);
+		}
+		seed = header.readLong();
+		startLevel = header.readInt();
+		ghosts = header.readInt();
+		demoMode = header.readBoolean();
+		ghostsHarmless = header.readBoolean();
+		ghostsSafeCorner = header.readBoolean();
+		fixOverflowBug = header.readBoolean();
+		pacManImmortable = header.readBoolean();
+		pathFinder = header.readUTF();
+		keyframeInterval = header.readInt();
+
+		DataInputStream trailer = stream(channel.size() - ReplayFormat.TRAILER_SIZE);
+		long indexOffset = trailer.readLong();
+		if (trailer.readInt() != ReplayFormat.MAGIC) {
+			throw new IOException("Replay file is incomplete (recording not finished?): " + file);
+		}
+		DataInputStream index = stream(indexOffset);
+		int n = (int) ReplayFormat.readVarLong(index);
+		if (n == 0) {
+			throw new IOException("Replay file contains no keyframe: " + file);
+		}
+		keyframeTicks = new long[n];
+		keyframeOffsets = new long[n];
+		for (int i = 0; i < n; ++i) {
+			keyframeTicks[i] = (i > 0 ? keyframeTicks[i - 1] : 0) + ReplayFormat.readVarLong(index);
+			keyframeOffsets[i] = (i > 0 ? keyframeOffsets[i - 1] : 0) + ReplayFormat.readVarLong(index);
+		}
+		lastTick = findLastTick();
+		loginfo("Opened replay file '%s': %d ticks, %d keyframes", file, lastTick, n);
+	}
+
+	private DataInputStream stream(long offset) throws IOException {
+		channel.position(offset);
+		return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+	}
+
+	private long findLastTick() throws IOException {
+		// the end record is the last record before the index, scan from the last keyframe to it
+		in = stream(keyframeOffsets[keyframeOffsets.length - 1]);
+		long recordTick = 0;
+		boolean first = true;
+		while (true) {
+			int type = in.readUnsignedByte();
+			long gap = ReplayFormat.readVarLong(in);
+			recordTick = first ? keyframeTicks[keyframeTicks.length - 1] : recordTick + gap;
+			first = false;
+			if (type == ReplayFormat.END) {
+				return recordTick;
+			}
+			skipRecordData(type);
+		}
+	}
+
+	private void skipRecordData(int type) throws IOException {
+		ReplayFormat.readVarLong(in); // input
+		if (type == ReplayFormat.KEYFRAME) {
+			in.readFully(new byte[(int) ReplayFormat.readVarLong(in)]);
+		}
+	}
+
+	/**
+	 * Sets the application settings to the values used when the game was recorded. Must be called
+	 * before the game controller is created.
+	 */
+	public void applySettings() {
+		settings.seed = seed;
+		settings.startLevel = startLevel;
+		settings.ghosts = ghosts;
+		settings.demoMode = demoMode;
+		settings.ghostsHarmless = ghostsHarmless;
+		settings.ghostsSafeCorner = ghostsSafeCorner;
+		settings.fixOverflowBug = fixOverflowBug;
+		settings.pacManImmortable = pacManImmortable;
+		settings.pathFinder = pathFinder;
+	}
+
+	/**
+	 * Attaches the game controller that plays the replay and moves to the first recorded tick.
+	 *
+	 * @param controller the game controller
+	 * @throws IOException if reading fails
+	 */
+	public void attach(GameController controller) throws IOException {
+		this.controller = controller;
+		seek(0);
+	}
+
+	public long seed() {
+		return seed;
+	}
+
+	public int keyframeInterval() {
+		return keyframeInterval;
+	}
+
+	/**
+	 * @return the tick that will be simulated next
+	 */
+	public long tick() {
+		return tick;
+	}
+
+	/**
+	 * @return number of recorded ticks
+	 */
+	public long lastTick() {
+		return lastTick;
+	}
+
+	public boolean isComplete() {
+		return tick >= lastTick;
+	}
+
+	/**
+	 * Moves the game to the state before the given tick is simulated. The nearest keyframe at or
+	 * before this tick is restored, the ticks from there are simulated headless.
+	 *
+	 * @param targetTick target tick
+	 * @throws IOException if reading fails
+	 */
+	public void seek(long targetTick) throws IOException {
+		if (controller == null) {
+			throw new IllegalStateException("No game controller attached to replay player");
+		}
+		if (targetTick < 0 || targetTick > lastTick) {
+			throw new IllegalArgumentException(
+					String.format("Tick %d is outside of the recorded range (0-%d)", targetTick, lastTick));
+		}
+		if (targetTick < keyframeTicks[0]) {
+			throw new IllegalArgumentException(
+					String.format("Tick %d is before the first keyframe at tick %d", targetTick, keyframeTicks[0]));
+		}
+		int k = Arrays.binarySearch(keyframeTicks, targetTick);
+		if (k < 0) {
+			k = -k - 2;
+		}
+		in = stream(keyframeOffsets[k]);
+		tick = keyframeTicks[k];
+		nextRecordType = in.readUnsignedByte();
+		ReplayFormat.readVarLong(in);
+		nextRecordTick = tick;
+		applyRecords(true);
+		while (tick < targetTick) {
+			step();
+		}
+	}
+
+	/**
+	 * Simulates the next recorded tick with the recorded input.
+	 *
+	 * @throws IOException if reading fails
+	 */
+	public void step() throws IOException {
+		if (isComplete()) {
+			throw new IllegalStateException("Replay is complete");
+		}
+		applyRecords(false);
+		controller.step();
+		++tick;
+	}
+
+	/**
+	 * Applies all records for the current tick. A keyframe is restored when seeking or if the game is
+	 * in a phase (e.g. the intro) that is not part of the recording.
+	 */
+	private void applyRecords(boolean seeking) throws IOException {
+		while (nextRecordTick == tick && nextRecordType != ReplayFormat.END) {
+			controller.input.setState((int) ReplayFormat.readVarLong(in));
+			if (nextRecordType == ReplayFormat.KEYFRAME) {
+				byte[] snapshot = new byte[(int) ReplayFormat.readVarLong(in)];
+				in.readFully(snapshot);
+				if (seeking || !controller.canTakeSnapshot()) {
+					controller.restore(snapshot);
+				}
+			}
+			nextRecordType = in.readUnsignedByte();
+			nextRecordTick += ReplayFormat.readVarLong(in);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,150 @@
+package de.amr.games.pacman.controller.replay;
+
+import static de.amr.easy.game.Application.loginfo;
+import static de.amr.games.pacman.PacManApp.settings;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.amr.games.pacman.controller.game.GameController;
+import de.amr.games.pacman.controller.game.GameInput;
+
+/**
+ * Records a game as a compact binary stream (see {@link ReplayFormat}): the seed and settings, the
+ * changes of the game input and periodic keyframes (complete snapshots of the game). The file is
+ * written sequentially, only the keyframe index is kept in memory.
+ *
+ * @author Armin Reichert
+ */
+public class ReplayRecorder implements Closeable {
+
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		long count;
+
+		public CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			++count;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+	private final GameController controller;
+	private final Path file;
+	private final int keyframeInterval;
+	private final CountingOutputStream counter;
+	private final DataOutputStream out;
+	private final List<long[]> keyframes = new ArrayList<>();
+	private long tick;
+	private long lastRecordTick;
+	private long lastKeyframeTick = Long.MIN_VALUE;
+	// the input the player will see in the next tick: the recorded one without the consumed keys
+	private int lastInput = -1;
+
+	/**
+	 * Starts recording the given game into the given file.
+	 *
+	 * @param controller       the game controller
+	 * @param file             replay file
+	 * @param keyframeInterval number of ticks between keyframes
+	 * @throws IOException if the file cannot be written
+	 */
+	public ReplayRecorder(GameController controller, Path file, int keyframeInterval) throws IOException {
+		if (keyframeInterval < 1) {
+			throw new IllegalArgumentException("Keyframe interval must be positive but is " + keyframeInterval);
+		}
+		this.controller = controller;
+		this.file = file;
+		this.keyframeInterval = keyframeInterval;
+		counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+		out = new DataOutputStream(counter);
+		out.writeInt(ReplayFormat.MAGIC);
+		out.writeByte(ReplayFormat.VERSION);
+		out.writeLong(settings.seed);
+		out.writeInt(settings.startLevel);
+		out.writeInt(settings.ghosts);
+		out.writeBoolean(settings.demoMode);
+		out.writeBoolean(settings.ghostsHarmless);
+		out.writeBoolean(settings.ghostsSafeCorner);
+		out.writeBoolean(settings.fixOverflowBug);
+		out.writeBoolean(settings.pacManImmortable);
+		out.writeUTF(settings.pathFinder);
+		out.writeInt(keyframeInterval);
+		loginfo("Recording game into file '%s'", file);
+	}
+
+	/**
+	 * @return number of recorded ticks
+	 */
+	public long tick() {
+		return tick;
+	}
+
+	/**
+	 * Records the game input of the coming tick and, if due, a keyframe. Must be called once before
+	 * each simulation step.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	public void record() throws IOException {
+		int input = controller.input.getState();
+		if (tick - lastKeyframeTick >= keyframeInterval && controller.canTakeSnapshot()) {
+			byte[] snapshot = controller.snapshot();
+			keyframes.add(new long[] { tick, counter.count });
+			out.writeByte(ReplayFormat.KEYFRAME);
+			ReplayFormat.writeVarLong(out, tick - lastRecordTick);
+			ReplayFormat.writeVarLong(out, input);
+			ReplayFormat.writeVarLong(out, snapshot.length);
+			out.write(snapshot);
+			lastRecordTick = lastKeyframeTick = tick;
+			lastInput = GameInput.consumed(input);
+		} else if (input != lastInput) {
+			out.writeByte(ReplayFormat.INPUT);
+			ReplayFormat.writeVarLong(out, tick - lastRecordTick);
+			ReplayFormat.writeVarLong(out, input);
+			lastRecordTick = tick;
+			lastInput = GameInput.consumed(input);
+		}
+		++tick;
+	}
+
+	/**
+	 * Finishes the recording by writing the end record and the keyframe index.
+	 */
+	@Override
+	public void close() throws IOException {
+		out.writeByte(ReplayFormat.END);
+		ReplayFormat.writeVarLong(out, tick - lastRecordTick);
+		long indexOffset = counter.count;
+		ReplayFormat.writeVarLong(out, keyframes.size());
+		long prevTick = 0, prevOffset = 0;
+		for (long[] keyframe : keyframes) {
+			ReplayFormat.writeVarLong(out, keyframe[0] - prevTick);
+			ReplayFormat.writeVarLong(out, keyframe[1] - prevOffset);
+			prevTick = keyframe[0];
+			prevOffset = keyframe[1];
+		}
+		out.writeLong(indexOffset);
+		out.writeInt(ReplayFormat.MAGIC);
+		out.close();
+		loginfo("Recorded %d ticks and %d keyframes into file '%s'", tick, keyframes.size(), file);
+	}
+}
@@ -0,0 +1,141 @@
+package de.amr.games.pacman.controller.snapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+import de.amr.statemachine.core.State;
+import de.amr.statemachine.core.StateMachine;
+
+/**
+ * Reads the values written by a {@link SnapshotWriter} in the same order.
+ * <p>
+ * State machines are put back into their state using {@code resumeState()} which neither executes
+ * the entry action nor resets the timer. The timer of the restored state is then set to the ticks
+ * that were remaining when the snapshot was taken. Because the state machine API does not allow to
+ * set the remaining ticks of a running timer, the timer is restarted with the remaining ticks as
+ * duration. Clients that need the ticks consumed before the snapshot have to store them themselves.
+ *
+ * @author Armin Reichert
+ */
+public class SnapshotReader {
+
+	/**
+	 * Timer duration that is only used while the timer of a state is restored. Later resets of the
+	 * timer (re-entering the state) use the regular duration again.
+	 */
+	private static class RestoredTimer implements LongSupplier {
+
+		private final long ticksRemaining;
+		private final LongSupplier fnDuration;
+		private boolean restoring = true;
+
+		public RestoredTimer(long ticksRemaining, LongSupplier fnDuration) {
+			this.ticksRemaining = ticksRemaining;
+			this.fnDuration = fnDuration;
+		}
+
+		@Override
+		public long getAsLong() {
+			return restoring ? ticksRemaining : fnDuration.getAsLong();
+		}
+	}
+
+	private final byte[] bytes;
+	private int position;
+
+	public SnapshotReader(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	private byte next() {
+		if (position == bytes.length) {
+			throw new IllegalStateException("Unexpected end of snapshot data");
+		}
+		return bytes[position++];
+	}
+
+	public int readByte() {
+		return next();
+	}
+
+	public boolean readBoolean() {
+		return next() != 0;
+	}
+
+	public int readInt() {
+		return (int) readLong();
+	}
+
+	public long readLong() {
+		long zigzag = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = next();
+			zigzag |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (zigzag >>> 1) ^ -(zigzag & 1);
+			}
+		}
+		throw new IllegalStateException("Malformed number in snapshot data");
+	}
+
+	public float readFloat() {
+		int bits = (next() & 0xFF) << 24 | (next() & 0xFF) << 16 | (next() & 0xFF) << 8 | (next() & 0xFF);
+		return Float.intBitsToFloat(bits);
+	}
+
+	/**
+	 * @param values the values of the enum type
+	 * @return enum value or {@code null}
+	 */
+	public <E extends Enum<E>> E readEnum(E[] values) {
+		int ordinal = readInt();
+		return ordinal == -1 ? null : values[ordinal];
+	}
+
+	public BitSet readBits() {
+		int length = readInt();
+		if (position + length > bytes.length) {
+			throw new IllegalStateException("Unexpected end of snapshot data");
+		}
+		BitSet bits = BitSet.valueOf(Arrays.copyOfRange(bytes, position, position + length));
+		position += length;
+		return bits;
+	}
+
+	/**
+	 * Puts the state machine into the stored state and restores the timer of that state.
+	 *
+	 * @param fsm        state machine
+	 * @param states     the values of the state enum type
+	 * @param fnDuration the regular timer duration of a state, used when the state is entered again
+	 */
+	public <S extends Enum<S>> void readState(StateMachine<S, ?> fsm, S[] states, ToLongFunction<S> fnDuration) {
+		S state = readEnum(states);
+		if (state != null) {
+			fsm.resumeState(state);
+			readTimer(fsm.state(state), () -> fnDuration.applyAsLong(state));
+		}
+	}
+
+	/**
+	 * Restores the timer of the given state.
+	 *
+	 * @param state      a state
+	 * @param fnDuration the regular timer duration of this state, used when the state is entered again
+	 */
+	public void readTimer(State<?> state, LongSupplier fnDuration) {
+		long ticksRemaining = readLong();
+		if (ticksRemaining != -1) {
+			RestoredTimer timer = new RestoredTimer(ticksRemaining, fnDuration);
+			state.setTimer(timer);
+			state.resetTimer();
+			timer.restoring = false;
+		}
+	}
+
+	public boolean isComplete() {
+		return position == bytes.length;
+	}
+}
@@ -0,0 +1,107 @@
+package de.amr.games.pacman.controller.snapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import de.amr.statemachine.core.State;
+import de.amr.statemachine.core.StateMachine;
+
+/**
+ * Writes the state of the game components into a compact binary form.
+ * <p>
+ * Integer values are written as variable-length (zig-zag encoded) numbers, enum values by their
+ * ordinal, float values by their exact bit pattern. The matching {@link SnapshotReader} must read
+ * the values in the same order.
+ *
+ * @author Armin Reichert
+ */
+public class SnapshotWriter {
+
+	private byte[] bytes = new byte[512];
+	private int size;
+
+	private void ensureCapacity(int n) {
+		if (size + n > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, size + n));
+		}
+	}
+
+	public void writeByte(int value) {
+		ensureCapacity(1);
+		bytes[size++] = (byte) value;
+	}
+
+	public void writeBoolean(boolean value) {
+		writeByte(value ? 1 : 0);
+	}
+
+	public void writeInt(int value) {
+		writeLong(value);
+	}
+
+	public void writeLong(long value) {
+		ensureCapacity(10);
+		long zigzag = (value << 1) ^ (value >> 63);
+		while ((zigzag & ~0x7FL) != 0) {
+			bytes[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+			zigzag >>>= 7;
+		}
+		bytes[size++] = (byte) zigzag;
+	}
+
+	public void writeFloat(float value) {
+		int bits = Float.floatToRawIntBits(value);
+		ensureCapacity(4);
+		bytes[size++] = (byte) (bits >>> 24);
+		bytes[size++] = (byte) (bits >>> 16);
+		bytes[size++] = (byte) (bits >>> 8);
+		bytes[size++] = (byte) bits;
+	}
+
+	/**
+	 * Writes an enum value, {@code null} is allowed.
+	 *
+	 * @param value enum value or {@code null}
+	 */
+	public void writeEnum(Enum<?> value) {
+		writeInt(value != null ? value.ordinal() : -1);
+	}
+
+	public void writeBits(BitSet bits) {
+		byte[] data = bits.toByteArray();
+		writeInt(data.length);
+		ensureCapacity(data.length);
+		System.arraycopy(data, 0, bytes, size, data.length);
+		size += data.length;
+	}
+
+	/**
+	 * Writes the current state of the given state machine and the timer of that state.
+	 *
+	 * @param fsm state machine
+	 */
+	public <S extends Enum<S>> void writeState(StateMachine<S, ?> fsm) {
+		writeEnum(fsm.getState());
+		if (fsm.getState() != null) {
+			writeTimer(fsm.state());
+		}
+	}
+
+	/**
+	 * Writes the remaining ticks of the timer of the given state or {@code -1} if the state has no
+	 * timer.
+	 *
+	 * @param state a state
+	 */
+	public void writeTimer(State<?> state) {
+		writeLong(state.hasTimer() ? state.getTicksRemaining() : -1);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(bytes, size);
+	}
+}
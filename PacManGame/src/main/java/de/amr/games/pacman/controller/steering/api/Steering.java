@@ -59,6 +59,15 @@ public interface Steering {
 		return false;
 	}
 
+	/**
+	 * @return tells if this steering only changes the wish direction of the guy and its own state such
+	 *         that it can steer concurrently with the steerings of the other guys (default is
+	 *         {@code false}).
+	 */
+	default boolean isConcurrent() {
+		return false;
+	}
+
 	/**
 	 * Steerings may have a dedicated target tile.
 	 * 
@@ -2,18 +2,22 @@ package de.amr.games.pacman.controller.steering.api;
 
 import java.awt.event.KeyEvent;
 import java.util.Objects;
+import java.util.function.IntPredicate;
 import java.util.function.Supplier;
 
+import de.amr.easy.game.input.Keyboard;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.controller.game.GameInput;
 import de.amr.games.pacman.controller.steering.common.FollowingKeys;
 import de.amr.games.pacman.controller.steering.common.HeadingForTargetTile;
 import de.amr.games.pacman.controller.steering.common.RandomMovement;
 import de.amr.games.pacman.controller.steering.ghost.BouncingOnBed;
 import de.amr.games.pacman.controller.steering.ghost.EnteringDoorAndGoingToBed;
 import de.amr.games.pacman.controller.steering.ghost.LeavingHouse;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.components.Bed;
 import de.amr.games.pacman.model.world.components.Door;
@@ -202,13 +206,24 @@ public class SteeringBuilder {
 
 	public class MovesRandomlyBuilder {
 
+		private SeededRandom rnd;
+
+		public MovesRandomlyBuilder random(SeededRandom rnd) {
+			this.rnd = Objects.requireNonNull(rnd);
+			return this;
+		}
+
 		public Steering ok() {
+			if (rnd == null) {
+				// not part of a seeded game session
+				rnd = new SeededRandom(System.nanoTime());
+			}
 			if (ghost != null) {
 				ensureGhostState();
-				ghost.setSteering(ghostState, new RandomMovement());
+				ghost.setSteering(ghostState, new RandomMovement(rnd));
 				return ghost.getSteering();
 			} else if (pacMan != null) {
-				pacMan.setSteering(PacManState.AWAKE, new RandomMovement());
+				pacMan.setSteering(PacManState.AWAKE, new RandomMovement(rnd));
 				return pacMan.getSteering();
 			}
 			throw new IllegalStateException();
@@ -218,6 +233,7 @@ public class SteeringBuilder {
 	public class FollowsKeysBuilder {
 
 		private int up, right, down, left;
+		private IntPredicate fnKeyDown = Keyboard::keyDown;
 
 		public FollowsKeysBuilder keys(int up, int right, int down, int left) {
 			this.up = up;
@@ -227,13 +243,18 @@ public class SteeringBuilder {
 			return this;
 		}
 
+		public FollowsKeysBuilder input(GameInput input) {
+			this.fnKeyDown = input::keyDown;
+			return this;
+		}
+
 		public Steering ok() {
 			if (ghost != null) {
 				ensureGhostState();
-				ghost.setSteering(ghostState, new FollowingKeys(up, right, down, left));
+				ghost.setSteering(ghostState, new FollowingKeys(fnKeyDown, up, right, down, left));
 				return ghost.getSteering();
 			} else if (pacMan != null) {
-				pacMan.setSteering(PacManState.AWAKE, new FollowingKeys(up, right, down, left));
+				pacMan.setSteering(PacManState.AWAKE, new FollowingKeys(fnKeyDown, up, right, down, left));
 				return pacMan.getSteering();
 			}
 			throw new IllegalStateException();
@@ -2,6 +2,7 @@ package de.amr.games.pacman.controller.steering.common;
 
 import java.awt.event.KeyEvent;
 import java.util.EnumMap;
+import java.util.function.IntPredicate;
 
 import de.amr.easy.game.input.Keyboard;
 import de.amr.games.pacman.controller.creatures.Guy;
@@ -16,6 +17,7 @@ import de.amr.games.pacman.model.world.api.Direction;
 public class FollowingKeys implements Steering {
 
 	private EnumMap<Direction, Integer> keys = new EnumMap<>(Direction.class);
+	private final IntPredicate fnKeyDown;
 
 	/**
 	 * Defines a steering using the virtual key codes as defined in class {@link KeyEvent}.
@@ -26,6 +28,20 @@ public class FollowingKeys implements Steering {
 	 * @param left  key code for moving left
 	 */
 	public FollowingKeys(int up, int right, int down, int left) {
+		this(Keyboard::keyDown, up, right, down, left);
+	}
+
+	/**
+	 * Defines a steering using the given key state source (e.g. the recorded game input).
+	 * 
+	 * @param fnKeyDown tells if the key with the given key code is down
+	 * @param up        key code for moving up
+	 * @param right     key code for moving right
+	 * @param down      key code for moving down
+	 * @param left      key code for moving left
+	 */
+	public FollowingKeys(IntPredicate fnKeyDown, int up, int right, int down, int left) {
+		this.fnKeyDown = fnKeyDown;
 		keys.put(Direction.UP, up);
 		keys.put(Direction.RIGHT, right);
 		keys.put(Direction.DOWN, down);
@@ -34,11 +50,17 @@ public class FollowingKeys implements Steering {
 
 	@Override
 	public void steer(Guy<?> guy) {
-		Direction.dirs().filter(dir -> Keyboard.keyDown(keys.get(dir))).findAny().ifPresent(dir -> guy.wishDir = dir);
+		Direction.dirs().filter(dir -> fnKeyDown.test(keys.get(dir))).findAny().ifPresent(dir -> guy.wishDir = dir);
 	}
 
 	@Override
 	public boolean requiresGridAlignment() {
 		return true;
 	}
+
+	@Override
+	public boolean isConcurrent() {
+		// only reads the keys and changes the wish direction
+		return true;
+	}
 }
\ No newline at end of file
@@ -91,4 +91,10 @@ public abstract class FollowingPath implements Steering {
 		}
 		return path.get(pathIndex).dirTo(path.get(pathIndex + 1));
 	}
+
+	@Override
+	public boolean isConcurrent() {
+		// only changes the wish direction and the path index
+		return true;
+	}
 }
\ No newline at end of file
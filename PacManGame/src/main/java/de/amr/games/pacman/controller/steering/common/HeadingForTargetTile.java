@@ -123,4 +123,10 @@ public class HeadingForTargetTile implements Steering {
 	public void setPathComputed(boolean computed) {
 		pathComputed = computed;
 	}
+
+	@Override
+	public boolean isConcurrent() {
+		// only reads the world and the target tile, changes the wish direction and the path
+		return true;
+	}
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package de.amr.games.pacman.controller.steering.common;
 
-import static de.amr.easy.game.Application.loginfo;
 import static de.amr.games.pacman.controller.game.Timing.sec;
 import static de.amr.games.pacman.controller.steering.common.MovementType.INSIDE_PORTAL;
 import static de.amr.games.pacman.controller.steering.common.MovementType.OUTSIDE_PORTAL;
@@ -10,6 +9,10 @@ import static de.amr.games.pacman.model.world.api.Direction.RIGHT;
 import static de.amr.games.pacman.model.world.api.Direction.UP;
 
 import de.amr.games.pacman.controller.creatures.Guy;
+import de.amr.games.pacman.controller.log.GameLog;
+import de.amr.games.pacman.controller.log.LogCategory;
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.components.Portal;
 import de.amr.statemachine.core.StateMachine;
@@ -21,11 +24,13 @@ import de.amr.statemachine.core.StateMachine;
  */
 public class MovementController extends StateMachine<MovementType, Void> {
 
+	private final Guy<?> guy;
 	private Portal portalEntered;
 	private Tile portalExitTile;
 
 	public MovementController(Guy<?> guy) {
 		super(MovementType.class);
+		this.guy = guy;
 		//@formatter:off
 		beginStateMachine()
 			.description(guy.name + " Movement")
@@ -41,7 +46,7 @@ public class MovementController extends StateMachine<MovementType, Void> {
 						checkPortalEnteredBy(guy);
 					})
 				.state(INSIDE_PORTAL)
-					.timeoutAfter(sec(1.0f))
+					.timeoutAfter(this::portalTime)
 					.onEntry(() -> guy.visible = false)
 					.onExit(() -> guy.visible = true)
 			.transitions()
@@ -56,8 +61,36 @@ public class MovementController extends StateMachine<MovementType, Void> {
 		//@formatter:on
 	}
 
+	private long portalTime() {
+		return sec(1.0f);
+	}
+
+	public void writeSnapshot(SnapshotWriter out) {
+		out.writeState(this);
+		out.writeBoolean(portalEntered != null);
+		if (portalEntered != null) {
+			out.writeInt(portalExitTile.col);
+			out.writeInt(portalExitTile.row);
+		}
+	}
+
+	public void readSnapshot(SnapshotReader in) {
+		in.readState(this, MovementType.values(), state -> portalTime());
+		portalEntered = null;
+		portalExitTile = null;
+		if (in.readBoolean()) {
+			Tile exitTile = Tile.at(in.readInt(), in.readInt());
+			portalEntered = guy.world.portals().filter(portal -> portal.includes(exitTile)).findFirst()
+					.orElseThrow(() -> new IllegalStateException("No portal at snapshot tile " + exitTile));
+			portalExitTile = exitTile;
+		}
+	}
+
 	private void checkPortalEnteredBy(Guy<?> guy) {
 		Tile tile = guy.tile();
+		if (!guy.world.isPortal(tile)) {
+			return;
+		}
 		guy.world.portals().filter(portal -> portal.includes(tile)).findFirst().ifPresent(portal -> {
 			if (portal.either.equals(tile) && (guy.moveDir == LEFT && guy.tileOffsetX() <= 1)
 					|| (guy.moveDir == UP && guy.tileOffsetY() <= 1)) {
@@ -70,13 +103,14 @@ public class MovementController extends StateMachine<MovementType, Void> {
 			}
 		});
 		if (portalEntered != null) {
-			loginfo("%s entered portal at %s moving %s with offsetX %.2f", guy.name, tile, guy.moveDir, guy.tileOffsetX());
+			GameLog.info(LogCategory.MOVEMENT, "%s entered portal at %s moving %s with offsetX %.2f", guy.name, tile,
+					guy.moveDir, guy.tileOffsetX());
 		}
 	}
 
 	private void teleport(Guy<?> guy) {
 		guy.placeAt(portalExitTile, 0, 0);
 		portalEntered = null;
-		loginfo("%s left portal at %s", guy.name, guy.tile());
+		GameLog.info(LogCategory.MOVEMENT, "%s left portal at %s", guy.name, guy.tile());
 	}
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package de.amr.games.pacman.controller.steering.common;
 
 import de.amr.games.pacman.controller.creatures.Guy;
 import de.amr.games.pacman.controller.steering.api.Steering;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Direction;
 
 /**
@@ -11,13 +12,18 @@ import de.amr.games.pacman.model.world.api.Direction;
  */
 public class RandomMovement implements Steering {
 
+	private final SeededRandom rnd;
 	private boolean forced;
 
+	public RandomMovement(SeededRandom rnd) {
+		this.rnd = rnd;
+	}
+
 	@Override
 	public void steer(Guy<?> guy) {
 		if (forced || !guy.canMoveTo(guy.moveDir) || guy.enteredNewTile && guy.world.isIntersection(guy.tile())) {
 			/*@formatter:off*/
-			Direction.dirsShuffled()
+			Direction.dirsShuffled(rnd)
 				.filter(dir -> dir != guy.moveDir.opposite())
 				.filter(guy::canMoveTo)
 				.findFirst()
@@ -36,4 +42,10 @@ public class RandomMovement implements Steering {
 	public void force() {
 		forced = true;
 	}
+
+	@Override
+	public boolean isConcurrent() {
+		// each guy moving randomly has a random generator of its own
+		return true;
+	}
 }
\ No newline at end of file
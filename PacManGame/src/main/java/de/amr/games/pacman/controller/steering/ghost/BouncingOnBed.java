@@ -29,4 +29,10 @@ public class BouncingOnBed implements Steering {
 			guy.wishDir = UP;
 		}
 	}
+
+	@Override
+	public boolean isConcurrent() {
+		// only changes the wish direction
+		return true;
+	}
 }
\ No newline at end of file
@@ -93,4 +93,10 @@ public class EnteringDoorAndGoingToBed extends StateMachine<State, Void> impleme
 	public boolean isComplete() {
 		return is(BED_REACHED);
 	}
+
+	@Override
+	public boolean isConcurrent() {
+		// places the ghost over the house entry
+		return false;
+	}
 }
\ No newline at end of file
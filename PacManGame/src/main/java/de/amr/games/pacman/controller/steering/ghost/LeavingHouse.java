@@ -32,4 +32,10 @@ public class LeavingHouse implements Steering {
 			guy.wishDir = LEFT;
 		}
 	}
+
+	@Override
+	public boolean isConcurrent() {
+		// moves the guy to the exit
+		return false;
+	}
 }
\ No newline at end of file
@@ -38,6 +38,21 @@ public class Hiscore {
 		load();
 	}
 
+	private Hiscore(Hiscore other) {
+		file = other.file;
+		points = other.points;
+		level = other.level;
+		time = other.time;
+		needsUpdate = false;
+	}
+
+	/**
+	 * @return a copy of this hiscore which is never saved
+	 */
+	public Hiscore copy() {
+		return new Hiscore(this);
+	}
+
 	public void load() {
 		loginfo("Loading highscore from file '%s'", file);
 		try {
@@ -77,9 +77,13 @@ public class PacManGame {
 		return game != null;
 	}
 
+	private static Hiscore createHiscore() {
+		return new Hiscore(new File(new File(System.getProperty("user.home")), "pacman.hiscore.xml"));
+	}
+
 	public static void start(int startLevel, int totalFoodCount) {
 		game = new PacManGame(startLevel, totalFoodCount, PACMAN_LIVES, 0);
-		game.hiscore = new Hiscore(new File(new File(System.getProperty("user.home")), "pacman.hiscore.xml"));
+		game.hiscore = createHiscore();
 		game.levelCounter.add(game.bonusSymbol);
 		loginfo("Game started at level %d", startLevel);
 	}
@@ -96,6 +100,29 @@ public class PacManGame {
 		loginfo("Game entered level %d" + "", next.level);
 	}
 
+	/**
+	 * Restores the game at the given level (e.g. from a snapshot). The high score of the running game
+	 * is kept. The level counter gets the bonus symbols of the given number of levels played up to and
+	 * including this level.
+	 * 
+	 * @param level          level number (1..)
+	 * @param levelsPlayed   number of levels played in this game including the given level
+	 * @param totalFoodCount total number of food in the world
+	 * @param lives          remaining lives
+	 * @param score          score
+	 */
+	public static void restore(int level, int levelsPlayed, int totalFoodCount, int lives, int score) {
+		if (levelsPlayed < 1 || levelsPlayed > level) {
+			throw new IllegalArgumentException("Illegal number of played levels: " + levelsPlayed);
+		}
+		PacManGame restored = new PacManGame(level, totalFoodCount, lives, score);
+		restored.hiscore = started() ? game.hiscore : createHiscore();
+		for (int l = level - levelsPlayed + 1; l <= level; ++l) {
+			restored.levelCounter.add((String) levelData(l).get(0));
+		}
+		game = restored;
+	}
+
 	//@formatter:off
 	
 	public final String bonusSymbol;
@@ -151,6 +178,20 @@ public class PacManGame {
 		numFlashes = integer(data.get(14));
 	}
 
+	/**
+	 * @return a copy of this game with the same level, counters and (copied) high score, e.g. for
+	 *         rendering in another thread
+	 */
+	public PacManGame copy() {
+		PacManGame copy = new PacManGame(level, foodCount, lives, score);
+		copy.eatenFoodCount = eatenFoodCount;
+		copy.ghostsKilledByEnergizer = ghostsKilledByEnergizer;
+		copy.ghostsKilledInLevel = ghostsKilledInLevel;
+		copy.hiscore = hiscore.copy();
+		copy.levelCounter.addAll(levelCounter);
+		return copy;
+	}
+
 	public int remainingFoodCount() {
 		return foodCount - eatenFoodCount;
 	}
@@ -203,8 +244,7 @@ public class PacManGame {
 		ghostsKilledByEnergizer += 1;
 		ghostsKilledInLevel += 1;
 		int ghostBounty = ghostBounty();
-		loginfo("Got %d points for killing %s ghost", ghostBounty,
-				new String[] { "", "first", "2nd", "3rd", "4th" }[ghostsKilledByEnergizer]);
+		loginfo("Got %d points for killing ghost #%d", ghostBounty, ghostsKilledByEnergizer);
 		int points = ghostBounty;
 		if (ghostsKilledInLevel == 16) {
 			points += POINTS_ALL_GHOSTS;
@@ -213,10 +253,12 @@ public class PacManGame {
 	}
 
 	/**
-	 * @return value of killed ghost (doubles for each ghost killed by the same energizer)
+	 * @return value of killed ghost (doubles for each ghost killed by the same energizer up to the
+	 *         fourth ghost)
 	 */
 	public int ghostBounty() {
-		return POINTS_GHOSTS[ghostsKilledByEnergizer > 0 ? ghostsKilledByEnergizer - 1 : 0];
+		int index = Math.min(ghostsKilledByEnergizer, POINTS_GHOSTS.length) - 1;
+		return POINTS_GHOSTS[Math.max(index, 0)];
 	}
 
 	/**
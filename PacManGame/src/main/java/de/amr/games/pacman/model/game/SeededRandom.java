@@ -0,0 +1,144 @@
+package de.amr.games.pacman.model.game;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seedable, splittable random generator (SplitMix64) used for all random decisions of the
+ * simulation.
+ * <p>
+ * A game session owns one root generator created from the session seed. Every consumer (bonus
+ * timing, random movement of each guy, demo mode steering etc.) gets its own stream by
+ * {@link #split(String)}. The stream of a consumer only depends on the root seed and its label, so
+ * adding a new consumer or changing the order in which consumers draw numbers does not change the
+ * numbers other consumers see.
+ * <p>
+ * The complete state of a generator is a single long value which can be read and restored. The
+ * streams split off a generator are kept by their label such that their state can be saved and
+ * restored together with the state of the generator.
+ *
+ * @author Armin Reichert
+ */
+public class SeededRandom {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private final long seed;
+	private long state;
+	private final Map<String, SeededRandom> streams = new LinkedHashMap<>();
+
+	public SeededRandom(long seed) {
+		this.seed = seed;
+		this.state = seed;
+	}
+
+	/**
+	 * @return the seed this generator was created with
+	 */
+	public long seed() {
+		return seed;
+	}
+
+	/**
+	 * @return the current state of this generator
+	 */
+	public long getState() {
+		return state;
+	}
+
+	/**
+	 * Restores the state of this generator (e.g. from a snapshot).
+	 *
+	 * @param state state as returned by {@link #getState()}
+	 */
+	public void setState(long state) {
+		this.state = state;
+	}
+
+	/**
+	 * Creates an independent generator for the given purpose. The returned generator only depends on
+	 * the seed of this generator and the label, not on how many numbers have been drawn from this
+	 * generator. Splitting again with the same label replaces the stream registered for this label.
+	 *
+	 * @param label label identifying the consumer of the new stream
+	 * @return new generator
+	 */
+	public SeededRandom split(String label) {
+		SeededRandom stream = new SeededRandom(mix64(seed ^ mix64(label.hashCode() * GOLDEN_GAMMA)));
+		streams.put(label, stream);
+		return stream;
+	}
+
+	/**
+	 * Creates an independent generator for the part with the given index of some work that is
+	 * processed in parallel (e.g. the rows of a generated maze). Like {@link #split(String)}, the
+	 * returned generator only depends on the seed of this generator and the index. It is not
+	 * registered as a stream of this generator.
+	 *
+	 * @param index index of the part
+	 * @return new generator
+	 */
+	public SeededRandom fork(long index) {
+		return new SeededRandom(mix64(seed ^ mix64((index + 1) * GOLDEN_GAMMA)));
+	}
+
+	/**
+	 * @return the streams split off this generator by their label, in the order of their creation
+	 */
+	public Map<String, SeededRandom> streams() {
+		return Collections.unmodifiableMap(streams);
+	}
+
+	public long nextLong() {
+		state += GOLDEN_GAMMA;
+		return mix64(state);
+	}
+
+	public int nextInt() {
+		return (int) (nextLong() >>> 32);
+	}
+
+	/**
+	 * @param bound upper bound (exclusive), must be positive
+	 * @return uniformly distributed value from {@code [0, bound)}
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive but is " + bound);
+		}
+		return (int) (((nextLong() >>> 33) * bound) >>> 31);
+	}
+
+	public boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+
+	/**
+	 * @return uniformly distributed value from {@code [0, 1)}
+	 */
+	public float nextFloat() {
+		return (nextLong() >>> 40) * 0x1.0p-24f;
+	}
+
+	/**
+	 * Shuffles the given list in place (Fisher-Yates).
+	 *
+	 * @param list list to shuffle
+	 */
+	public <T> void shuffle(List<T> list) {
+		for (int i = list.size() - 1; i > 0; --i) {
+			int j = nextInt(i + 1);
+			T tmp = list.get(i);
+			list.set(i, list.get(j));
+			list.set(j, tmp);
+		}
+	}
+}
@@ -1,12 +1,11 @@
 package de.amr.games.pacman.model.world.api;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Stream;
 
 import de.amr.easy.game.math.Vector2f;
+import de.amr.games.pacman.model.game.SeededRandom;
 
 /**
  * Directions in the order UP, RIGHT, DOWN, LEFT.
@@ -25,14 +24,14 @@ public enum Direction {
 		return Arrays.stream(values());
 	}
 
-	public static Stream<Direction> dirsShuffled() {
+	public static Stream<Direction> dirsShuffled(SeededRandom rnd) {
 		List<Direction> dirs = Arrays.asList(Direction.values());
-		Collections.shuffle(dirs);
+		rnd.shuffle(dirs);
 		return dirs.stream();
 	}
 
-	public static Direction random() {
-		return values()[new Random().nextInt(4)];
+	public static Direction random(SeededRandom rnd) {
+		return values()[rnd.nextInt(4)];
 	}
 
 	private final Vector2f vector;
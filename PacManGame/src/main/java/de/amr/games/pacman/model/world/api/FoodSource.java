@@ -27,6 +27,12 @@ public interface FoodSource {
 
 	boolean hasEatenFood(Tile location);
 
+	/**
+	 * @return a number which changes whenever food is removed or restored. Renderers caching the food
+	 *         only have to look at the food tiles again when this number has changed.
+	 */
+	long foodVersion();
+
 	Optional<TemporaryFood> temporaryFood();
 
 	void showTemporaryFood(TemporaryFood food);
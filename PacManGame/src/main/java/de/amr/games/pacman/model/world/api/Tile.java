@@ -1,6 +1,5 @@
 package de.amr.games.pacman.model.world.api;
 
-import java.util.Objects;
 import java.util.Optional;
 
 import de.amr.easy.game.math.Vector2f;
@@ -46,10 +45,10 @@ public final class Tile {
 		return new Tile(col, row);
 	}
 
-	/** Tile column index. Left to right, zero based. */
+	/** Tile column index. Left to right, zero based. Worlds can have up to {@link Short#MAX_VALUE} columns. */
 	public final short col;
 
-	/** Tile row index. Top to bottom, zero based. */
+	/** Tile row index. Top to bottom, zero based. Worlds can have up to {@link Short#MAX_VALUE} rows. */
 	public final short row;
 
 	/**
@@ -146,7 +145,8 @@ public final class Tile {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(col, row);
+		// unique for all tiles, does not allocate
+		return (col << 16) ^ (row & 0xffff);
 	}
 
 	@Override
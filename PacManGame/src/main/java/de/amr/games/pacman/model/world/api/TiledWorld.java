@@ -17,6 +17,12 @@ import de.amr.games.pacman.model.world.components.Portal;
  */
 public interface TiledWorld extends RectangularTiledArea, FoodSource {
 
+	/**
+	 * @return a new world with the same structure as this world, in its initial state and without
+	 *         any creatures
+	 */
+	TiledWorld freshCopy();
+
 	/**
 	 * @param tile reference tile
 	 * @param dir  some direction
@@ -79,6 +79,7 @@ public class ArcadeWorld extends AbstractTiledWorld {
 	private final BitSet intersections;
 	private final BitSet food;
 	private final BitSet eaten;
+	private long foodVersion;
 	private int foodCount;
 
 	public ArcadeWorld() {
@@ -143,6 +144,11 @@ public class ArcadeWorld extends AbstractTiledWorld {
 		//@formatter:on
 	}
 
+	@Override
+	public ArcadeWorld freshCopy() {
+		return new ArcadeWorld();
+	}
+
 	private int bitIndex(int row, int col) {
 		return row * width() + col;
 	}
@@ -203,15 +209,25 @@ public class ArcadeWorld extends AbstractTiledWorld {
 	@Override
 	public void restoreFood() {
 		eaten.clear();
+		++foodVersion;
 	}
 
 	@Override
 	public void removeFood(Tile tile) {
 		if (insideWorld(tile)) {
-			eaten.set(bitIndex(tile.row, tile.col), true);
+			int i = bitIndex(tile.row, tile.col);
+			if (food.get(i) && !eaten.get(i)) {
+				eaten.set(i);
+				++foodVersion;
+			}
 		}
 	}
 
+	@Override
+	public long foodVersion() {
+		return foodVersion;
+	}
+
 	@Override
 	public boolean hasFood(Tile tile) {
 		if (insideWorld(tile)) {
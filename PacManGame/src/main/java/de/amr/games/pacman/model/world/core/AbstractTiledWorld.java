@@ -29,19 +29,50 @@ public abstract class AbstractTiledWorld extends TiledRectangle implements Tiled
 		super(0, 0, width, height);
 	}
 
+	/**
+	 * Computes the capes by scanning the diagonals starting at each corner until an accessible tile is
+	 * found. Inside a diagonal, tiles are visited top to bottom. Takes time linear in the number of
+	 * tiles in the worst case but usually stops after a few diagonals.
+	 */
 	private void computeCapes() {
-		capeNW = tiles().filter(this::isAccessible).min(this::distFromCornerNW).get();
-		capeNE = tiles().filter(this::isAccessible).min(this::distFromCornerNE).get();
-		capeSE = tiles().filter(this::isAccessible).max(this::distFromCornerNW).get();
-		capeSW = tiles().filter(this::isAccessible).max(this::distFromCornerNE).get();
+		int w = width(), h = height();
+		for (int sum = 0; capeNW == null && sum <= w + h - 2; ++sum) {
+			capeNW = firstAccessibleWithSum(sum);
+		}
+		for (int sum = w + h - 2; capeSE == null && sum >= 0; --sum) {
+			capeSE = firstAccessibleWithSum(sum);
+		}
+		for (int diff = 1; capeNE == null && diff <= w + h - 1; ++diff) {
+			capeNE = firstAccessibleWithDiff(diff);
+		}
+		for (int diff = w + h - 1; capeSW == null && diff >= 1; --diff) {
+			capeSW = firstAccessibleWithDiff(diff);
+		}
+		if (capeNW == null) {
+			throw new IllegalStateException("World has no accessible tile");
+		}
 	}
 
-	private int distFromCornerNW(Tile t1, Tile t2) {
-		return Integer.compare(t1.col + t1.row, t2.col + t2.row);
+	// first accessible tile with col + row = sum
+	private Tile firstAccessibleWithSum(int sum) {
+		for (int row = Math.max(0, sum - width() + 1); row <= Math.min(height() - 1, sum); ++row) {
+			Tile tile = Tile.at(sum - row, row);
+			if (isAccessible(tile)) {
+				return tile;
+			}
+		}
+		return null;
 	}
 
-	private int distFromCornerNE(Tile t1, Tile t2) {
-		return Integer.compare(width() - t1.col + t1.row, width() - t2.col + t2.row);
+	// first accessible tile with width - col + row = diff
+	private Tile firstAccessibleWithDiff(int diff) {
+		for (int row = Math.max(0, diff - width()); row <= Math.min(height() - 1, diff - 1); ++row) {
+			Tile tile = Tile.at(width() + row - diff, row);
+			if (isAccessible(tile)) {
+				return tile;
+			}
+		}
+		return null;
 	}
 
 	@Override
@@ -99,21 +130,34 @@ public abstract class AbstractTiledWorld extends TiledRectangle implements Tiled
 		return Tile.at(col, row);
 	}
 
+	private boolean isResident(Entity entity) {
+		return entity instanceof TileWorldEntity && ((TileWorldEntity) entity).world == this;
+	}
+
 	@Override
 	public void include(Entity entity) {
-		outsiders.remove(entity);
+		if (isResident(entity)) {
+			((TileWorldEntity) entity).setInWorld(true);
+		} else {
+			outsiders.remove(entity);
+		}
 		entity.visible = true;
 	}
 
 	@Override
 	public void exclude(Entity entity) {
-		outsiders.add(entity);
+		if (isResident(entity)) {
+			((TileWorldEntity) entity).setInWorld(false);
+		} else {
+			outsiders.add(entity);
+		}
 		entity.visible = false;
 	}
 
 	@Override
 	public boolean contains(Entity entity) {
-		return !outsiders.contains(entity);
+		// entities living in this world carry the flag themselves, no set lookup needed
+		return isResident(entity) ? ((TileWorldEntity) entity).isInWorld() : !outsiders.contains(entity);
 	}
 
 	@Override
@@ -17,6 +17,11 @@ public class EmptyWorld extends AbstractTiledWorld {
 		super(horizontalTiles, verticalTiles);
 	}
 
+	@Override
+	public EmptyWorld freshCopy() {
+		return new EmptyWorld(width(), height());
+	}
+
 	@Override
 	public boolean isIntersection(Tile tile) {
 		return true;
@@ -80,6 +85,11 @@ public class EmptyWorld extends AbstractTiledWorld {
 		return false;
 	}
 
+	@Override
+	public long foodVersion() {
+		return 0;
+	}
+
 	@Override
 	public Optional<TemporaryFood> temporaryFood() {
 		return Optional.empty();
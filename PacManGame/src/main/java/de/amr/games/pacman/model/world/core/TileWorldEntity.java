@@ -12,11 +12,29 @@ import de.amr.games.pacman.model.world.api.TiledWorld;
 public abstract class TileWorldEntity extends Entity {
 
 	public final TiledWorld world;
+	private boolean inWorld = true;
 
 	public TileWorldEntity(TiledWorld world) {
 		this.world = world;
 	}
 
+	/**
+	 * @return if this entity is currently included in its world
+	 */
+	public boolean isInWorld() {
+		return inWorld;
+	}
+
+	/**
+	 * Called by the world when this entity gets included or excluded. Use
+	 * {@link TiledWorld#include(Entity)} and {@link TiledWorld#exclude(Entity)} to change this.
+	 * 
+	 * @param inWorld if the entity is included in its world
+	 */
+	public void setInWorld(boolean inWorld) {
+		this.inWorld = inWorld;
+	}
+
 	/**
 	 * The tile location is defined as the tile containing the center of the guy's body.
 	 * 
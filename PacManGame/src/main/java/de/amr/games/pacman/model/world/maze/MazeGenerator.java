@@ -0,0 +1,149 @@
+package de.amr.games.pacman.model.world.maze;
+
+import java.util.stream.IntStream;
+
+import de.amr.games.pacman.model.game.SeededRandom;
+
+/**
+ * Generates a random maze of cells without dead ends, as in a Pac-Man maze.
+ * <p>
+ * Each cell owns the passages to its northern and eastern neighbor. All phases work row by row in
+ * parallel, a row only writes its own cells and the phases exchange data only between phases, so
+ * the result only depends on the seed and not on the number of threads:
+ * <ol>
+ * <li>A perfect maze is created by the "Sidewinder" algorithm: each row is divided into runs of
+ * cells connected to the east, each run gets one passage to the north.
+ * <li>Each dead end chooses one of its closed walls.
+ * <li>Each cell opens its own passages if it or the neighbor has chosen this wall, plus some random
+ * passages creating additional loops.
+ * </ol>
+ * Every phase takes time linear in the number of cells.
+ *
+ * @author Armin Reichert
+ */
+class MazeGenerator {
+
+	static final byte NORTH = 1, EAST = 2;
+
+	private static final byte CHOSE_NORTH = 1, CHOSE_EAST = 2, CHOSE_SOUTH = 3, CHOSE_WEST = 4;
+
+	/** One of LOOP_RATE cells gets an additional passage. */
+	private static final int LOOP_RATE = 8;
+
+	private final int cellsX;
+	private final int cellsY;
+	private final byte[] cells;
+
+	/**
+	 * @param cellsX number of cells per row, at least 2
+	 * @param cellsY number of cells per column, at least 2
+	 * @param seed   seed of the maze
+	 */
+	MazeGenerator(int cellsX, int cellsY, long seed) {
+		if (cellsX < 2 || cellsY < 2) {
+			throw new IllegalArgumentException(String.format("Maze must have at least 2x2 cells but has %dx%d", cellsX, cellsY));
+		}
+		this.cellsX = cellsX;
+		this.cellsY = cellsY;
+		cells = new byte[cellsX * cellsY];
+		SeededRandom rnd = new SeededRandom(seed);
+		SeededRandom rndSidewinder = rnd.split("Sidewinder"), rndBraid = rnd.split("Braid"), rndLoops = rnd.split("Loops");
+		IntStream.range(0, cellsY).parallel().forEach(row -> carveRow(row, rndSidewinder.fork(row)));
+		byte[] choices = new byte[cells.length];
+		IntStream.range(0, cellsY).parallel().forEach(row -> chooseWalls(row, choices, rndBraid.fork(row)));
+		IntStream.range(0, cellsY).parallel().forEach(row -> openWalls(row, choices, rndLoops.fork(row)));
+	}
+
+	int cellsX() {
+		return cellsX;
+	}
+
+	int cellsY() {
+		return cellsY;
+	}
+
+	boolean isOpen(int col, int row, byte wall) {
+		return (cells[row * cellsX + col] & wall) != 0;
+	}
+
+	private void carveRow(int row, SeededRandom rnd) {
+		int offset = row * cellsX;
+		int runStart = 0;
+		for (int col = 0; col < cellsX; ++col) {
+			boolean lastCol = col == cellsX - 1;
+			if (row == 0) {
+				if (!lastCol) {
+					cells[offset + col] |= EAST;
+				}
+			} else if (!lastCol && rnd.nextBoolean()) {
+				cells[offset + col] |= EAST;
+			} else {
+				cells[offset + runStart + rnd.nextInt(col - runStart + 1)] |= NORTH;
+				runStart = col + 1;
+			}
+		}
+	}
+
+	private int degree(int col, int row) {
+		int i = row * cellsX + col, degree = 0;
+		if ((cells[i] & NORTH) != 0) {
+			++degree;
+		}
+		if ((cells[i] & EAST) != 0) {
+			++degree;
+		}
+		if (row < cellsY - 1 && (cells[i + cellsX] & NORTH) != 0) {
+			++degree;
+		}
+		if (col > 0 && (cells[i - 1] & EAST) != 0) {
+			++degree;
+		}
+		return degree;
+	}
+
+	private void chooseWalls(int row, byte[] choices, SeededRandom rnd) {
+		byte[] candidates = new byte[4];
+		for (int col = 0; col < cellsX; ++col) {
+			if (degree(col, row) > 1) {
+				continue;
+			}
+			int i = row * cellsX + col, n = 0;
+			if (row > 0 && (cells[i] & NORTH) == 0) {
+				candidates[n++] = CHOSE_NORTH;
+			}
+			if (col < cellsX - 1 && (cells[i] & EAST) == 0) {
+				candidates[n++] = CHOSE_EAST;
+			}
+			if (row < cellsY - 1 && (cells[i + cellsX] & NORTH) == 0) {
+				candidates[n++] = CHOSE_SOUTH;
+			}
+			if (col > 0 && (cells[i - 1] & EAST) == 0) {
+				candidates[n++] = CHOSE_WEST;
+			}
+			if (n > 0) {
+				choices[i] = candidates[rnd.nextInt(n)];
+			}
+		}
+	}
+
+	private void openWalls(int row, byte[] choices, SeededRandom rnd) {
+		for (int col = 0; col < cellsX; ++col) {
+			int i = row * cellsX + col;
+			if (row > 0 && (choices[i] == CHOSE_NORTH || choices[i - cellsX] == CHOSE_SOUTH)) {
+				cells[i] |= NORTH;
+			}
+			if (col < cellsX - 1 && (choices[i] == CHOSE_EAST || choices[i + 1] == CHOSE_WEST)) {
+				cells[i] |= EAST;
+			}
+			if (rnd.nextInt(LOOP_RATE) == 0) {
+				if (rnd.nextBoolean()) {
+					if (row > 0) {
+						cells[i] |= NORTH;
+					}
+				} else if (col < cellsX - 1) {
+					cells[i] |= EAST;
+				}
+			}
+		}
+	}
+}
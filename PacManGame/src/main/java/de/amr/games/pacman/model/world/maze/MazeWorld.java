@@ -0,0 +1,414 @@
+package de.amr.games.pacman.model.world.maze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.amr.games.pacman.model.game.SeededRandom;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Food;
+import de.amr.games.pacman.model.world.api.TemporaryFood;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.games.pacman.model.world.components.Bed;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.HouseBuilder;
+import de.amr.games.pacman.model.world.components.OneWayTile;
+import de.amr.games.pacman.model.world.components.Portal;
+import de.amr.games.pacman.model.world.core.AbstractTiledWorld;
+
+/**
+ * A world with a randomly generated maze (see {@link MazeGenerator}). The same seed and size always
+ * give the same world.
+ * <p>
+ * As in the Arcade world, the three upper and the two lower rows are reserved for the scores and
+ * the lives. The maze is divided into blocks of about {@link #HOUSE_SPACING} cells per side. Each
+ * block has a ghost house in its center and an energizer in each of its corners, and each row of
+ * blocks has one horizontal portal. House 0 is the house of the center block, Pac-Man's bed is
+ * below this house.
+ * <p>
+ * Accessibility, food, house tiles and intersections are kept in bit sets, which are computed in
+ * parallel, word by word, in time linear in the number of tiles. The world can have up to
+ * {@link Short#MAX_VALUE} tiles per side and up to {@link Integer#MAX_VALUE} tiles in total.
+ *
+ * @author Armin Reichert
+ */
+public class MazeWorld extends AbstractTiledWorld {
+
+	public static final int MIN_WIDTH = 17;
+	public static final int MIN_HEIGHT = 18;
+
+	/** Approximate distance between ghost houses (in maze cells). */
+	public static final int HOUSE_SPACING = 32;
+
+	private static final int TOP_ROWS = 3;
+	private static final int BOTTOM_ROWS = 2;
+
+	/** Width and height of the area of a house including the corridor around it. */
+	private static final int AREA_WIDTH = 10, AREA_HEIGHT = 7;
+
+	private final long seed;
+	private final MazeGenerator maze;
+	private final int mazeWidth, mazeHeight;
+
+	private final int[] areaLeft, areaTop;
+	private final int[] areaAtCol, areaAtRow;
+	private final boolean[] portalRow;
+	private final List<House> houses = new ArrayList<>();
+	private final List<Portal> portals = new ArrayList<>();
+	private final Bed pacManBed;
+	private final Tile bonusLocation;
+
+	private final BitSet accessible;
+	private final BitSet houseTiles;
+	private final BitSet intersections;
+	private final BitSet food;
+	private final BitSet energizers;
+	private final BitSet eaten;
+	private long foodVersion;
+	private final int foodCount;
+	private TemporaryFood bonus;
+
+	/**
+	 * Creates a world with a random maze.
+	 *
+	 * @param width  width in tiles, at least {@link #MIN_WIDTH}
+	 * @param height height in tiles, at least {@link #MIN_HEIGHT}
+	 * @param seed   seed of the maze
+	 */
+	public MazeWorld(int width, int height, long seed) {
+		super(width, height);
+		if (width < MIN_WIDTH || height < MIN_HEIGHT || width > Short.MAX_VALUE || height > Short.MAX_VALUE
+				|| (long) width * height > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format("Illegal maze world size %dx%d, minimum size is %dx%d",
+					width, height, MIN_WIDTH, MIN_HEIGHT));
+		}
+		this.seed = seed;
+		maze = new MazeGenerator((width - 1) / 2, (height - TOP_ROWS - BOTTOM_ROWS - 1) / 2, seed);
+		mazeWidth = 2 * maze.cellsX() + 1;
+		mazeHeight = 2 * maze.cellsY() + 1;
+
+		// blocks, each with a house in its center
+		int blocksX = Math.max(1, maze.cellsX() / HOUSE_SPACING), blocksY = Math.max(1, maze.cellsY() / HOUSE_SPACING);
+		areaLeft = new int[blocksX];
+		areaTop = new int[blocksY];
+		areaAtCol = new int[width];
+		areaAtRow = new int[height];
+		Arrays.fill(areaAtCol, -1);
+		Arrays.fill(areaAtRow, -1);
+		energizers = new BitSet(numTiles());
+		for (int bx = 0; bx < blocksX; ++bx) {
+			int firstCell = bx * maze.cellsX() / blocksX, lastCell = (bx + 1) * maze.cellsX() / blocksX - 1;
+			areaLeft[bx] = 2 * ((firstCell + lastCell + 1) / 2) - 3;
+			Arrays.fill(areaAtCol, areaLeft[bx], areaLeft[bx] + AREA_WIDTH, bx);
+			for (int by = 0; by < blocksY; ++by) {
+				int firstRowCell = by * maze.cellsY() / blocksY, lastRowCell = (by + 1) * maze.cellsY() / blocksY - 1;
+				energizers.set(cellTileIndex(firstCell, firstRowCell));
+				energizers.set(cellTileIndex(lastCell, firstRowCell));
+				energizers.set(cellTileIndex(firstCell, lastRowCell));
+				energizers.set(cellTileIndex(lastCell, lastRowCell));
+			}
+		}
+		for (int by = 0; by < blocksY; ++by) {
+			int firstCell = by * maze.cellsY() / blocksY, lastCell = (by + 1) * maze.cellsY() / blocksY - 1;
+			areaTop[by] = TOP_ROWS + 2 * ((firstCell + lastCell + 1) / 2) - 1;
+			Arrays.fill(areaAtRow, areaTop[by], areaTop[by] + AREA_HEIGHT, by);
+		}
+		int centerX = blocksX / 2, centerY = blocksY / 2;
+		houses.add(createHouse(areaLeft[centerX] + 1, areaTop[centerY] + 1));
+		for (int by = 0; by < blocksY; ++by) {
+			for (int bx = 0; bx < blocksX; ++bx) {
+				if (bx != centerX || by != centerY) {
+					houses.add(createHouse(areaLeft[bx] + 1, areaTop[by] + 1));
+				}
+			}
+		}
+		pacManBed = new Bed(areaLeft[centerX], areaTop[centerY] + AREA_HEIGHT - 1, Direction.RIGHT);
+		bonusLocation = Tile.at(areaLeft[centerX] + 4, areaTop[centerY] + AREA_HEIGHT - 1);
+
+		// one portal in each row of blocks
+		portalRow = new boolean[height];
+		SeededRandom rnd = new SeededRandom(seed).split("Portals");
+		for (int by = 0; by < blocksY; ++by) {
+			int firstCell = by * maze.cellsY() / blocksY, lastCell = (by + 1) * maze.cellsY() / blocksY - 1;
+			int row = TOP_ROWS + 2 * (firstCell + rnd.nextInt(lastCell - firstCell + 1)) + 1;
+			portalRow[row] = true;
+			portals.add(new Portal(Tile.at(0, row), Tile.at(width - 1, row), false));
+		}
+
+		accessible = parallelBits(this::computeAccessible);
+		houseTiles = parallelBits(this::computeHouseTile);
+		food = parallelBits(i -> accessible.get(i) && !inHouseArea(i % width, i / width) && !isPortalRowEdge(i));
+		intersections = parallelBits(this::computeIntersection);
+		foodCount = food.cardinality();
+		eaten = new BitSet(numTiles());
+	}
+
+	private House createHouse(int col, int row) {
+		//@formatter:off
+		return new HouseBuilder()
+			.layout(col, row, 8, 5)
+			.door(Direction.DOWN, col + 3, row, 2, 1)
+			.bed(col + 3, row - 1, Direction.LEFT)
+			.bed(col + 1, row + 2, Direction.UP)
+			.bed(col + 3, row + 2, Direction.DOWN)
+			.bed(col + 5, row + 2, Direction.UP)
+			.build();
+		//@formatter:on
+	}
+
+	/**
+	 * Computes a bit set of all tiles in parallel. Each task computes one word of the bit set, so no
+	 * two tasks write the same memory.
+	 */
+	private BitSet parallelBits(IntPredicate predicate) {
+		int n = numTiles();
+		long[] words = new long[(n + 63) / 64];
+		IntStream.range(0, words.length).parallel().forEach(w -> {
+			long word = 0;
+			for (int b = 0, i = w * 64; b < 64 && i < n; ++b, ++i) {
+				if (predicate.test(i)) {
+					word |= 1L << b;
+				}
+			}
+			words[w] = word;
+		});
+		return BitSet.valueOf(words);
+	}
+
+	private int cellTileIndex(int cellX, int cellY) {
+		return index(2 * cellX + 1, TOP_ROWS + 2 * cellY + 1);
+	}
+
+	private int index(int col, int row) {
+		return row * width() + col;
+	}
+
+	private boolean insideWorld(Tile tile) {
+		return 0 <= tile.col && tile.col < width() && 0 <= tile.row && tile.row < height();
+	}
+
+	private boolean inHouseArea(int col, int row) {
+		return areaAtCol[col] != -1 && areaAtRow[row] != -1;
+	}
+
+	private boolean isPortalRowEdge(int i) {
+		int col = i % width(), row = i / width();
+		return portalRow[row] && (col == 0 || col >= mazeWidth - 1);
+	}
+
+	private boolean computeAccessible(int i) {
+		int col = i % width(), row = i / width();
+		if (isPortalRowEdge(i)) {
+			return true;
+		}
+		if (inHouseArea(col, row)) {
+			int dx = col - areaLeft[areaAtCol[col]], dy = row - areaTop[areaAtRow[row]];
+			if (dx == 0 || dx == AREA_WIDTH - 1 || dy == 0 || dy == AREA_HEIGHT - 1) {
+				return true; // corridor around the house
+			}
+			int houseX = dx - 1, houseY = dy - 1;
+			if (houseY == 0) {
+				return houseX == 3 || houseX == 4; // door
+			}
+			return houseY < 4 && 1 <= houseX && houseX <= 6;
+		}
+		int x = col, y = row - TOP_ROWS;
+		if (x >= mazeWidth || y < 0 || y >= mazeHeight) {
+			return false;
+		}
+		boolean oddX = x % 2 == 1, oddY = y % 2 == 1;
+		if (oddX && oddY) {
+			return true;
+		}
+		if (oddY && x > 0 && x < mazeWidth - 1) {
+			return maze.isOpen(x / 2 - 1, y / 2, MazeGenerator.EAST);
+		}
+		if (oddX && y > 0 && y < mazeHeight - 1) {
+			return maze.isOpen(x / 2, y / 2, MazeGenerator.NORTH);
+		}
+		return false;
+	}
+
+	private boolean computeHouseTile(int i) {
+		int col = i % width(), row = i / width();
+		if (inHouseArea(col, row)) {
+			int dx = col - areaLeft[areaAtCol[col]], dy = row - areaTop[areaAtRow[row]];
+			return 0 < dx && dx < AREA_WIDTH - 1 && 0 < dy && dy < AREA_HEIGHT - 1;
+		}
+		return false;
+	}
+
+	private boolean isOpenOutsideHouse(int col, int row) {
+		if (col < 0 || col >= width() || row < 0 || row >= height()) {
+			return false;
+		}
+		int i = index(col, row);
+		return accessible.get(i) && !houseTiles.get(i);
+	}
+
+	private boolean computeIntersection(int i) {
+		int col = i % width(), row = i / width();
+		if (!accessible.get(i) || houseTiles.get(i)) {
+			return false;
+		}
+		int count = 0;
+		if (isOpenOutsideHouse(col, row - 1)) {
+			++count;
+		}
+		if (isOpenOutsideHouse(col + 1, row)) {
+			++count;
+		}
+		if (isOpenOutsideHouse(col, row + 1)) {
+			++count;
+		}
+		if (isOpenOutsideHouse(col - 1, row)) {
+			++count;
+		}
+		return count > 2;
+	}
+
+	public long seed() {
+		return seed;
+	}
+
+	@Override
+	public MazeWorld freshCopy() {
+		// the maze only depends on the size and the seed
+		return new MazeWorld(width(), height(), seed);
+	}
+
+	/**
+	 * @return location where bonus food appears
+	 */
+	public Tile bonusLocation() {
+		return bonusLocation;
+	}
+
+	@Override
+	public boolean isAccessible(Tile tile) {
+		return insideWorld(tile) && accessible.get(index(tile.col, tile.row));
+	}
+
+	@Override
+	public boolean isIntersection(Tile tile) {
+		return insideWorld(tile) && intersections.get(index(tile.col, tile.row));
+	}
+
+	@Override
+	public boolean isTunnel(Tile tile) {
+		return isPortal(tile);
+	}
+
+	@Override
+	public boolean isPortal(Tile tile) {
+		return insideWorld(tile) && portalRow[tile.row] && (tile.col == 0 || tile.col == width() - 1);
+	}
+
+	@Override
+	public int totalFoodCount() {
+		return foodCount;
+	}
+
+	@Override
+	public Stream<House> houses() {
+		return houses.stream();
+	}
+
+	@Override
+	public Optional<House> house(int i) {
+		return 0 <= i && i < houses.size() ? Optional.of(houses.get(i)) : Optional.empty();
+	}
+
+	@Override
+	public Bed pacManBed() {
+		return pacManBed;
+	}
+
+	@Override
+	public Stream<Portal> portals() {
+		return portals.stream();
+	}
+
+	@Override
+	public Stream<OneWayTile> oneWayTiles() {
+		return Stream.empty();
+	}
+
+	@Override
+	public boolean isOneWay(Tile tile, Direction dir) {
+		return false;
+	}
+
+	@Override
+	public void restoreFood() {
+		eaten.clear();
+		++foodVersion;
+	}
+
+	@Override
+	public void removeFood(Tile tile) {
+		if (insideWorld(tile)) {
+			int i = index(tile.col, tile.row);
+			if (food.get(i) && !eaten.get(i)) {
+				eaten.set(i);
+				++foodVersion;
+			}
+		}
+	}
+
+	@Override
+	public long foodVersion() {
+		return foodVersion;
+	}
+
+	@Override
+	public boolean hasFood(Tile tile) {
+		if (insideWorld(tile)) {
+			int i = index(tile.col, tile.row);
+			return food.get(i) && !eaten.get(i);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean hasEatenFood(Tile tile) {
+		if (insideWorld(tile)) {
+			int i = index(tile.col, tile.row);
+			return food.get(i) && eaten.get(i);
+		}
+		return false;
+	}
+
+	@Override
+	public void showTemporaryFood(TemporaryFood food) {
+		bonus = food;
+		bonus.activate();
+	}
+
+	@Override
+	public void hideTemporaryFood() {
+		bonus = null;
+	}
+
+	@Override
+	public Optional<TemporaryFood> temporaryFood() {
+		return Optional.ofNullable(bonus);
+	}
+
+	@Override
+	public Optional<Food> foodAt(Tile location) {
+		if (bonus != null && bonus.location().equals(location)) {
+			return Optional.of(bonus);
+		}
+		if (hasFood(location)) {
+			return Optional.of(energizers.get(index(location.col, location.row)) ? ArcadeFood.ENERGIZER : ArcadeFood.PELLET);
+		}
+		return Optional.empty();
+	}
+}
@@ -0,0 +1,15 @@
+package de.amr.games.pacman.theme.api;
+
+import de.amr.games.pacman.view.common.Framebuffer;
+import de.amr.games.pacman.view.play.PlayView;
+
+/**
+ * Renders the complete content of the play view (world, messages, folks and counters) into a
+ * framebuffer of the world size.
+ *
+ * @author Armin Reichert
+ */
+public interface FramebufferRenderer {
+
+	void render(Framebuffer fb, PlayView view);
+}
@@ -3,6 +3,7 @@ package de.amr.games.pacman.theme.api;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Image;
+import java.util.Optional;
 
 import de.amr.games.pacman.view.api.PacManGameSounds;
 
@@ -41,5 +42,19 @@ public interface Theme {
 
 	MessagesRenderer messagesRenderer();
 
+	/**
+	 * @return renderer drawing the play view into a framebuffer, if the theme supports this
+	 */
+	default Optional<FramebufferRenderer> framebufferRenderer() {
+		return Optional.empty();
+	}
+
 	PacManGameSounds sounds();
+
+	/**
+	 * Builds the caches shared by all renderers of this theme, e.g. scaled sprite frames. Called by
+	 * the renderer preloader in a background thread.
+	 */
+	default void warmUp() {
+	}
 }
\ No newline at end of file
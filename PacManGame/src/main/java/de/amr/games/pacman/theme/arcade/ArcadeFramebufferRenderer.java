@@ -0,0 +1,318 @@
+package de.amr.games.pacman.theme.arcade;
+
+import static de.amr.games.pacman.controller.creatures.ghost.GhostState.DEAD;
+import static de.amr.games.pacman.controller.creatures.ghost.GhostState.ENTERING_HOUSE;
+import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTENED;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
+import static de.amr.games.pacman.theme.arcade.ArcadeSpritesheet.DIRECTIONS;
+import static de.amr.games.pacman.theme.arcade.ArcadeSpritesheet.NUMBERS;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.amr.games.pacman.controller.creatures.Guy;
+import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.games.pacman.model.world.components.Door.DoorState;
+import de.amr.games.pacman.theme.api.FramebufferRenderer;
+import de.amr.games.pacman.view.common.Framebuffer;
+import de.amr.games.pacman.view.common.Message;
+import de.amr.games.pacman.view.common.PixelFont;
+import de.amr.games.pacman.view.common.PixelSprite;
+import de.amr.games.pacman.view.play.PlayView;
+
+/**
+ * Renders the Arcade play view into a framebuffer of the native resolution (224x288).
+ * <p>
+ * All sprites are decoded into pixel arrays when the renderer is created, the text is drawn from
+ * the rasterized theme font. The maze including the food is kept as pixel array which is only
+ * patched when the food of the world has changed. The animations advance with the ticks of the
+ * simulation clock, so the output only depends on the game state and the clock, not on the number
+ * of rendered frames.
+ *
+ * @author Armin Reichert
+ */
+class ArcadeFramebufferRenderer implements FramebufferRenderer {
+
+	private static final int MAZE_TOP = 3 * Tile.SIZE;
+	private static final int SPRITE_SIZE = ArcadeSpritesheet.TILE_SIZE;
+
+	private static final int BLACK = Color.BLACK.getRGB();
+	private static final int WHITE = Color.WHITE.getRGB();
+	private static final int YELLOW = Color.YELLOW.getRGB();
+	private static final int LIGHT_GRAY = Color.LIGHT_GRAY.getRGB();
+	private static final int PINK = Color.PINK.getRGB();
+
+	/** Ticks per animation frame, taken from the sprite animations at 60 frames/sec. */
+	private static final int GHOST_FRAMES = 18, FLASHING_FRAMES = 8, ENERGIZER_FRAMES = 9, COLLAPSING_FRAMES = 6,
+			MAZE_FLASH_FRAMES = 12;
+
+	private final PixelSprite fullMaze, emptyMaze, emptyWhiteMaze;
+	private final PixelSprite pacManFull, livesCounter;
+	private final PixelSprite[] pacManBlocked = new PixelSprite[4];
+	private final PixelSprite[][] pacManWalking = new PixelSprite[4][];
+	private final PixelSprite[] pacManDying;
+	private final PixelSprite[][] ghostColored = new PixelSprite[4][];
+	private final PixelSprite[] ghostEyes = new PixelSprite[4];
+	private final PixelSprite[] ghostFrightened, ghostFlashing;
+	private final PixelSprite[] numbers = new PixelSprite[NUMBERS.size()];
+	private final PixelSprite[] bonusSymbols;
+	private final PixelFont font;
+
+	private long tick; // simulation clock tick of the rendered frame
+	private long collapsingSince = -1, flashingSince = -1;
+
+	private TiledWorld cachedWorld;
+	private PixelSprite maze;
+	private Tile[] foodTiles;
+	private boolean[] eaten;
+	private long foodVersion;
+	private final List<Tile> energizerTiles = new ArrayList<>();
+
+	public ArcadeFramebufferRenderer(ArcadeSpritesheet spriteSheet) {
+		fullMaze = PixelSprite.of(spriteSheet.full_maze);
+		emptyMaze = PixelSprite.of(spriteSheet.empty_maze);
+		emptyWhiteMaze = PixelSprite.of(spriteSheet.empty_white_maze);
+		pacManFull = PixelSprite.of(spriteSheet.pacMan_full);
+		livesCounter = PixelSprite.of(spriteSheet.pacMan_lives_counter);
+		pacManDying = decode(spriteSheet.pacMan_dying);
+		// indexed by direction ordinal, the spritesheet uses its own direction order
+		for (Direction dir : Direction.values()) {
+			int index = DIRECTIONS.indexOf(dir);
+			pacManWalking[dir.ordinal()] = decode(spriteSheet.pacMan_walking[index]);
+			pacManBlocked[dir.ordinal()] = PixelSprite.of(spriteSheet.pacMan_blocked[index]);
+			ghostEyes[dir.ordinal()] = PixelSprite.of(spriteSheet.ghost_eyes[index]);
+		}
+		for (int color = 0; color < 4; ++color) {
+			ghostColored[color] = new PixelSprite[8];
+			for (Direction dir : Direction.values()) {
+				int index = DIRECTIONS.indexOf(dir);
+				ghostColored[color][2 * dir.ordinal()] = PixelSprite.of(spriteSheet.ghost_colored[color][2 * index]);
+				ghostColored[color][2 * dir.ordinal() + 1] = PixelSprite.of(spriteSheet.ghost_colored[color][2 * index + 1]);
+			}
+		}
+		ghostFrightened = decode(spriteSheet.ghost_frightened);
+		ghostFlashing = decode(spriteSheet.ghost_flashing);
+		for (int i = 0; i < numbers.length; ++i) {
+			numbers[i] = PixelSprite.of(spriteSheet.imageNumber(NUMBERS.get(i)));
+		}
+		bonusSymbols = decode(spriteSheet.bonus_symbols);
+		font = new PixelFont(ArcadeTheme.THEME.$font("font"));
+	}
+
+	private static PixelSprite[] decode(BufferedImage[] images) {
+		PixelSprite[] sprites = new PixelSprite[images.length];
+		for (int i = 0; i < images.length; ++i) {
+			sprites[i] = PixelSprite.of(images[i]);
+		}
+		return sprites;
+	}
+
+	@Override
+	public void render(Framebuffer fb, PlayView view) {
+		tick = CLOCK.getTicks();
+		fb.clear(BLACK);
+		drawWorld(fb, view.world);
+		drawMessages(fb, view);
+		view.folks.ghostsInWorld().filter(ghost -> ghost.ai.is(DEAD, ENTERING_HOUSE, FRIGHTENED))
+				.forEach(ghost -> drawGhost(fb, ghost));
+		drawPacMan(fb, view.folks.pacMan);
+		view.folks.ghostsInWorld().filter(ghost -> !ghost.ai.is(DEAD, ENTERING_HOUSE, FRIGHTENED))
+				.forEach(ghost -> drawGhost(fb, ghost));
+		if (view.isShowingScores()) {
+			drawScores(fb, view.game());
+		}
+		drawCounters(fb, view.game(), view.world);
+	}
+
+	private void drawWorld(Framebuffer fb, TiledWorld world) {
+		if (world.isChanging()) {
+			if (flashingSince == -1) {
+				flashingSince = tick;
+			}
+			int flashes = PacManGame.game.numFlashes;
+			long index = Math.min((tick - flashingSince) / MAZE_FLASH_FRAMES, 2 * flashes - 1);
+			fb.copy(flashes > 0 && index % 2 == 1 ? emptyWhiteMaze : emptyMaze, 0, MAZE_TOP);
+			return;
+		}
+		flashingSince = -1;
+		updateMaze(world);
+		fb.copy(maze, 0, MAZE_TOP);
+		// energizers blink unless the world is frozen
+		if (!world.isFrozen() && (tick / ENERGIZER_FRAMES) % 2 == 1) {
+			energizerTiles.forEach(tile -> fb.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE, BLACK));
+		}
+		// bonus as image when active or as number when consumed
+		world.temporaryFood().filter(bonus -> bonus.isActive()).ifPresent(bonus -> {
+			PixelSprite sprite = bonus.isConsumed() ? number(bonus.value())
+					: bonusSymbols[((ArcadeBonus) bonus).symbol.ordinal()];
+			if (sprite != null) {
+				fb.blit(sprite, bonus.location().x(), bonus.location().y() - Tile.SIZE / 2);
+			}
+		});
+		world.house(0).get().doors().filter(door -> door.state == DoorState.OPEN)
+				.forEach(door -> door.tiles().forEach(tile -> fb.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE, BLACK)));
+	}
+
+	private void updateMaze(TiledWorld world) {
+		if (world != cachedWorld || maze == null) {
+			cachedWorld = world;
+			maze = new PixelSprite(fullMaze.width, fullMaze.height, fullMaze.pixels.clone());
+			foodTiles = world.tiles().filter(tile -> world.hasFood(tile) || world.hasEatenFood(tile)).toArray(Tile[]::new);
+			eaten = new boolean[foodTiles.length];
+			foodVersion = world.foodVersion() - 1;
+		}
+		if (foodVersion == world.foodVersion()) {
+			return;
+		}
+		foodVersion = world.foodVersion();
+		energizerTiles.clear();
+		for (int i = 0; i < foodTiles.length; ++i) {
+			Tile tile = foodTiles[i];
+			boolean eatenNow = world.hasEatenFood(tile);
+			if (eatenNow != eaten[i]) {
+				int x = tile.x(), y = tile.y() - MAZE_TOP;
+				for (int row = y; row < y + Tile.SIZE; ++row) {
+					int offset = row * maze.width + x;
+					for (int col = 0; col < Tile.SIZE; ++col) {
+						maze.pixels[offset + col] = eatenNow ? BLACK : fullMaze.pixels[offset + col];
+					}
+				}
+				eaten[i] = eatenNow;
+			}
+			if (world.hasFood(ArcadeFood.ENERGIZER, tile)) {
+				energizerTiles.add(tile);
+			}
+		}
+	}
+
+	private PixelSprite number(int value) {
+		int index = NUMBERS.indexOf(value);
+		return index != -1 ? numbers[index] : null;
+	}
+
+	private void drawMessages(Framebuffer fb, PlayView view) {
+		int width = view.world.width() * Tile.SIZE;
+		for (Message message : view.messagesView.messages) {
+			if (message.text != null) {
+				font.draw(fb, message.text, (width - font.stringWidth(message.text)) / 2, message.row * Tile.SIZE,
+						message.color.getRGB());
+			}
+		}
+	}
+
+	private void drawPacMan(Framebuffer fb, PacMan pacMan) {
+		PacManState state = pacMan.ai.getState();
+		if (state != PacManState.COLLAPSING) {
+			collapsingSince = -1;
+		}
+		if (!pacMan.visible) {
+			return;
+		}
+		PixelSprite sprite = pacManFull;
+		if (state == PacManState.AWAKE || state == PacManState.POWERFUL) {
+			if (!pacMan.canMoveTo(pacMan.moveDir)) {
+				sprite = pacManBlocked[pacMan.moveDir.ordinal()];
+			} else {
+				// forwards and backwards, one frame per tick
+				PixelSprite[] frames = pacManWalking[pacMan.moveDir.ordinal()];
+				int period = 2 * (frames.length - 1), index = (int) (tick % period);
+				sprite = frames[index < frames.length ? index : period - index];
+			}
+		} else if (state == PacManState.COLLAPSING) {
+			if (collapsingSince == -1) {
+				collapsingSince = tick;
+			}
+			int index = (int) ((tick - collapsingSince) / COLLAPSING_FRAMES);
+			sprite = pacManDying[Math.min(index, pacManDying.length - 1)];
+		}
+		drawGuy(fb, pacMan, sprite);
+	}
+
+	private void drawGhost(Framebuffer fb, Ghost ghost) {
+		if (!ghost.visible) {
+			return;
+		}
+		GhostState state = ghost.ai.getState();
+		int dir = ghost.moveDir.ordinal();
+		PixelSprite sprite = null;
+		if (state == null) {
+			sprite = coloredGhost(ghost, dir);
+		} else {
+			switch (state) {
+			case LOCKED:
+			case LEAVING_HOUSE:
+			case CHASING:
+			case SCATTERING:
+				sprite = coloredGhost(ghost, dir);
+				break;
+			case ENTERING_HOUSE:
+				sprite = ghostEyes[dir];
+				break;
+			case FRIGHTENED:
+				sprite = ghost.recovering ? ghostFlashing[(int) (tick / FLASHING_FRAMES) % ghostFlashing.length]
+						: ghostFrightened[(int) (tick / GHOST_FRAMES) % ghostFrightened.length];
+				break;
+			case DEAD:
+				sprite = ghost.bounty == 0 ? ghostEyes[dir] : number(ghost.bounty);
+				break;
+			default:
+				break;
+			}
+		}
+		if (sprite != null) {
+			drawGuy(fb, ghost, sprite);
+		}
+	}
+
+	private PixelSprite coloredGhost(Ghost ghost, int dir) {
+		int color = ArcadeTheme.THEME.color(ghost.personality).ordinal();
+		return ghostColored[color][2 * dir + (int) (tick / GHOST_FRAMES) % 2];
+	}
+
+	private void drawGuy(Framebuffer fb, Guy<?> guy, PixelSprite sprite) {
+		float x = guy.renderX() - (SPRITE_SIZE - guy.tf.width) / 2, y = guy.renderY() - (SPRITE_SIZE - guy.tf.height) / 2;
+		fb.blit(sprite, Math.round(x), Math.round(y));
+	}
+
+	private void drawScores(Framebuffer fb, PacManGame game) {
+		// same layout as the default game score renderer
+		int labels = 1 + Tile.SIZE, values = labels + 2 + Tile.SIZE;
+		font.draw(fb, "SCORE", Tile.SIZE, labels, YELLOW);
+		font.draw(fb, String.format("%7d", game.score), Tile.SIZE, values, WHITE);
+		font.draw(fb, "HIGH SCORE", 9 * Tile.SIZE, labels, YELLOW);
+		font.draw(fb, String.format("%7d", game.hiscore.points), 9 * Tile.SIZE, values, WHITE);
+		font.draw(fb, String.format("L%02d", game.hiscore.level), 16 * Tile.SIZE, values, LIGHT_GRAY);
+		font.draw(fb, "LEVEL", 21 * Tile.SIZE, labels, YELLOW);
+		font.draw(fb, String.format("%02d", game.level), 21 * Tile.SIZE, values, WHITE);
+		// pellet dot
+		int dotX = 24 * Tile.SIZE - 5, dotY = labels + 3;
+		fb.fillRect(dotX + 1, dotY, 2, 4, PINK);
+		fb.fillRect(dotX, dotY + 1, 4, 2, PINK);
+		font.draw(fb, String.format("%03d", game.remainingFoodCount()), 24 * Tile.SIZE, values, WHITE);
+	}
+
+	private void drawCounters(Framebuffer fb, PacManGame game, TiledWorld world) {
+		int y = (world.height() - 2) * Tile.SIZE;
+		for (int i = 0, x = 2 * Tile.SIZE; i < game.lives; ++i, x += 2 * Tile.SIZE) {
+			fb.blit(livesCounter, x, y);
+		}
+		int max = 7;
+		int first = Math.max(0, game.levelCounter.size() - max);
+		int n = Math.min(max, game.levelCounter.size());
+		for (int i = 0, x = world.width() * Tile.SIZE - 2 * SPRITE_SIZE; i < n; ++i, x -= SPRITE_SIZE) {
+			ArcadeBonus.Symbol symbol = ArcadeBonus.Symbol.valueOf(game.levelCounter.get(first + i));
+			fb.blit(bonusSymbols[symbol.ordinal()], x, y);
+		}
+	}
+}
@@ -1,64 +1,70 @@
 package de.amr.games.pacman.theme.arcade;
 
-import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
-import static de.amr.games.pacman.controller.creatures.ghost.GhostState.DEAD;
-import static de.amr.games.pacman.controller.creatures.ghost.GhostState.ENTERING_HOUSE;
-import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTENED;
-import static de.amr.games.pacman.controller.creatures.ghost.GhostState.LEAVING_HOUSE;
-import static de.amr.games.pacman.controller.creatures.ghost.GhostState.LOCKED;
-import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
 import static de.amr.games.pacman.theme.arcade.ArcadeTheme.THEME;
 
 import java.awt.Graphics2D;
-import java.util.Optional;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import de.amr.easy.game.ui.sprites.Sprite;
-import de.amr.easy.game.ui.sprites.SpriteMap;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostState;
-import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.theme.api.GhostRenderer;
-import de.amr.games.pacman.theme.arcade.ArcadeSpritesheet.GhostColor;
 
 /**
  * Renders a ghost using animated sprites.
+ * <p>
+ * The renderer keeps the animation state of each ghost it draws, the sprite frames are shared by
+ * all ghosts of a color (see {@link GhostSprites}). A renderer is only used by one thread.
  * 
  * @author Armin Reichert
  */
 class ArcadeGhostRenderer implements GhostRenderer {
 
+	private final Map<Ghost, GhostSprites> spritesByGhost = new WeakHashMap<>();
+
+	private GhostSprites sprites(Ghost ghost) {
+		GhostSprites sprites = spritesByGhost.get(ghost);
+		if (sprites == null) {
+			sprites = new GhostSprites(THEME.ghostFrames(THEME.color(ghost.personality)));
+			spritesByGhost.put(ghost, sprites);
+		}
+		return sprites;
+	}
+
 	@Override
 	public void render(Graphics2D g, Ghost ghost) {
 		if (ghost.visible) {
-			selectSprite(ghost).ifPresent(sprite -> {
-				int spriteWidth = 2 * ghost.tf.width, spriteHeight = 2 * ghost.tf.height;
-				if (spriteWidth != sprite.getWidth() || spriteHeight != sprite.getHeight()) {
-					sprite.scale(spriteWidth, spriteHeight);
-				}
-				int width = ghost.tf.width, height = ghost.tf.height;
-				float x = ghost.tf.x - (sprite.getWidth() - width) / 2, y = ghost.tf.y - (sprite.getHeight() - height) / 2;
+			Sprite sprite = selectSprite(ghost);
+			if (sprite != null) {
+				float x = ghost.renderX() - (GhostSprites.SIZE - ghost.tf.width) / 2,
+						y = ghost.renderY() - (GhostSprites.SIZE - ghost.tf.height) / 2;
 				sprite.draw(g, x, y);
-			});
+			}
 		}
 	}
 
-	private Optional<Sprite> selectSprite(Ghost ghost) {
-		SpriteMap spriteMap = THEME.getSpriteMap(ghost);
+	private Sprite selectSprite(Ghost ghost) {
+		GhostSprites sprites = sprites(ghost);
 		GhostState state = ghost.ai.getState();
-		Direction dir = ghost.moveDir;
-		GhostColor color = THEME.color(ghost.personality);
+		int dir = ghost.moveDir.ordinal();
 		if (state == null) {
-			return spriteMap.select(THEME.ghostSpriteKeyColor(color, dir));
-		} else if (ghost.ai.is(LOCKED, LEAVING_HOUSE, CHASING, SCATTERING)) {
-			return spriteMap.select(THEME.ghostSpriteKeyColor(color, dir));
-		} else if (ghost.ai.is(ENTERING_HOUSE)) {
-			return spriteMap.select(THEME.ghostSpriteKeyEyes(dir));
-		} else if (ghost.ai.is(FRIGHTENED)) {
-			return spriteMap.select(ghost.recovering ? "flashing" : "frightened");
-		} else if (ghost.ai.is(DEAD)) {
-			return spriteMap
-					.select(ghost.bounty == 0 ? THEME.ghostSpriteKeyEyes(dir) : THEME.ghostSpriteKeyPoints(ghost.bounty));
+			return sprites.colored[dir];
+		}
+		switch (state) {
+		case LOCKED:
+		case LEAVING_HOUSE:
+		case CHASING:
+		case SCATTERING:
+			return sprites.colored[dir];
+		case ENTERING_HOUSE:
+			return sprites.eyes(dir);
+		case FRIGHTENED:
+			return ghost.recovering ? sprites.flashing : sprites.frightened;
+		case DEAD:
+			return ghost.bounty == 0 ? sprites.eyes(dir) : sprites.points(ghost.bounty);
+		default:
+			return null;
 		}
-		return Optional.empty();
 	}
 }
\ No newline at end of file
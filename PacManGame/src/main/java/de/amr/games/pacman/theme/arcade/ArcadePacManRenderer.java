@@ -1,60 +1,69 @@
 package de.amr.games.pacman.theme.arcade;
 
-import static de.amr.games.pacman.controller.creatures.pacman.PacManState.AWAKE;
-import static de.amr.games.pacman.controller.creatures.pacman.PacManState.DEAD;
-import static de.amr.games.pacman.controller.creatures.pacman.PacManState.IN_BED;
-import static de.amr.games.pacman.controller.creatures.pacman.PacManState.POWERFUL;
-import static de.amr.games.pacman.controller.creatures.pacman.PacManState.SLEEPING;
-
 import java.awt.Graphics2D;
-import java.util.Optional;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import de.amr.easy.game.ui.sprites.Sprite;
-import de.amr.easy.game.ui.sprites.SpriteMap;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.controller.creatures.pacman.PacManState;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 
 /**
  * Renders Pac-Man using animated sprites.
+ * <p>
+ * The renderer keeps the animation state of each Pac-Man it draws, the sprite frames are shared
+ * (see {@link PacManSprites}). A renderer is only used by one thread.
  * 
  * @author Armin Reichert
  */
 class ArcadePacManRenderer implements PacManRenderer {
 
+	private final Map<PacMan, PacManSprites> spritesByPacMan = new WeakHashMap<>();
+
+	private PacManSprites sprites(PacMan pacMan) {
+		PacManSprites sprites = spritesByPacMan.get(pacMan);
+		if (sprites == null) {
+			sprites = new PacManSprites(ArcadeTheme.THEME.pacManFrames());
+			spritesByPacMan.put(pacMan, sprites);
+		}
+		return sprites;
+	}
+
 	@Override
 	public void resetAnimations(PacMan pacMan) {
-		SpriteMap spriteMap = ArcadeTheme.THEME.getSpriteMap(pacMan);
-		spriteMap.forEach(sprite -> sprite.resetAnimation());
+		sprites(pacMan).animated().forEach(Sprite::resetAnimation);
 	}
 
 	@Override
 	public void render(Graphics2D g, PacMan pacMan) {
 		if (pacMan.visible) {
-			selectSprite(pacMan).ifPresent(sprite -> {
-				int spriteWidth = 2 * pacMan.tf.width, spriteHeight = 2 * pacMan.tf.height;
-				if (spriteWidth != sprite.getWidth() || spriteHeight != sprite.getHeight()) {
-					sprite.scale(spriteWidth, spriteHeight);
-				}
-				int width = pacMan.tf.width, height = pacMan.tf.height;
-				float x = pacMan.tf.x - (sprite.getWidth() - width) / 2, y = pacMan.tf.y - (sprite.getHeight() - height) / 2;
-				sprite.draw(g, x, y);
-			});
+			Sprite sprite = selectSprite(pacMan);
+			float x = pacMan.renderX() - (PacManSprites.SIZE - pacMan.tf.width) / 2,
+					y = pacMan.renderY() - (PacManSprites.SIZE - pacMan.tf.height) / 2;
+			sprite.draw(g, x, y);
 		}
 	}
 
-	private Optional<Sprite> selectSprite(PacMan pacMan) {
-		SpriteMap spriteMap = ArcadeTheme.THEME.getSpriteMap(pacMan);
-		if (pacMan.ai.getState() == null || pacMan.ai.is(IN_BED, SLEEPING)) {
-			return spriteMap.select("full");
-		} else if (pacMan.ai.is(AWAKE, POWERFUL)) {
+	private Sprite selectSprite(PacMan pacMan) {
+		PacManSprites sprites = sprites(pacMan);
+		PacManState state = pacMan.ai.getState();
+		if (state == null) {
+			return sprites.full;
+		}
+		switch (state) {
+		case IN_BED:
+		case SLEEPING:
+		case DEAD:
+			return sprites.full;
+		case AWAKE:
+		case POWERFUL:
 			boolean blocked = !pacMan.canMoveTo(pacMan.moveDir);
-			return spriteMap.select((blocked ? "blocked-" : "walking-") + pacMan.moveDir);
-		} else if (pacMan.ai.is(DEAD)) {
-			return spriteMap.select("full");
-		} else if (pacMan.ai.is(PacManState.COLLAPSING)) {
-			return spriteMap.select("collapsing");
+			return blocked ? sprites.blocked[pacMan.moveDir.ordinal()] : sprites.walking[pacMan.moveDir.ordinal()];
+		case COLLAPSING:
+			return sprites.collapsing;
+		default:
+			throw new IllegalStateException();
 		}
-		throw new IllegalStateException();
 	}
 }
\ No newline at end of file
@@ -5,12 +5,15 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
-import de.amr.easy.game.assets.Assets;
-import de.amr.easy.game.assets.SoundClip;
 import de.amr.games.pacman.view.api.PacManGameSounds;
+import de.amr.games.pacman.view.api.Sound;
+import de.amr.games.pacman.view.sound.SoundMixer;
 
 /**
  * Clips and music.
+ * <p>
+ * All sounds are decoded when loaded and played by a software mixer (see {@link SoundMixer}), the
+ * clips when this class is initialized, the music in the background when requested.
  * 
  * @author Armin Reichert
  */
@@ -18,61 +21,71 @@ public class ArcadeSounds implements PacManGameSounds {
 
 	public static final ArcadeSounds SOUNDS = new ArcadeSounds();
 
-	private static SoundClip mp3(String name) {
-		return Assets.sound("themes/arcade/sounds/" + name + ".mp3");
-	}
+	private final SoundMixer mixer = new SoundMixer();
+	private final Sound clipCrunching = mp3("eating");
+	private final Sound clipEatFruit = mp3("eat-fruit");
+	private final Sound clipEatGhost = mp3("eat-ghost");
+	private final Sound clipExtraLife = mp3("extra-life");
+	private final Sound clipGhostChase = mp3("ghost-chase");
+	private final Sound clipGhostDead = mp3("ghost-dead");
+	private final Sound clipInsertCoin = mp3("insert-coin");
+	private final Sound clipPacManDies = mp3("die");
+	private final Sound clipWaza = mp3("waza");
+	private volatile Sound musicGameReady, musicGameRunning, musicGameOver;
 
-	private SoundClip musicGameReady, musicGameRunning, musicGameOver;
+	private Sound mp3(String name) {
+		return mixer.load("themes/arcade/sounds/" + name + ".mp3");
+	}
 
 	@Override
-	public Stream<SoundClip> clips() {
+	public Stream<Sound> clips() {
 		return Stream.of(clipCrunching(), clipEatFruit(), clipEatGhost(), clipExtraLife(), clipGhostChase(),
 				clipGhostDead(), clipInsertCoin(), clipPacManDies(), clipWaza());
 	}
 
 	@Override
-	public SoundClip clipEatFruit() {
-		return mp3("eat-fruit");
+	public Sound clipEatFruit() {
+		return clipEatFruit;
 	}
 
 	@Override
-	public SoundClip clipEatGhost() {
-		return mp3("eat-ghost");
+	public Sound clipEatGhost() {
+		return clipEatGhost;
 	}
 
 	@Override
-	public SoundClip clipCrunching() {
-		return mp3("eating");
+	public Sound clipCrunching() {
+		return clipCrunching;
 	}
 
 	@Override
-	public SoundClip clipExtraLife() {
-		return mp3("extra-life");
+	public Sound clipExtraLife() {
+		return clipExtraLife;
 	}
 
 	@Override
-	public SoundClip clipGhostChase() {
-		return mp3("ghost-chase");
+	public Sound clipGhostChase() {
+		return clipGhostChase;
 	}
 
 	@Override
-	public SoundClip clipGhostDead() {
-		return mp3("ghost-dead");
+	public Sound clipGhostDead() {
+		return clipGhostDead;
 	}
 
 	@Override
-	public SoundClip clipInsertCoin() {
-		return mp3("insert-coin");
+	public Sound clipInsertCoin() {
+		return clipInsertCoin;
 	}
 
 	@Override
-	public SoundClip clipPacManDies() {
-		return mp3("die");
+	public Sound clipPacManDies() {
+		return clipPacManDies;
 	}
 
 	@Override
-	public SoundClip clipWaza() {
-		return mp3("waza");
+	public Sound clipWaza() {
+		return clipWaza;
 	}
 
 	@Override
@@ -81,8 +94,13 @@ public class ArcadeSounds implements PacManGameSounds {
 	}
 
 	@Override
-	public void loadMusic() {
-		CompletableFuture.runAsync(() -> {
+	public void setMuted(boolean muted) {
+		mixer.setMuted(muted);
+	}
+
+	@Override
+	public CompletableFuture<Void> loadMusic() {
+		return CompletableFuture.runAsync(() -> {
 			musicGameReady = mp3("ready");
 			musicGameRunning = mp3("bgmusic");
 			musicGameOver = mp3("ending");
@@ -90,22 +108,22 @@ public class ArcadeSounds implements PacManGameSounds {
 	}
 
 	@Override
-	public Stream<SoundClip> loadedMusic() {
+	public Stream<Sound> loadedMusic() {
 		return Stream.of(musicGameReady, musicGameRunning, musicGameOver).filter(Objects::nonNull);
 	}
 
 	@Override
-	public Optional<SoundClip> musicGameOver() {
+	public Optional<Sound> musicGameOver() {
 		return Optional.ofNullable(musicGameOver);
 	}
 
 	@Override
-	public Optional<SoundClip> musicGameReady() {
+	public Optional<Sound> musicGameReady() {
 		return Optional.ofNullable(musicGameReady);
 	}
 
 	@Override
-	public Optional<SoundClip> musicGameRunning() {
+	public Optional<Sound> musicGameRunning() {
 		return Optional.ofNullable(musicGameRunning);
 	}
 }
\ No newline at end of file
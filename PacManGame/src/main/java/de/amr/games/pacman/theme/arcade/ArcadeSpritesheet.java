@@ -18,9 +18,15 @@ import de.amr.easy.game.ui.sprites.Sprite;
 import de.amr.easy.game.ui.sprites.Spritesheet;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
+import de.amr.games.pacman.view.common.Rendering;
 
 /**
  * Arcade theme spritesheet.
+ * <p>
+ * The sheet is copied into one image in the pixel format of the screen (see
+ * {@link Rendering#compatibleImage(int, int, int)}) and all sprite frames are subimages of this
+ * atlas, so they share its pixels and are blitted without format conversion. The maze images are
+ * converted in the same way.
  * 
  * @author Armin Reichert
  */
@@ -30,6 +36,7 @@ public class ArcadeSpritesheet extends Spritesheet {
 		RED, PINK, CYAN, ORANGE
 	}
 
+	static final int TILE_SIZE = 16;
 	static final List<Direction> DIRECTIONS = List.of(RIGHT, LEFT, UP, DOWN);
 	static final List<Integer> NUMBERS = List.of(200, 400, 800, 1600, 100, 300, 500, 700, 1000, 2000, 3000, 5000);
 
@@ -37,8 +44,42 @@ public class ArcadeSpritesheet extends Spritesheet {
 		return DIRECTIONS.indexOf(dir);
 	}
 
-	BufferedImage empty_maze = Assets.readImage("themes/arcade/maze_empty.png");
-	BufferedImage full_maze = Assets.readImage("themes/arcade/maze_full.png");
+	/**
+	 * @param sprite a sprite
+	 * @return the frames of the sprite
+	 */
+	static BufferedImage[] frames(Sprite sprite) {
+		BufferedImage[] frames = new BufferedImage[sprite.numFrames()];
+		for (int i = 0; i < frames.length; ++i) {
+			frames[i] = sprite.frame(i);
+		}
+		return frames;
+	}
+
+	// the animations of the creature sprites, also used for sprites made of scaled frames
+
+	static Sprite animatePacManWalking(BufferedImage... frames) {
+		return Sprite.of(frames).animate(FORWARD_BACKWARDS, 5);
+	}
+
+	static Sprite animatePacManCollapsing(BufferedImage... frames) {
+		return Sprite.of(frames).animate(LINEAR, 100);
+	}
+
+	static Sprite animateGhostColored(BufferedImage... frames) {
+		return animateGhostColored(frames);
+	}
+
+	static Sprite animateGhostFrightened(BufferedImage... frames) {
+		return Sprite.of(frames).animate(CYCLIC, 300);
+	}
+
+	static Sprite animateGhostFlashing(BufferedImage... frames) {
+		return Sprite.of(frames).animate(CYCLIC, 125); // 4 frames take 0.5 sec
+	}
+
+	BufferedImage empty_maze = Rendering.toCompatibleImage(Assets.readImage("themes/arcade/maze_empty.png"));
+	BufferedImage full_maze = Rendering.toCompatibleImage(Assets.readImage("themes/arcade/maze_full.png"));
 
 	BufferedImage empty_white_maze;
 	BufferedImage pacMan_full;
@@ -55,10 +96,10 @@ public class ArcadeSpritesheet extends Spritesheet {
 	BufferedImage bonus_symbols[];
 
 	public ArcadeSpritesheet() {
-		super("themes/arcade/sprites.png", 16);
+		super(Rendering.toCompatibleImage(Assets.readImage("themes/arcade/sprites.png")), TILE_SIZE);
 
 		// Debugger told me RGB value of blue color in maze image
-		empty_white_maze = exchangeColor(empty_maze, -14605825, Color.WHITE.getRGB());
+		empty_white_maze = Rendering.toCompatibleImage(exchangeColor(empty_maze, -14605825, Color.WHITE.getRGB()));
 
 		// Symbols for bonus food
 		bonus_symbols = horizontalTiles(8, 2, 3);
@@ -103,6 +144,25 @@ public class ArcadeSpritesheet extends Spritesheet {
 		};
 	}
 
+	@Override
+	public BufferedImage region(int x, int y, int width, int height) {
+		return getImage().getSubimage(x, y, width, height);
+	}
+
+	@Override
+	public BufferedImage tile(int col, int row) {
+		return region(col * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+	}
+
+	@Override
+	public BufferedImage[] horizontalTiles(int n, int col, int row) {
+		BufferedImage[] tiles = new BufferedImage[n];
+		for (int i = 0; i < n; ++i) {
+			tiles[i] = tile(col + i, row);
+		}
+		return tiles;
+	}
+
 	public BufferedImage imageFullMaze() {
 		return full_maze;
 	}
@@ -133,11 +193,11 @@ public class ArcadeSpritesheet extends Spritesheet {
 	}
 
 	public Sprite makeSprite_pacManWalking(Direction dir) {
-		return Sprite.of(pacMan_walking[dirIndex(dir)]).animate(FORWARD_BACKWARDS, 5);
+		return animatePacManWalking(pacMan_walking[dirIndex(dir)]);
 	}
 
 	public Sprite makeSprite_pacManCollapsing() {
-		return Sprite.of(pacMan_dying).animate(LINEAR, 100);
+		return animatePacManCollapsing(pacMan_dying);
 	}
 
 	public BufferedImage imageLivesCounter() {
@@ -163,11 +223,11 @@ public class ArcadeSpritesheet extends Spritesheet {
 	}
 
 	public Sprite makeSprite_ghostFrightened() {
-		return Sprite.of(ghost_frightened).animate(CYCLIC, 300);
+		return animateGhostFrightened(ghost_frightened);
 	}
 
 	public Sprite makeSprite_ghostFlashing() {
-		return Sprite.of(ghost_flashing).animate(CYCLIC, 125); // 4 frames take 0.5 sec
+		return animateGhostFlashing(ghost_flashing);
 	}
 
 	public Sprite makeSprite_ghostEyes(Direction dir) {
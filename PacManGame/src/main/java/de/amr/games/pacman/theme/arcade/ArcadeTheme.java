@@ -2,20 +2,17 @@ package de.amr.games.pacman.theme.arcade;
 
 import java.awt.Font;
 import java.awt.Graphics2D;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.amr.easy.game.assets.Assets;
-import de.amr.easy.game.ui.sprites.Sprite;
-import de.amr.easy.game.ui.sprites.SpriteMap;
-import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
-import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.model.game.PacManGame;
-import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
+import de.amr.games.pacman.theme.api.FramebufferRenderer;
 import de.amr.games.pacman.theme.api.GameRenderer;
 import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.MessagesRenderer;
@@ -38,8 +35,9 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 	public static final ArcadeTheme THEME = new ArcadeTheme();
 
 	private ArcadeSpritesheet spriteSheet = new ArcadeSpritesheet();
-	private Map<PacMan, SpriteMap> pacManSprites = new HashMap<>();
-	private Map<Ghost, SpriteMap> ghostSprites = new HashMap<>();
+	// scaled sprite frames, shared by all creatures and accessed by several threads
+	private final Map<GhostColor, GhostSprites.Frames> ghostFrames = new ConcurrentHashMap<>();
+	private PacManSprites.Frames pacManFrames;
 
 	private ArcadeTheme() {
 		set("font", Assets.storeTrueTypeFont("PressStart2P", "themes/arcade/PressStart2P-Regular.ttf", Font.PLAIN, 8));
@@ -53,61 +51,23 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 		set("sprites", spriteSheet);
 	}
 
-	private SpriteMap makePacManSpriteMap() {
-		SpriteMap map = new SpriteMap();
-		Direction.dirs().forEach(dir -> {
-			map.set("walking-" + dir, spriteSheet.makeSprite_pacManWalking(dir));
-			map.set("blocked-" + dir, spriteSheet.makeSprite_pacManBlocked(dir));
-		});
-		map.set("collapsing", spriteSheet.makeSprite_pacManCollapsing());
-		map.set("full", spriteSheet.makeSprite_pacManFull());
-		return map;
+	GhostSprites.Frames ghostFrames(GhostColor color) {
+		return ghostFrames.computeIfAbsent(color, key -> new GhostSprites.Frames(spriteSheet, key));
 	}
 
-	private SpriteMap makeGhostSpriteMap(Ghost ghost) {
-		SpriteMap map = new SpriteMap();
-		for (Direction dir : Direction.values()) {
-			for (GhostColor color : GhostColor.values()) {
-				map.set(ghostSpriteKeyColor(color, dir), spriteSheet.makeSprite_ghostColored(color, dir));
-			}
-			map.set(ghostSpriteKeyEyes(dir), spriteSheet.makeSprite_ghostEyes(dir));
-		}
-		map.set("frightened", spriteSheet.makeSprite_ghostFrightened());
-		map.set("flashing", spriteSheet.makeSprite_ghostFlashing());
-		for (int bounty : List.of(200, 400, 800, 1600)) {
-			map.set(ghostSpriteKeyPoints(bounty), Sprite.of(spriteSheet.imageNumber(bounty)));
-		}
-		return map;
-	}
-
-	SpriteMap getSpriteMap(Ghost ghost) {
-		SpriteMap spriteMap = ghostSprites.get(ghost);
-		if (spriteMap == null) {
-			spriteMap = makeGhostSpriteMap(ghost);
-			ghostSprites.put(ghost, spriteMap);
+	synchronized PacManSprites.Frames pacManFrames() {
+		if (pacManFrames == null) {
+			pacManFrames = new PacManSprites.Frames(spriteSheet);
 		}
-		return spriteMap;
+		return pacManFrames;
 	}
 
-	SpriteMap getSpriteMap(PacMan pacMan) {
-		SpriteMap spriteMap = pacManSprites.get(pacMan);
-		if (spriteMap == null) {
-			spriteMap = makePacManSpriteMap();
-			pacManSprites.put(pacMan, spriteMap);
+	@Override
+	public void warmUp() {
+		for (GhostColor color : GhostColor.values()) {
+			ghostFrames(color);
 		}
-		return spriteMap;
-	}
-
-	String ghostSpriteKeyColor(GhostColor color, Direction dir) {
-		return String.format("colored-%s-%s", color, dir);
-	}
-
-	String ghostSpriteKeyEyes(Direction dir) {
-		return String.format("eyes-%s", dir);
-	}
-
-	String ghostSpriteKeyPoints(int points) {
-		return String.format("points-%d", points);
+		pacManFrames();
 	}
 
 	GhostColor color(GhostPersonality personality) {
@@ -182,6 +142,11 @@ public class ArcadeTheme extends ThemeParameterMap implements Theme {
 		return r;
 	}
 
+	@Override
+	public Optional<FramebufferRenderer> framebufferRenderer() {
+		return Optional.of(new ArcadeFramebufferRenderer(spriteSheet));
+	}
+
 	@Override
 	public PacManGameSounds sounds() {
 		return ArcadeSounds.SOUNDS;
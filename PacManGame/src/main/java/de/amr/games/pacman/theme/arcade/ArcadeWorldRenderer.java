@@ -4,6 +4,9 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 
 import de.amr.easy.game.math.Vector2f;
 import de.amr.easy.game.ui.sprites.CyclicAnimation;
@@ -16,12 +19,31 @@ import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
 import de.amr.games.pacman.model.world.arcade.ArcadeFood;
 import de.amr.games.pacman.model.world.components.Door.DoorState;
 import de.amr.games.pacman.theme.api.WorldRenderer;
+import de.amr.games.pacman.view.common.Rendering;
 
+/**
+ * Renders the Arcade maze.
+ * <p>
+ * The maze including the food is kept in an offscreen image which is only updated when the food of
+ * the world has changed (see {@link TiledWorld#foodVersion()}). Per frame, the image is drawn and
+ * on blinking frames the (few) energizer tiles are hidden.
+ * 
+ * @author Armin Reichert
+ */
 class ArcadeWorldRenderer implements WorldRenderer {
 
+	private static final int MAZE_TOP = 3 * Tile.SIZE;
+
 	private Sprite spriteFlashingMaze;
 	private final SpriteAnimation energizerAnimation;
 
+	private TiledWorld cachedWorld;
+	private BufferedImage mazeImage;
+	private Tile[] foodTiles;
+	private boolean[] eaten;
+	private long foodVersion;
+	private List<Tile> energizerTiles = new ArrayList<>();
+
 	public ArcadeWorldRenderer(ArcadeSpritesheet spriteSheet) {
 		energizerAnimation = new CyclicAnimation(2);
 		energizerAnimation.setFrameDuration(150);
@@ -40,7 +62,8 @@ class ArcadeWorldRenderer implements WorldRenderer {
 			spriteFlashingMaze.draw(g2, 0, 3 * Tile.SIZE);
 		} else {
 			spriteFlashingMaze = null;
-			g.drawImage(spriteSheet.imageFullMaze(), 0, 3 * Tile.SIZE, null);
+			updateMazeImage(world, spriteSheet.imageFullMaze());
+			g.drawImage(mazeImage, 0, MAZE_TOP, null);
 			drawContent(g, world);
 			world.house(0).get().doors().filter(door -> door.state == DoorState.OPEN).forEach(door -> {
 				g.setColor(Color.BLACK);
@@ -50,21 +73,47 @@ class ArcadeWorldRenderer implements WorldRenderer {
 		g2.dispose();
 	}
 
+	private void updateMazeImage(TiledWorld world, BufferedImage fullMaze) {
+		if (world != cachedWorld || mazeImage == null) {
+			cachedWorld = world;
+			mazeImage = Rendering.toCompatibleImage(fullMaze);
+			foodTiles = world.tiles().filter(tile -> world.hasFood(tile) || world.hasEatenFood(tile)).toArray(Tile[]::new);
+			eaten = new boolean[foodTiles.length];
+			foodVersion = world.foodVersion() - 1;
+		}
+		if (foodVersion == world.foodVersion()) {
+			return;
+		}
+		foodVersion = world.foodVersion();
+		energizerTiles.clear();
+		Graphics2D g = mazeImage.createGraphics();
+		for (int i = 0; i < foodTiles.length; ++i) {
+			Tile tile = foodTiles[i];
+			boolean eatenNow = world.hasEatenFood(tile);
+			if (eatenNow && !eaten[i]) {
+				g.setColor(Color.BLACK);
+				g.fillRect(tile.x(), tile.y() - MAZE_TOP, Tile.SIZE, Tile.SIZE);
+			} else if (!eatenNow && eaten[i]) {
+				int x = tile.x(), y = tile.y() - MAZE_TOP;
+				g.drawImage(fullMaze, x, y, x + Tile.SIZE, y + Tile.SIZE, x, y, x + Tile.SIZE, y + Tile.SIZE, null);
+			}
+			eaten[i] = eatenNow;
+			if (world.hasFood(ArcadeFood.ENERGIZER, tile)) {
+				energizerTiles.add(tile);
+			}
+		}
+		g.dispose();
+	}
+
 	private void drawContent(Graphics2D g, TiledWorld world) {
-		// hide eaten food
-		Color eatenFoodColor = Color.BLACK;
-		world.tiles().filter(world::hasEatenFood).forEach(tile -> {
-			g.setColor(eatenFoodColor);
-			g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
-		});
 		// simulate energizer blinking animation
 		energizerAnimation.update();
 		energizerAnimation.setEnabled(!world.isFrozen());
 		if (energizerAnimation.isEnabled() && energizerAnimation.currentFrameIndex() == 1) {
-			world.tiles().filter(tile -> world.hasFood(ArcadeFood.ENERGIZER, tile)).forEach(tile -> {
-				g.setColor(eatenFoodColor);
+			g.setColor(Color.BLACK);
+			for (Tile tile : energizerTiles) {
 				g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
-			});
+			}
 		}
 		// draw bonus as image when active or as number when consumed
 		world.temporaryFood().ifPresent(bonus -> {
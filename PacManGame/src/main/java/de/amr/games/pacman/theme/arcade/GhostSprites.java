@@ -0,0 +1,85 @@
+package de.amr.games.pacman.theme.arcade;
+
+import static de.amr.games.pacman.theme.arcade.ArcadeSpritesheet.frames;
+
+import java.awt.image.BufferedImage;
+
+import de.amr.easy.game.ui.sprites.Sprite;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.theme.arcade.ArcadeSpritesheet.GhostColor;
+
+/**
+ * The sprites of a ghost, indexed by direction ordinal, so selecting and drawing a sprite needs
+ * neither string keys nor scaling.
+ * <p>
+ * The frames are scaled to the display size once per ghost color (see {@link Frames}) and shared by
+ * all ghosts of this color. A ghost only owns the animation state of its animated sprites.
+ * 
+ * @author Armin Reichert
+ */
+class GhostSprites {
+
+	static final int SIZE = 2 * Tile.SIZE;
+
+	private static final int[] BOUNTIES = { 200, 400, 800, 1600 };
+
+	/**
+	 * The scaled frames of the ghosts of one color. Sprites without animation are shared as a whole.
+	 */
+	static class Frames {
+
+		private final BufferedImage[][] colored = new BufferedImage[4][];
+		private final BufferedImage[] frightened;
+		private final BufferedImage[] flashing;
+		private final Sprite[] eyes = new Sprite[4];
+		private final Sprite[] points = new Sprite[BOUNTIES.length];
+
+		Frames(ArcadeSpritesheet spriteSheet, GhostColor color) {
+			for (Direction dir : Direction.values()) {
+				colored[dir.ordinal()] = frames(spriteSheet.makeSprite_ghostColored(color, dir).scale(SIZE, SIZE));
+				eyes[dir.ordinal()] = spriteSheet.makeSprite_ghostEyes(dir).scale(SIZE, SIZE);
+			}
+			frightened = frames(spriteSheet.makeSprite_ghostFrightened().scale(SIZE, SIZE));
+			flashing = frames(spriteSheet.makeSprite_ghostFlashing().scale(SIZE, SIZE));
+			for (int i = 0; i < BOUNTIES.length; ++i) {
+				points[i] = Sprite.of(spriteSheet.imageNumber(BOUNTIES[i])).scale(SIZE, SIZE);
+			}
+		}
+	}
+
+	private final Frames frames;
+	final Sprite[] colored = new Sprite[4];
+	final Sprite frightened;
+	final Sprite flashing;
+
+	GhostSprites(Frames frames) {
+		this.frames = frames;
+		for (int dir = 0; dir < colored.length; ++dir) {
+			colored[dir] = ArcadeSpritesheet.animateGhostColored(frames.colored[dir]);
+		}
+		frightened = ArcadeSpritesheet.animateGhostFrightened(frames.frightened);
+		flashing = ArcadeSpritesheet.animateGhostFlashing(frames.flashing);
+	}
+
+	/**
+	 * @param dir direction ordinal
+	 * @return sprite showing the eyes looking into this direction
+	 */
+	Sprite eyes(int dir) {
+		return frames.eyes[dir];
+	}
+
+	/**
+	 * @param bounty bounty of a killed ghost
+	 * @return sprite showing the bounty or {@code null} if there is no sprite for this value
+	 */
+	Sprite points(int bounty) {
+		for (int i = 0; i < BOUNTIES.length; ++i) {
+			if (BOUNTIES[i] == bounty) {
+				return frames.points[i];
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,65 @@
+package de.amr.games.pacman.theme.arcade;
+
+import static de.amr.games.pacman.theme.arcade.ArcadeSpritesheet.frames;
+
+import java.awt.image.BufferedImage;
+import java.util.stream.Stream;
+
+import de.amr.easy.game.ui.sprites.Sprite;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+
+/**
+ * The sprites of Pac-Man, indexed by direction ordinal, so selecting and drawing a sprite needs
+ * neither string keys nor scaling.
+ * <p>
+ * The frames are scaled to the display size once (see {@link Frames}) and shared by all Pac-Men. A
+ * Pac-Man only owns the animation state of its animated sprites.
+ * 
+ * @author Armin Reichert
+ */
+class PacManSprites {
+
+	static final int SIZE = 2 * Tile.SIZE;
+
+	/**
+	 * The scaled frames of Pac-Man. Sprites without animation are shared as a whole.
+	 */
+	static class Frames {
+
+		private final BufferedImage[][] walking = new BufferedImage[4][];
+		private final BufferedImage[] collapsing;
+		private final Sprite[] blocked = new Sprite[4];
+		private final Sprite full;
+
+		Frames(ArcadeSpritesheet spriteSheet) {
+			for (Direction dir : Direction.values()) {
+				walking[dir.ordinal()] = frames(spriteSheet.makeSprite_pacManWalking(dir).scale(SIZE, SIZE));
+				blocked[dir.ordinal()] = spriteSheet.makeSprite_pacManBlocked(dir).scale(SIZE, SIZE);
+			}
+			collapsing = frames(spriteSheet.makeSprite_pacManCollapsing().scale(SIZE, SIZE));
+			full = spriteSheet.makeSprite_pacManFull().scale(SIZE, SIZE);
+		}
+	}
+
+	final Sprite[] walking = new Sprite[4];
+	final Sprite[] blocked;
+	final Sprite collapsing;
+	final Sprite full;
+
+	PacManSprites(Frames frames) {
+		for (int dir = 0; dir < walking.length; ++dir) {
+			walking[dir] = ArcadeSpritesheet.animatePacManWalking(frames.walking[dir]);
+		}
+		collapsing = ArcadeSpritesheet.animatePacManCollapsing(frames.collapsing);
+		blocked = frames.blocked;
+		full = frames.full;
+	}
+
+	/**
+	 * @return the animated sprites
+	 */
+	Stream<Sprite> animated() {
+		return Stream.concat(Stream.of(walking), Stream.of(collapsing));
+	}
+}
@@ -1,10 +1,9 @@
 package de.amr.games.pacman.view.api;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
-import de.amr.easy.game.assets.SoundClip;
-
 /**
  * Clips and music.
  * 
@@ -12,52 +11,64 @@ import de.amr.easy.game.assets.SoundClip;
  */
 public interface PacManGameSounds {
 
-	SoundClip clipCrunching();
+	Sound clipCrunching();
+
+	Sound clipEatFruit();
 
-	SoundClip clipEatFruit();
+	Sound clipEatGhost();
 
-	SoundClip clipEatGhost();
+	Sound clipExtraLife();
 
-	SoundClip clipExtraLife();
+	Sound clipGhostChase();
 
-	SoundClip clipGhostChase();
+	Sound clipGhostDead();
 
-	SoundClip clipGhostDead();
+	Sound clipInsertCoin();
 
-	SoundClip clipInsertCoin();
+	Sound clipPacManDies();
 
-	SoundClip clipPacManDies();
+	Sound clipWaza();
 
-	SoundClip clipWaza();
+	Stream<Sound> clips();
 
-	Stream<SoundClip> clips();
+	/**
+	 * Mutes or unmutes all sounds. Muted sounds keep running, they are just not heard.
+	 * 
+	 * @param muted if the sounds are muted
+	 */
+	void setMuted(boolean muted);
 
-	void loadMusic();
+	/**
+	 * Starts loading the music in the background.
+	 * 
+	 * @return future completed when the music is loaded
+	 */
+	CompletableFuture<Void> loadMusic();
 
 	boolean isMusicLoaded();
 
-	Stream<SoundClip> loadedMusic();
+	Stream<Sound> loadedMusic();
 
-	Optional<SoundClip> musicGameReady();
+	Optional<Sound> musicGameReady();
 
-	Optional<SoundClip> musicGameRunning();
+	Optional<Sound> musicGameRunning();
 
-	Optional<SoundClip> musicGameOver();
+	Optional<Sound> musicGameOver();
 
-	default void playMusic(Optional<SoundClip> music) {
-		music.ifPresent(SoundClip::play);
+	default void playMusic(Optional<Sound> music) {
+		music.ifPresent(Sound::play);
 	}
 
-	default void stopMusic(Optional<SoundClip> music) {
-		music.ifPresent(SoundClip::stop);
+	default void stopMusic(Optional<Sound> music) {
+		music.ifPresent(Sound::stop);
 	}
 
-	default boolean isMusicRunning(Optional<SoundClip> music) {
-		return music.map(SoundClip::isRunning).orElse(false);
+	default boolean isMusicRunning(Optional<Sound> music) {
+		return music.map(Sound::isRunning).orElse(false);
 	}
 
 	default void stopAll() {
-		clips().forEach(SoundClip::stop);
-		loadedMusic().forEach(SoundClip::stop);
+		clips().forEach(Sound::stop);
+		loadedMusic().forEach(Sound::stop);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package de.amr.games.pacman.view.api;
+
+/**
+ * A sound clip or music.
+ * 
+ * @author Armin Reichert
+ */
+public interface Sound {
+
+	/**
+	 * Plays the sound once from the start.
+	 */
+	void play();
+
+	/**
+	 * Plays the sound from the start and repeats it until it is stopped.
+	 */
+	void loop();
+
+	void stop();
+
+	/**
+	 * @return if the sound is playing or looping
+	 */
+	boolean isRunning();
+
+	/**
+	 * @param volume volume (linear gain) between 0 and 1
+	 */
+	void setVolume(float volume);
+}
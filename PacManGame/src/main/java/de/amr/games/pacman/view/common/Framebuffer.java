@@ -0,0 +1,144 @@
+package de.amr.games.pacman.view.common;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * An array of ARGB pixels (row by row) of fixed size into which sprites are blitted at integer
+ * positions, without {@link Graphics2D}, anti-aliasing or rendering hints.
+ * <p>
+ * The pixels are shared with an image (see {@link #image()}) which is drawn onto the screen, scaled
+ * by an integer factor with nearest neighbor interpolation, or handed out as is.
+ *
+ * @author Armin Reichert
+ */
+public class Framebuffer {
+
+	public final int width;
+	public final int height;
+	public final int[] pixels;
+	private final BufferedImage image;
+	private final AffineTransform pixelTransform = new AffineTransform();
+
+	public Framebuffer(int width, int height) {
+		if (width < 1 || height < 1) {
+			throw new IllegalArgumentException(String.format("Illegal framebuffer size: %dx%d", width, height));
+		}
+		this.width = width;
+		this.height = height;
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+	}
+
+	/**
+	 * @return image sharing the pixels of this framebuffer
+	 */
+	public BufferedImage image() {
+		return image;
+	}
+
+	public void clear(int argb) {
+		Arrays.fill(pixels, argb);
+	}
+
+	public void fillRect(int x, int y, int w, int h, int argb) {
+		int x0 = Math.max(0, x), y0 = Math.max(0, y);
+		int x1 = Math.min(width, x + w), y1 = Math.min(height, y + h);
+		for (int row = y0; row < y1; ++row) {
+			int offset = row * width;
+			for (int col = x0; col < x1; ++col) {
+				pixels[offset + col] = argb;
+			}
+		}
+	}
+
+	/**
+	 * Copies all pixels of the sprite including the transparent ones.
+	 *
+	 * @param sprite sprite
+	 * @param x      left x
+	 * @param y      top y
+	 */
+	public void copy(PixelSprite sprite, int x, int y) {
+		int x0 = Math.max(0, x), x1 = Math.min(width, x + sprite.width);
+		if (x0 >= x1) {
+			return;
+		}
+		for (int row = Math.max(0, y), y1 = Math.min(height, y + sprite.height); row < y1; ++row) {
+			System.arraycopy(sprite.pixels, (row - y) * sprite.width + x0 - x, pixels, row * width + x0, x1 - x0);
+		}
+	}
+
+	/**
+	 * Blits the sprite, transparent pixels (alpha = 0) are skipped, all others are copied.
+	 *
+	 * @param sprite sprite
+	 * @param x      left x
+	 * @param y      top y
+	 */
+	public void blit(PixelSprite sprite, int x, int y) {
+		int x0 = Math.max(0, x), x1 = Math.min(width, x + sprite.width);
+		for (int row = Math.max(0, y), y1 = Math.min(height, y + sprite.height); row < y1; ++row) {
+			int src = (row - y) * sprite.width - x, dst = row * width;
+			for (int col = x0; col < x1; ++col) {
+				int argb = sprite.pixels[src + col];
+				if (argb >>> 24 != 0) {
+					pixels[dst + col] = argb;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Blits the sprite as mask: its non-transparent pixels are painted in the given color.
+	 *
+	 * @param mask mask, e.g. a glyph (see {@link PixelFont})
+	 * @param x    left x
+	 * @param y    top y
+	 * @param argb color
+	 */
+	public void blitMask(PixelSprite mask, int x, int y, int argb) {
+		int x0 = Math.max(0, x), x1 = Math.min(width, x + mask.width);
+		for (int row = Math.max(0, y), y1 = Math.min(height, y + mask.height); row < y1; ++row) {
+			int src = (row - y) * mask.width - x, dst = row * width;
+			for (int col = x0; col < x1; ++col) {
+				if (mask.pixels[src + col] >>> 24 != 0) {
+					pixels[dst + col] = argb;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draws the framebuffer into the area of its size at the origin of the graphics context. The
+	 * pixels are scaled by the integral part of the context's scaling, so all pixels get the same
+	 * size, and the image is centered inside the area. Below scale 1, the image is scaled down by the
+	 * context using nearest neighbor interpolation.
+	 *
+	 * @param g graphics context
+	 */
+	public void draw(Graphics2D g) {
+		AffineTransform transform = g.getTransform();
+		double scaleX = transform.getScaleX(), scaleY = transform.getScaleY();
+		Object interpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		if (scaleX >= 1 && scaleY >= 1 && transform.getShearX() == 0 && transform.getShearY() == 0) {
+			int factor = (int) Math.min(scaleX, scaleY);
+			long left = Math.round(transform.getTranslateX() + (width * scaleX - width * factor) / 2);
+			long top = Math.round(transform.getTranslateY() + (height * scaleY - height * factor) / 2);
+			pixelTransform.setTransform(factor, 0, 0, factor, left, top);
+			g.setTransform(pixelTransform);
+			g.drawImage(image, 0, 0, null);
+			g.setTransform(transform);
+		} else {
+			g.drawImage(image, 0, 0, null);
+		}
+		if (interpolation != null) {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		}
+	}
+}
@@ -2,7 +2,7 @@ package de.amr.games.pacman.view.common;
 
 import java.awt.Color;
 
-class Message {
+public class Message {
 
 	public String text;
 	public Color color;
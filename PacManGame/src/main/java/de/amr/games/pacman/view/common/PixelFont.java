@@ -0,0 +1,80 @@
+package de.amr.games.pacman.view.common;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * The printable ASCII characters of a font, rasterized once without anti-aliasing, for drawing text
+ * into a {@link Framebuffer}. Other characters are skipped.
+ *
+ * @author Armin Reichert
+ */
+public class PixelFont {
+
+	private static final char FIRST = 32, LAST = 126;
+
+	private final PixelSprite[] glyphs = new PixelSprite[LAST - FIRST + 1];
+	private final int ascent;
+
+	public PixelFont(Font font) {
+		BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D pg = probe.createGraphics();
+		FontMetrics fm = pg.getFontMetrics(font);
+		pg.dispose();
+		ascent = fm.getAscent();
+		int height = Math.max(1, fm.getAscent() + fm.getDescent());
+		for (char ch = FIRST; ch <= LAST; ++ch) {
+			BufferedImage image = new BufferedImage(Math.max(1, fm.charWidth(ch)), height, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = image.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+			g.setFont(font);
+			g.setColor(Color.WHITE);
+			g.drawString(String.valueOf(ch), 0, ascent);
+			g.dispose();
+			glyphs[ch - FIRST] = PixelSprite.of(image);
+		}
+	}
+
+	private PixelSprite glyph(char ch) {
+		return ch >= FIRST && ch <= LAST ? glyphs[ch - FIRST] : null;
+	}
+
+	/**
+	 * @param text text
+	 * @return width of the text in pixels
+	 */
+	public int stringWidth(String text) {
+		int width = 0;
+		for (int i = 0; i < text.length(); ++i) {
+			PixelSprite glyph = glyph(text.charAt(i));
+			if (glyph != null) {
+				width += glyph.width;
+			}
+		}
+		return width;
+	}
+
+	/**
+	 * Draws the text in the given color.
+	 *
+	 * @param fb       framebuffer
+	 * @param text     text
+	 * @param x        left x
+	 * @param baseline baseline y
+	 * @param argb     color
+	 */
+	public void draw(Framebuffer fb, String text, int x, int baseline, int argb) {
+		for (int i = 0; i < text.length(); ++i) {
+			PixelSprite glyph = glyph(text.charAt(i));
+			if (glyph != null) {
+				fb.blitMask(glyph, x, baseline - ascent, argb);
+				x += glyph.width;
+			}
+		}
+	}
+}
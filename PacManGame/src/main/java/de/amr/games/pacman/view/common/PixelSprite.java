@@ -0,0 +1,35 @@
+package de.amr.games.pacman.view.common;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * An image decoded into an array of ARGB pixels (row by row) which can be blitted into a
+ * {@link Framebuffer}.
+ *
+ * @author Armin Reichert
+ */
+public class PixelSprite {
+
+	/**
+	 * @param image an image
+	 * @return the pixels of the image
+	 */
+	public static PixelSprite of(BufferedImage image) {
+		int width = image.getWidth(), height = image.getHeight();
+		return new PixelSprite(width, height, image.getRGB(0, 0, width, height, null, 0, width));
+	}
+
+	public final int width;
+	public final int height;
+	public final int[] pixels;
+
+	public PixelSprite(int width, int height, int[] pixels) {
+		if (pixels.length != width * height) {
+			throw new IllegalArgumentException(
+					String.format("Pixel array has length %d but must have length %d", pixels.length, width * height));
+		}
+		this.width = width;
+		this.height = height;
+		this.pixels = pixels;
+	}
+}
@@ -6,8 +6,12 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
 import java.awt.Polygon;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
 import de.amr.easy.game.math.Vector2f;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
@@ -47,17 +51,17 @@ public class Rendering {
 	}
 
 	public static Color ghostColor(Ghost ghost) {
-		switch (ghost.name) {
-		case "Blinky":
+		switch (ghost.personality) {
+		case SHADOW:
 			return Color.RED;
-		case "Pinky":
+		case SPEEDY:
 			return Color.PINK;
-		case "Inky":
+		case BASHFUL:
 			return Color.CYAN;
-		case "Clyde":
+		case POKEY:
 			return Color.ORANGE;
 		default:
-			throw new IllegalArgumentException("Ghost name unknown: " + ghost.name);
+			throw new IllegalArgumentException("Illegal ghost personality: " + ghost.personality);
 		}
 	}
 
@@ -82,4 +86,35 @@ public class Rendering {
 		}
 		g.dispose();
 	}
+
+	/**
+	 * Creates an image in the pixel format of the default screen which can be cached in video memory
+	 * and blitted without conversion. In a headless environment, an ARGB image is created.
+	 * 
+	 * @param width        image width
+	 * @param height       image height
+	 * @param transparency one of {@link Transparency#OPAQUE}, {@link Transparency#BITMASK},
+	 *                     {@link Transparency#TRANSLUCENT}
+	 * @return new image
+	 */
+	public static BufferedImage compatibleImage(int width, int height, int transparency) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+				.getDefaultConfiguration();
+		return gc.createCompatibleImage(width, height, transparency);
+	}
+
+	/**
+	 * @param image some image, e.g. as read from a PNG file
+	 * @return copy of the image in the pixel format of the default screen
+	 */
+	public static BufferedImage toCompatibleImage(BufferedImage image) {
+		BufferedImage copy = compatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+		Graphics2D g = copy.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return copy;
+	}
 }
\ No newline at end of file
@@ -3,19 +3,27 @@ package de.amr.games.pacman.view.common;
 import static de.amr.games.pacman.PacManApp.settings;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacman.view.common.Rendering.alpha;
-import static de.amr.games.pacman.view.common.Rendering.drawDirectionIndicator;
 import static de.amr.games.pacman.view.common.Rendering.ghostColor;
+import static java.lang.Math.PI;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Polygon;
 import java.awt.RenderingHints;
+import java.awt.Shape;
 import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import de.amr.easy.game.math.Vector2f;
 import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.Guy;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.controller.steering.api.Steering;
@@ -25,12 +33,82 @@ import de.amr.games.pacman.model.world.api.TiledWorld;
 
 /**
  * Renderes the routes of the creatures towards their current target tiles.
+ * <p>
+ * Routes are displayed permanently on some screens, so the expensive objects are not created per
+ * frame: strokes, translucent colors and arrow heads are created once, the path of a creature is
+ * kept as a {@link Path2D} which is only rebuilt when the route has changed and is drawn with a
+ * single call. Some small objects (e.g. the streams over the ghosts, creature centers and optional
+ * target tiles) are still allocated per frame.
  * 
  * @author Armin Reichert
  */
 public class RoutesRenderer {
 
+	private static final Stroke PATH_STROKE = new BasicStroke(0.5f);
+	private static final Stroke RUBBERBAND_STROKE = new BasicStroke(0.8f, BasicStroke.CAP_BUTT,
+			BasicStroke.JOIN_BEVEL, 0, new float[] { 3 }, 0);
+	private static final Stroke CHASING_AREA_STROKE = new BasicStroke(0.2f);
+	private static final Stroke INKY_CHASING_STROKE = new BasicStroke(1);
+
+	/** Arrow heads indexed by direction ordinal, pointing from the origin into the direction. */
+	private static final Shape[] ARROW_HEADS = new Shape[Direction.values().length];
+
+	static {
+		Polygon triangle = new Polygon(new int[] { -4, 4, 0 }, new int[] { 0, 0, 4 }, 3);
+		for (Direction dir : Direction.values()) {
+			ARROW_HEADS[dir.ordinal()] = AffineTransform.getRotateInstance((dir.ordinal() - 2) * (PI / 2))
+					.createTransformedShape(triangle);
+		}
+	}
+
+	/**
+	 * Path of a creature to its target tile, rebuilt when the tiles of the path have changed.
+	 */
+	private static class Route {
+
+		final List<Tile> tiles = new ArrayList<>();
+		final Path2D path = new Path2D.Float();
+		Shape arrowHead;
+
+		void update(List<Tile> currentTiles) {
+			if (tiles.equals(currentTiles)) {
+				return;
+			}
+			tiles.clear();
+			tiles.addAll(currentTiles);
+			path.reset();
+			arrowHead = null;
+			if (tiles.size() <= 1) {
+				return;
+			}
+			path.moveTo(tiles.get(0).centerX(), tiles.get(0).centerY());
+			for (int i = 1; i < tiles.size(); ++i) {
+				path.lineTo(tiles.get(i).centerX(), tiles.get(i).centerY());
+			}
+			Tile from = tiles.get(tiles.size() - 2), to = tiles.get(tiles.size() - 1);
+			from.dirTo(to).ifPresent(dir -> arrowHead = AffineTransform.getTranslateInstance(to.centerX(), to.centerY())
+					.createTransformedShape(ARROW_HEADS[dir.ordinal()]));
+		}
+	}
+
+	private final Map<Guy<?>, Route> routes = new HashMap<>();
+	private final Map<Color, Color> translucentColors = new HashMap<>();
+	private final Line2D rubberband = new Line2D.Float();
+
+	private Color translucent(Color color) {
+		return translucentColors.computeIfAbsent(color, c -> alpha(c, 200));
+	}
+
+	private void fillArrowHead(Graphics2D g, Color color, Direction dir, int x, int y) {
+		g.setColor(color);
+		g.translate(x, y);
+		g.fill(ARROW_HEADS[dir.ordinal()]);
+		g.translate(-x, -y);
+	}
+
 	public void renderRoutes(Graphics2D g, Folks folks) {
+		Stroke stroke = g.getStroke();
+		Object antialiasing = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
 		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		if (folks.pacMan.visible) {
 			drawPacManRoute(g, folks.pacMan);
@@ -42,73 +120,56 @@ public class RoutesRenderer {
 		if (folks.clyde.visible) {
 			drawClydeChasingArea(g, folks);
 		}
-		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+		g.setStroke(stroke);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
 	}
 
 	public void drawPacManRoute(Graphics2D g, PacMan pacMan) {
-		drawTargetTilePath(g, pacMan.getSteering().pathToTarget(), Color.YELLOW);
+		drawTargetTilePath(g, pacMan, Color.YELLOW);
 	}
 
 	public void drawGhostRoute(Graphics2D g, Ghost ghost) {
 		Steering steering = ghost.getSteering();
 		if (steering.targetTile().isPresent()) {
-			drawTargetTileRubberband(g, ghost, steering.targetTile());
-			drawTargetTilePath(g, steering.pathToTarget(), ghostColor(ghost));
+			drawTargetTileRubberband(g, ghost, steering.targetTile().get());
+			drawTargetTilePath(g, ghost, ghostColor(ghost));
 			return;
 		}
 		if (ghost.wishDir != null) {
 			Vector2f center = ghost.tf.getCenter();
 			Vector2f dir_vector = ghost.wishDir.vector();
-			drawDirectionIndicator(g, ghostColor(ghost), true, ghost.wishDir, (int) (center.x + dir_vector.x * Tile.SIZE),
+			fillArrowHead(g, ghostColor(ghost), ghost.wishDir, (int) (center.x + dir_vector.x * Tile.SIZE),
 					(int) (center.y + dir_vector.y * Tile.SIZE));
 		}
 	}
 
-	private void drawTargetTileRubberband(Graphics2D g, Ghost ghost, Optional<Tile> targetTile) {
-		if (targetTile.isEmpty()) {
-			return;
-		}
-		g = (Graphics2D) g.create();
-		Rendering.smoothOn(g);
-
+	private void drawTargetTileRubberband(Graphics2D g, Ghost ghost, Tile targetTile) {
 		// draw dashed line from ghost position to target tile
-		Stroke dashed = new BasicStroke(0.8f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[] { 3 }, 0);
-		int x1 = ghost.tf.getCenter().roundedX(), y1 = ghost.tf.getCenter().roundedY();
-		int x2 = targetTile.get().centerX(), y2 = targetTile.get().centerY();
-		g.setStroke(dashed);
-		g.setColor(alpha(ghostColor(ghost), 200));
-		g.drawLine(x1, y1, x2, y2);
+		Vector2f center = ghost.tf.getCenter();
+		rubberband.setLine(center.roundedX(), center.roundedY(), targetTile.centerX(), targetTile.centerY());
+		g.setStroke(RUBBERBAND_STROKE);
+		g.setColor(translucent(ghostColor(ghost)));
+		g.draw(rubberband);
 
 		// draw solid rectangle indicating target tile
-		g.translate(targetTile.get().x(), targetTile.get().y());
 		g.setColor(ghostColor(ghost));
-		g.setStroke(new BasicStroke(0.5f));
-		g.fillRect(2, 2, 4, 4);
-		g.dispose();
+		g.fillRect(targetTile.x() + 2, targetTile.y() + 2, 4, 4);
 	}
 
-	private void drawTargetTilePath(Graphics2D g, List<Tile> path, Color ghostColor) {
-		if (path == null || path.size() <= 1) {
+	private void drawTargetTilePath(Graphics2D g, Guy<?> guy, Color color) {
+		List<Tile> tiles = guy.getSteering().pathToTarget();
+		if (tiles == null || tiles.size() <= 1) {
 			return;
 		}
-		g = (Graphics2D) g.create();
-		Rendering.smoothOn(g);
-		g.setStroke(new BasicStroke(0.5f));
-		g.setColor(alpha(ghostColor, 200));
-		Tile[] tiles = path.toArray(Tile[]::new);
-		int from = 0, to = 1;
-		while (to < tiles.length) {
-			g.drawLine(tiles[from].centerX(), tiles[from].centerY(), tiles[to].centerX(), tiles[to].centerY());
-			if (to == tiles.length - 1) {
-				Optional<Direction> optDir = tiles[from].dirTo(tiles[to]);
-				if (optDir.isPresent()) {
-					drawDirectionIndicator(g, ghostColor, true, optDir.get(), tiles[to].centerX(), tiles[to].centerY());
-				}
-			}
-			++from;
-			++to;
+		Route route = routes.computeIfAbsent(guy, key -> new Route());
+		route.update(tiles);
+		g.setStroke(PATH_STROKE);
+		g.setColor(translucent(color));
+		g.draw(route.path);
+		if (route.arrowHead != null) {
+			g.setColor(color);
+			g.fill(route.arrowHead);
 		}
-		g.dispose();
 	}
 
 	private void drawInkyChasing(Graphics2D g, Folks folks) {
@@ -123,6 +184,7 @@ public class RoutesRenderer {
 		y1 = blinky.tile().centerY();
 		x2 = inky.getSteering().targetTile().get().centerX();
 		y2 = inky.getSteering().targetTile().get().centerY();
+		g.setStroke(INKY_CHASING_STROKE);
 		g.setColor(Color.GRAY);
 		g.drawLine(x1, y1, x2, y2);
 		Tile pacManTile = pacMan.tile();
@@ -160,8 +222,8 @@ public class RoutesRenderer {
 		Color ghostColor = ghostColor(clyde);
 		int cx = clyde.tile().centerX(), cy = clyde.tile().centerY();
 		int r = 8 * Tile.SIZE;
-		g.setColor(alpha(ghostColor, 200));
-		g.setStroke(new BasicStroke(0.2f));
+		g.setColor(translucent(ghostColor));
+		g.setStroke(CHASING_AREA_STROKE);
 		g.drawOval(cx - r, cy - r, 2 * r, 2 * r);
 	}
 }
\ No newline at end of file
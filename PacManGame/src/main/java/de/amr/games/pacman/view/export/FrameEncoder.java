@@ -0,0 +1,177 @@
+package de.amr.games.pacman.view.export;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Encodes rendered frames on a pool of encoder threads.
+ * <p>
+ * Frames are either written as numbered PNG files or as a stream of raw RGB pixels (3 bytes per
+ * pixel, row by row) which can be piped into a video encoder, e.g.
+ * {@code ffmpeg -f rawvideo -pix_fmt rgb24 -s 448x576 -r 60 -i - clip.mp4}. The raw stream is
+ * written in frame order by the caller's thread.
+ * <p>
+ * The number of frames being encoded is limited, their images are recycled when the encoding is
+ * complete.
+ *
+ * @author Armin Reichert
+ */
+class FrameEncoder implements Closeable {
+
+	enum Format {
+		PNG, RGB
+	}
+
+	private static class Frame {
+
+		final BufferedImage image;
+		final Future<byte[]> result;
+
+		Frame(BufferedImage image, Future<byte[]> result) {
+			this.image = image;
+			this.result = result;
+		}
+	}
+
+	private final Format format;
+	private final Path directory;
+	private final OutputStream rawOut;
+	private final int width, height;
+	private final int maxFramesInFlight;
+	private final ExecutorService pool;
+	private final Deque<Frame> framesInFlight = new ArrayDeque<>();
+	private final Deque<BufferedImage> freeImages = new ArrayDeque<>();
+	private long frameCount;
+
+	/**
+	 * @param format    output format
+	 * @param directory directory of the PNG files (format PNG)
+	 * @param rawOut    stream receiving the RGB pixels (format RGB)
+	 * @param width     frame width in pixels
+	 * @param height    frame height in pixels
+	 * @param encoders  number of encoder threads
+	 */
+	public FrameEncoder(Format format, Path directory, OutputStream rawOut, int width, int height, int encoders) {
+		if (encoders < 1) {
+			throw new IllegalArgumentException("Number of encoders must be positive but is " + encoders);
+		}
+		this.format = format;
+		this.directory = directory;
+		this.rawOut = rawOut;
+		this.width = width;
+		this.height = height;
+		maxFramesInFlight = 2 * encoders;
+		AtomicInteger threadNumber = new AtomicInteger();
+		pool = Executors.newFixedThreadPool(encoders, runnable -> {
+			Thread thread = new Thread(runnable, "Encoder-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @return number of frames submitted so far
+	 */
+	public long frameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Returns an image for rendering the next frame. If too many frames are being encoded, waits until
+	 * the oldest one is complete.
+	 *
+	 * @return opaque RGB image of the frame size
+	 */
+	public BufferedImage nextImage() {
+		if (!freeImages.isEmpty()) {
+			return freeImages.pop();
+		}
+		if (framesInFlight.size() < maxFramesInFlight) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		}
+		return completeOldestFrame();
+	}
+
+	/**
+	 * Encodes the given image as the next frame. The image must not be changed until it is returned
+	 * by {@link #nextImage()} again.
+	 *
+	 * @param image image obtained by {@link #nextImage()}
+	 */
+	public void submit(BufferedImage image) {
+		long number = frameCount++;
+		framesInFlight.add(new Frame(image, pool.submit(() -> encode(image, number))));
+	}
+
+	private byte[] encode(BufferedImage image, long number) throws IOException {
+		switch (format) {
+		case PNG:
+			ImageIO.write(image, "png", directory.resolve(String.format("frame-%06d.png", number)).toFile());
+			return null;
+		case RGB:
+			int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+			byte[] bytes = new byte[3 * pixels.length];
+			for (int i = 0, j = 0; i < pixels.length; ++i) {
+				int rgb = pixels[i];
+				bytes[j++] = (byte) (rgb >> 16);
+				bytes[j++] = (byte) (rgb >> 8);
+				bytes[j++] = (byte) rgb;
+			}
+			return bytes;
+		default:
+			throw new IllegalArgumentException("Illegal frame format: " + format);
+		}
+	}
+
+	private BufferedImage completeOldestFrame() {
+		Frame frame = framesInFlight.poll();
+		try {
+			byte[] bytes = frame.result.get();
+			if (bytes != null) {
+				rawOut.write(bytes);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw new UncheckedIOException((IOException) e.getCause());
+			}
+			throw new IllegalStateException("Frame encoding failed", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while encoding frames", e);
+		}
+		return frame.image;
+	}
+
+	/**
+	 * Waits until all submitted frames are encoded and written and stops the encoder threads.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			while (!framesInFlight.isEmpty()) {
+				freeImages.push(completeOldestFrame());
+			}
+			if (rawOut != null) {
+				rawOut.flush();
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package de.amr.games.pacman.view.export;
+
+import static de.amr.games.pacman.PacManApp.settings;
+import static de.amr.games.pacman.controller.game.PacManGameState.LOADING_MUSIC;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+
+import de.amr.games.pacman.controller.game.GameController;
+import de.amr.games.pacman.controller.replay.ReplayPlayer;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.theme.api.Themes;
+import de.amr.games.pacman.view.export.FrameEncoder.Format;
+
+/**
+ * Exports the frames of a game as PNG files or as raw RGB video stream, without window and sound.
+ * <p>
+ * The game controller runs at maximum speed, one simulation tick per frame (60 frames per second of
+ * game time). Either a recorded game is played ({@code -replay file}) or a game in demo mode is
+ * started with the given seed. Each frame is drawn by the current view into an offscreen image
+ * which is handed to a {@link FrameEncoder}. The views are only drawn, their update (sound) is not
+ * called.
+ * <p>
+ * Usage: {@code FrameExporter [-replay file | -seed n] [-frames n] [-format png|rgb] [-out path]
+ * [-encoders n] [-scale s] [-theme name]}. With format {@code rgb} and out {@code -}, the frames are
+ * written to the standard output, e.g. for piping them into a video encoder. The throughput is
+ * reported on the standard error output.
+ *
+ * @author Armin Reichert
+ */
+public class FrameExporter {
+
+	public static class Options {
+
+		@Parameter(names = { "-frames" }, description = "Number of exported frames (default: complete replay or 3600)")
+		public long frames = -1;
+
+		@Parameter(names = { "-format" }, description = "Frame format (png, rgb)")
+		public String format = "png";
+
+		@Parameter(names = { "-out" }, description = "Directory of the PNG files or file of the RGB stream ('-' = standard output)")
+		public String out = "frames";
+
+		@Parameter(names = { "-encoders" }, description = "Number of encoder threads")
+		public int encoders = Runtime.getRuntime().availableProcessors();
+	}
+
+	/** Ticks the music may take to load before the game starts. */
+	static final int MUSIC_LOADING_TICKS = 60 * 60;
+
+	static final long DEFAULT_FRAMES = 3600;
+	static final long REPORT_INTERVAL = 600;
+
+	public static void main(String[] args) throws IOException {
+		Options options = new Options();
+		JCommander.newBuilder().programName("FrameExporter").addObject(settings).addObject(options).build().parse(args);
+		settings.skipIntro = true;
+		settings.muted = true;
+		settings.renderThread = false;
+		if (settings.replay == null) {
+			settings.demoMode = true;
+		}
+		new FrameExporter(options).run();
+	}
+
+	private final Options options;
+	private final Format format;
+
+	public FrameExporter(Options options) {
+		this.options = options;
+		format = Format.valueOf(options.format.toUpperCase());
+	}
+
+	/**
+	 * Runs the game and exports its frames.
+	 *
+	 * @throws IOException if the replay cannot be read or the frames cannot be written
+	 */
+	public void run() throws IOException {
+		GameController controller = new GameController(Themes.all());
+		controller.init();
+		ReplayPlayer player = controller.replayPlayer();
+		if (player == null) {
+			startGame(controller);
+		}
+		long frames = options.frames >= 0 ? options.frames
+				: player != null ? player.lastTick() - player.tick() : DEFAULT_FRAMES;
+		float scale = settings.scale > 0 ? settings.scale : 1;
+		int width = Math.round(controller.world.width() * Tile.SIZE * scale);
+		int height = Math.round(controller.world.height() * Tile.SIZE * scale);
+		Path directory = null;
+		OutputStream rawOut = null;
+		if (format == Format.PNG) {
+			directory = Files.createDirectories(Paths.get(options.out));
+		} else if ("-".equals(options.out)) {
+			rawOut = new BufferedOutputStream(System.out, 1 << 20);
+		} else {
+			rawOut = new BufferedOutputStream(Files.newOutputStream(Paths.get(options.out)), 1 << 20);
+		}
+		System.err.println(String.format("Exporting %d frames of size %dx%d as %s to '%s' using %d encoders", frames,
+				width, height, format, options.out, options.encoders));
+		long start = System.nanoTime();
+		try (FrameEncoder encoder = new FrameEncoder(format, directory, rawOut, width, height, options.encoders)) {
+			for (long frame = 0; frame < frames; ++frame) {
+				if (player != null) {
+					if (player.isComplete()) {
+						break;
+					}
+					player.step();
+				} else {
+					controller.step();
+				}
+				CLOCK.tick();
+				controller.folks.store.setInterpolation(1);
+				BufferedImage image = encoder.nextImage();
+				draw(controller, image, scale);
+				encoder.submit(image);
+				if ((frame + 1) % REPORT_INTERVAL == 0) {
+					report(frame + 1, start);
+				}
+			}
+			frames = encoder.frameCount();
+		} finally {
+			if (rawOut != null && !"-".equals(options.out)) {
+				rawOut.close();
+			}
+		}
+		report(frames, start);
+	}
+
+	private void startGame(GameController controller) {
+		controller.themes.current().sounds().loadMusic();
+		for (int tick = 0; controller.is(LOADING_MUSIC); ++tick) {
+			if (tick == MUSIC_LOADING_TICKS) {
+				throw new IllegalStateException("Game could not be started, music is not loaded");
+			}
+			controller.step();
+			try {
+				Thread.sleep(1000 / 60);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private void draw(GameController controller, BufferedImage image, float scale) {
+		Graphics2D g = image.createGraphics();
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, image.getWidth(), image.getHeight());
+		g.scale(scale, scale);
+		controller.currentView().ifPresent(view -> view.draw(g));
+		g.dispose();
+	}
+
+	private void report(long frames, long start) {
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.err.println(String.format("%8d frames %8.1f sec %8.1f frames/sec", frames, seconds, frames / seconds));
+	}
+}
@@ -13,6 +13,7 @@ import de.amr.games.pacman.controller.creatures.pacman.PacManState;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 import de.amr.games.pacman.theme.api.Theme;
 
@@ -28,6 +29,7 @@ public class ChaseGhostsAnimation extends GameObject {
 	private final Ghost blinky, inky, pinky, clyde;
 	private Theme theme;
 	private PacManRenderer pacManRenderer;
+	private GhostRenderer ghostRenderer;
 	private int points;
 
 	public ChaseGhostsAnimation(Theme theme, TiledWorld world) {
@@ -51,6 +53,7 @@ public class ChaseGhostsAnimation extends GameObject {
 	public void setTheme(Theme theme) {
 		this.theme = theme;
 		pacManRenderer = theme.pacManRenderer();
+		ghostRenderer = theme.ghostRenderer();
 	}
 
 	@Override
@@ -105,7 +108,7 @@ public class ChaseGhostsAnimation extends GameObject {
 	public void draw(Graphics2D g) {
 		pacManRenderer.render(g, pacMan);
 		ghosts().forEach(ghost -> {
-			theme.ghostRenderer().render(g, ghost);
+			ghostRenderer.render(g, ghost);
 		});
 	}
 }
\ No newline at end of file
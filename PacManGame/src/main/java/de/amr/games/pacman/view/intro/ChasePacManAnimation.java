@@ -17,6 +17,7 @@ import de.amr.games.pacman.controller.game.Timing;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 import de.amr.games.pacman.theme.api.Theme;
 
@@ -31,6 +32,7 @@ public class ChasePacManAnimation extends GameObject {
 	private final Ghost blinky, inky, pinky, clyde;
 	private Theme theme;
 	private PacManRenderer pacManRenderer;
+	private GhostRenderer ghostRenderer;
 
 	private long pelletTimer;
 	private PelletDisplay pelletDisplay;
@@ -56,6 +58,7 @@ public class ChasePacManAnimation extends GameObject {
 	public void setTheme(Theme theme) {
 		this.theme = theme;
 		pacManRenderer = theme.pacManRenderer();
+		ghostRenderer = theme.ghostRenderer();
 	}
 
 	@Override
@@ -127,7 +130,7 @@ public class ChasePacManAnimation extends GameObject {
 	public void draw(Graphics2D g) {
 		pacManRenderer.render(g, pacMan);
 		ghosts().forEach(ghost -> {
-			theme.ghostRenderer().render(g, ghost);
+			ghostRenderer.render(g, ghost);
 		});
 		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		int x = (int) pacMan.tf.x - Tile.SIZE;
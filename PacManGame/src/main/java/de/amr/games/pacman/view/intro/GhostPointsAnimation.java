@@ -19,6 +19,7 @@ import de.amr.games.pacman.controller.game.Timing;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 import de.amr.games.pacman.theme.api.Theme;
 
@@ -37,6 +38,7 @@ public class GhostPointsAnimation extends GameObject {
 	private final BitSet killed = new BitSet(5);
 	private Theme theme;
 	private PacManRenderer pacManRenderer;
+	private GhostRenderer ghostRenderer;
 
 	private int ghostToKill;
 	private long ghostTimer;
@@ -66,13 +68,14 @@ public class GhostPointsAnimation extends GameObject {
 	public void setTheme(Theme theme) {
 		this.theme = theme;
 		pacManRenderer = theme.pacManRenderer();
+		ghostRenderer = theme.ghostRenderer();
 	}
 
 	@Override
 	public void draw(Graphics2D g) {
 		pacManRenderer.render(g, pacMan);
 		ghosts().forEach(ghost -> {
-			theme.ghostRenderer().render(g, ghost);
+			ghostRenderer.render(g, ghost);
 		});
 		g.translate(tf.x + dx, tf.y);
 		renderPellet(g);
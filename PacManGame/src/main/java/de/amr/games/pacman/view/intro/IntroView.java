@@ -2,6 +2,7 @@ package de.amr.games.pacman.view.intro;
 
 import static de.amr.easy.game.Application.app;
 import static de.amr.games.pacman.PacManApp.settings;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
 import static de.amr.games.pacman.view.intro.IntroView.IntroState.CHASING_ANIMATIONS;
 import static de.amr.games.pacman.view.intro.IntroView.IntroState.READY_TO_PLAY;
 import static de.amr.games.pacman.view.intro.IntroView.IntroState.SCROLLING_LOGO_ANIMATION;
@@ -156,7 +157,7 @@ public class IntroView extends StateMachine<IntroState, Void> implements PacManG
 			int[] w = { fm.stringWidth(speedTexts[0]), fm.stringWidth(speedTexts[1]), fm.stringWidth(speedTexts[2]) };
 			float s = (width - (w[0] + w[1] + w[2])) / 4f;
 			float[] x = { s, s + w[0] + s, s + w[0] + s + w[1] + s };
-			int selectedSpeed = Arrays.asList(60, 70, 80).indexOf(app().clock().getTargetFramerate());
+			int selectedSpeed = Arrays.asList(60, 70, 80).indexOf(CLOCK.getTicksPerSecond());
 			for (int i = 0; i < 3; ++i) {
 				pen.color(selectedSpeed == i ? ORANGE : RED);
 				pen.draw(speedTexts[i], x[i], row * Tile.SIZE);
@@ -294,7 +295,7 @@ public class IntroView extends StateMachine<IntroState, Void> implements PacManG
 			chasePacMan.draw(g);
 			ghostPointsAnimation.draw(g);
 			gitHubLink.draw(g);
-			if (app().clock().getTotalTicks() % Timing.sec(1) < Timing.sec(0.5f)) {
+			if (CLOCK.getTicks() % Timing.sec(1) < Timing.sec(0.5f)) {
 				messagesRenderer.setRow(18);
 				messagesRenderer.setTextColor(Color.WHITE);
 				messagesRenderer.draw(g, texts.getString("press_space_to_start"), world.width());
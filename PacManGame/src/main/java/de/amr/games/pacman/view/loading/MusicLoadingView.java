@@ -3,7 +3,6 @@ package de.amr.games.pacman.view.loading;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Collectors;
 
 import de.amr.easy.game.math.Vector2f;
@@ -11,9 +10,11 @@ import de.amr.games.pacman.PacManApp;
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.MessagesRenderer;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 import de.amr.games.pacman.theme.api.Theme;
@@ -32,6 +33,7 @@ public class MusicLoadingView implements PacManGameView {
 	private final List<Ghost> ghosts = folks.ghosts().collect(Collectors.toList());
 	private Theme theme;
 	private PacManRenderer pacManRenderer;
+	private GhostRenderer ghostRenderer;
 	private MessagesRenderer messagesRenderer;
 
 	private final int width;
@@ -40,7 +42,7 @@ public class MusicLoadingView implements PacManGameView {
 	private int alphaInc;
 	private int ghostCount;
 	private int ghostInc;
-	private Random rnd = new Random();
+	private final SeededRandom rnd = new SeededRandom(System.nanoTime());
 
 	public MusicLoadingView(Theme theme) {
 		this.width = PacManApp.settings.width;
@@ -58,6 +60,7 @@ public class MusicLoadingView implements PacManGameView {
 	public void setTheme(Theme theme) {
 		this.theme = theme;
 		pacManRenderer = theme.pacManRenderer();
+		ghostRenderer = theme.ghostRenderer();
 		messagesRenderer = theme.messagesRenderer();
 	}
 
@@ -65,7 +68,7 @@ public class MusicLoadingView implements PacManGameView {
 	public void init() {
 		ghostCount = 0;
 		ghostInc = 1;
-		ghosts.forEach(ghost -> ghost.moveDir = Direction.random());
+		ghosts.forEach(ghost -> ghost.moveDir = Direction.random(rnd));
 		pacMan.init();
 		pacMan.wakeUp();
 		theme.sounds().loadMusic();
@@ -107,7 +110,7 @@ public class MusicLoadingView implements PacManGameView {
 			Ghost ghost = ghosts.get(rnd.nextInt(4));
 			ghost.tf.x = x;
 			ghost.tf.y = y;
-			theme.ghostRenderer().render(g, ghost);
+			ghostRenderer.render(g, ghost);
 			x += 20;
 		}
 	}
@@ -0,0 +1,259 @@
+package de.amr.games.pacman.view.play;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import de.amr.games.pacman.controller.creatures.CreatureStore;
+import de.amr.games.pacman.controller.creatures.Guy;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.arcade.ArcadeFood;
+import de.amr.games.pacman.view.common.Message;
+
+/**
+ * Collects the regions of the play view that have to be repainted in the current frame.
+ * <p>
+ * Damaged are the boxes of all creatures in the previous and the current frame, the tiles where
+ * food has been eaten or restored, the (blinking) energizers, the doors, the bonus row and the
+ * message rows and counters whose content has changed. While the world is flashing, after a theme
+ * change and on the first frame, the complete view is damaged.
+ * <p>
+ * The regions are taken from a pool of rectangles and the clip shape is reused, so collecting the
+ * damage of a frame allocates nothing once the pool has grown to the number of regions per frame.
+ *
+ * @author Armin Reichert
+ */
+class DirtyRegions {
+
+	/** Space around the tile position of a creature that its renderers may paint. */
+	static final int CREATURE_MARGIN = 2 * Tile.SIZE;
+
+	/** More regions than this are not worth clipping, the view is repainted completely. */
+	static final int MAX_REGIONS = 64;
+
+	/** Pooled rectangles, the first {@code regionCount} of them are the damaged regions. */
+	private Rectangle[] regions = new Rectangle[0];
+	private int regionCount;
+	private boolean all = true;
+	private final Rectangle viewBounds = new Rectangle();
+	private final Path2D path = new Path2D.Float();
+
+	private Rectangle[] guyBoxes = new Rectangle[0];
+	private boolean[] guyBoxed = new boolean[0];
+	private int bonusRow = -1;
+	private boolean worldWasChanging;
+	private Tile[] foodTiles;
+	private boolean[] eaten;
+	private long foodVersion;
+	private Tile[] energizerTiles = new Tile[0];
+	private int energizerCount;
+	private Tile[] doorTiles;
+	private int[] messageHashes = new int[0];
+	private int scoreHash, countersHash;
+
+	/**
+	 * Damages the complete view.
+	 */
+	public void invalidateAll() {
+		all = true;
+		regionCount = 0;
+	}
+
+	public void add(Rectangle region) {
+		if (region != null) {
+			add(region.x, region.y, region.width, region.height);
+		}
+	}
+
+	public void add(int x, int y, int width, int height) {
+		if (all) {
+			return;
+		}
+		if (regionCount == MAX_REGIONS) {
+			invalidateAll();
+			return;
+		}
+		if (regionCount == regions.length) {
+			regions = Arrays.copyOf(regions, Math.max(8, 2 * regions.length));
+			for (int i = regionCount; i < regions.length; ++i) {
+				regions[i] = new Rectangle();
+			}
+		}
+		regions[regionCount++].setBounds(x, y, width, height);
+	}
+
+	/**
+	 * Damages all regions of the view that change from the last to the current frame.
+	 *
+	 * @param view the play view
+	 */
+	public void collect(PlayView view) {
+		TiledWorld world = view.world;
+		int width = world.width() * Tile.SIZE;
+		if (world.isChanging() || worldWasChanging) {
+			invalidateAll();
+		}
+		worldWasChanging = world.isChanging();
+		collectCreatures(view.folks.store);
+		collectFood(world);
+		for (int i = 0; i < energizerCount; ++i) {
+			addTile(energizerTiles[i]);
+		}
+		if (doorTiles == null) {
+			doorTiles = world.houses().flatMap(house -> house.doors()).flatMap(door -> door.tiles()).toArray(Tile[]::new);
+		}
+		for (Tile tile : doorTiles) {
+			addTile(tile);
+		}
+		// bonus symbol and text may extend over the whole row
+		if (bonusRow != -1) {
+			add(0, (bonusRow - 1) * Tile.SIZE, width, 3 * Tile.SIZE);
+		}
+		bonusRow = world.temporaryFood().map(bonus -> (int) bonus.location().row).orElse(-1);
+		if (bonusRow != -1) {
+			add(0, (bonusRow - 1) * Tile.SIZE, width, 3 * Tile.SIZE);
+		}
+		collectMessages(view.messagesView.messages, width);
+		collectCounters(view, width);
+	}
+
+	private void addTile(Tile tile) {
+		add(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
+	}
+
+	private void collectCreatures(CreatureStore store) {
+		if (guyBoxes.length != store.size()) {
+			guyBoxes = new Rectangle[store.size()];
+			Arrays.setAll(guyBoxes, slot -> new Rectangle());
+			guyBoxed = new boolean[store.size()];
+			invalidateAll();
+		}
+		for (int slot = 0; slot < store.size(); ++slot) {
+			Guy<?> guy = store.guy(slot);
+			Rectangle box = guyBoxes[slot];
+			if (guyBoxed[slot]) {
+				add(box);
+			}
+			guyBoxed[slot] = guy.visible && guy.isInWorld();
+			if (guyBoxed[slot]) {
+				box.setBounds(Math.round(guy.renderX()) - CREATURE_MARGIN, Math.round(guy.renderY()) - CREATURE_MARGIN,
+						Tile.SIZE + 2 * CREATURE_MARGIN, Tile.SIZE + 2 * CREATURE_MARGIN);
+				add(box);
+			}
+		}
+	}
+
+	private void collectFood(TiledWorld world) {
+		if (foodTiles == null) {
+			foodTiles = world.tiles().filter(tile -> world.hasFood(tile) || world.hasEatenFood(tile)).toArray(Tile[]::new);
+			eaten = new boolean[foodTiles.length];
+			foodVersion = world.foodVersion() - 1;
+		}
+		if (foodVersion == world.foodVersion()) {
+			return;
+		}
+		foodVersion = world.foodVersion();
+		energizerCount = 0;
+		for (int i = 0; i < foodTiles.length; ++i) {
+			Tile tile = foodTiles[i];
+			boolean eatenNow = world.hasEatenFood(tile);
+			if (eatenNow != eaten[i]) {
+				addTile(tile);
+				eaten[i] = eatenNow;
+			}
+			if (world.hasFood(ArcadeFood.ENERGIZER, tile)) {
+				if (energizerCount == energizerTiles.length) {
+					energizerTiles = Arrays.copyOf(energizerTiles, Math.max(8, 2 * energizerTiles.length));
+				}
+				energizerTiles[energizerCount++] = tile;
+			}
+		}
+	}
+
+	private void collectMessages(List<Message> messages, int width) {
+		if (messageHashes.length != messages.size()) {
+			messageHashes = new int[messages.size()];
+		}
+		for (int i = 0; i < messages.size(); ++i) {
+			Message message = messages.get(i);
+			int hash = 31 * Objects.hashCode(message.text) + Objects.hashCode(message.color);
+			if (hash != messageHashes[i]) {
+				add(0, (message.row - 2) * Tile.SIZE, width, 4 * Tile.SIZE);
+				messageHashes[i] = hash;
+			}
+		}
+	}
+
+	private void collectCounters(PlayView view, int width) {
+		PacManGame game = view.game();
+		int height = view.world.height() * Tile.SIZE;
+		// no varargs hashing, it would box the values and allocate an array each frame
+		int hash = Boolean.hashCode(view.isShowingScores());
+		hash = 31 * hash + game.score;
+		hash = 31 * hash + game.hiscore.points;
+		hash = 31 * hash + game.hiscore.level;
+		hash = 31 * hash + game.level;
+		hash = 31 * hash + game.remainingFoodCount();
+		if (hash != scoreHash) {
+			add(0, 0, width, 3 * Tile.SIZE);
+			scoreHash = hash;
+		}
+		hash = 31 * game.lives + game.levelCounter.size();
+		if (hash != countersHash) {
+			add(0, height - 2 * Tile.SIZE, width, 2 * Tile.SIZE);
+			countersHash = hash;
+		}
+	}
+
+	/**
+	 * @param width  view width
+	 * @param height view height
+	 * @return the damaged area as clip shape, overlapping regions are merged before. The shape is
+	 *         reused, it is only valid until the next call.
+	 */
+	public Shape clip(int width, int height) {
+		if (all) {
+			viewBounds.setBounds(0, 0, width, height);
+			return viewBounds;
+		}
+		merge();
+		path.reset();
+		for (int i = 0; i < regionCount; ++i) {
+			path.append(regions[i], false);
+		}
+		return path;
+	}
+
+	private void merge() {
+		boolean merged = true;
+		while (merged) {
+			merged = false;
+			for (int i = 0; i < regionCount && !merged; ++i) {
+				for (int j = i + 1; j < regionCount; ++j) {
+					if (regions[i].intersects(regions[j])) {
+						regions[i].add(regions[j]);
+						// keep the rectangle in the pool
+						Rectangle removed = regions[j];
+						regions[j] = regions[--regionCount];
+						regions[regionCount] = removed;
+						merged = true;
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Starts collecting the damage of the next frame.
+	 */
+	public void clear() {
+		all = false;
+		regionCount = 0;
+	}
+}
@@ -0,0 +1,104 @@
+package de.amr.games.pacman.view.play;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
+import de.amr.games.pacman.model.world.components.Door.DoorState;
+import de.amr.games.pacman.view.common.Message;
+
+/**
+ * Copy of everything the play view draws, filled by the game thread at the end of a frame and drawn
+ * by the render thread.
+ * <p>
+ * The three snapshots of the render thread's triple buffer are allocated once and the game thread
+ * fills the back snapshot in place, so publishing a frame allocates nothing. A snapshot is only
+ * filled while it is the back buffer, i.e. never while the render thread draws it.
+ * <p>
+ * The creature data is indexed by the slot of the creature store (Pac-Man in slot 0, the ghosts
+ * following). The food is not copied but only the changes since the last frame consumed by the
+ * render thread: index {@code k} of a food tile means "eaten", {@code ~k} means "restored".
+ * Applying the changes of a frame again has no effect, so the changes of skipped frames are simply
+ * included in the next frame. The bonus is a copy which is never modified.
+ * 
+ * @author Armin Reichert
+ */
+final class FrameSnapshot {
+
+	final float[] x;
+	final float[] y;
+	final Direction[] moveDir;
+	final boolean[] visible;
+	final boolean[] inWorld;
+	PacManState pacManState;
+	final GhostState[] ghostStates;
+	final int[] bounty;
+	final boolean[] recovering;
+
+	int[] foodChanges = new int[64];
+	int foodChangeCount;
+	final DoorState[] doorStates;
+	boolean frozen;
+	boolean changing;
+	ArcadeBonus bonus;
+
+	String[] messageTexts = new String[0];
+	Color[] messageColors = new Color[0];
+	int messageCount;
+	PacManGame game;
+	boolean showingScores;
+
+	/**
+	 * @param guyCount   number of creatures (Pac-Man and the ghosts)
+	 * @param ghostCount number of ghosts
+	 * @param doorCount  number of doors
+	 */
+	FrameSnapshot(int guyCount, int ghostCount, int doorCount) {
+		x = new float[guyCount];
+		y = new float[guyCount];
+		moveDir = new Direction[guyCount];
+		visible = new boolean[guyCount];
+		inWorld = new boolean[guyCount];
+		ghostStates = new GhostState[ghostCount];
+		bounty = new int[ghostCount];
+		recovering = new boolean[ghostCount];
+		doorStates = new DoorState[doorCount];
+	}
+
+	/**
+	 * Copies the given food changes.
+	 * 
+	 * @param changes food changes
+	 * @param count   number of food changes
+	 */
+	void setFoodChanges(int[] changes, int count) {
+		if (foodChanges.length < count) {
+			foodChanges = Arrays.copyOf(foodChanges, Math.max(count, 2 * foodChanges.length));
+		}
+		System.arraycopy(changes, 0, foodChanges, 0, count);
+		foodChangeCount = count;
+	}
+
+	/**
+	 * Copies the texts and colors of the given messages.
+	 * 
+	 * @param messages messages of the play view
+	 */
+	void setMessages(List<Message> messages) {
+		messageCount = messages.size();
+		if (messageTexts.length < messageCount) {
+			messageTexts = new String[messageCount];
+			messageColors = new Color[messageCount];
+		}
+		for (int i = 0; i < messageCount; ++i) {
+			Message message = messages.get(i);
+			messageTexts[i] = message.text;
+			messageColors[i] = message.color;
+		}
+	}
+}
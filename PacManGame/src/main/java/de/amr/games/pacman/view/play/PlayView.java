@@ -3,25 +3,44 @@ package de.amr.games.pacman.view.play;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.DEAD;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.ENTERING_HOUSE;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTENED;
-import static de.amr.games.pacman.model.game.PacManGame.game;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.model.game.PacManGame;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.theme.api.FramebufferRenderer;
 import de.amr.games.pacman.theme.api.GameRenderer;
+import de.amr.games.pacman.theme.api.GhostRenderer;
 import de.amr.games.pacman.theme.api.PacManRenderer;
 import de.amr.games.pacman.theme.api.Theme;
 import de.amr.games.pacman.theme.api.WorldRenderer;
 import de.amr.games.pacman.view.api.PacManGameView;
+import de.amr.games.pacman.view.common.Framebuffer;
 import de.amr.games.pacman.view.common.MessagesView;
+import de.amr.games.pacman.view.common.Rendering;
 
 /**
  * Displays the maze and the game play.
+ * <p>
+ * The view is drawn into a persistent back buffer of the display resolution. Each frame, only the
+ * regions that have changed since the last frame (see {@link DirtyRegions}) are cleared and
+ * repainted, then the back buffer is drawn onto the screen.
+ * <p>
+ * With framebuffer rendering enabled and supported by the theme, the complete view is rendered
+ * into a framebuffer of the world size (see {@link FramebufferRenderer}) which is scaled onto the
+ * screen by an integer factor (see {@link Framebuffer#draw(Graphics2D)}).
+ * <p>
+ * The renderers of a theme are taken from a {@link RendererCache}, so switching themes does not
+ * create new renderers when the cache has been preloaded.
  * 
  * @author Armin Reichert
  */
@@ -38,6 +57,16 @@ public class PlayView implements PacManGameView {
 	protected GameRenderer livesCounterRenderer;
 	protected GameRenderer levelCounterRenderer;
 	protected PacManRenderer pacManRenderer;
+	protected GhostRenderer ghostRenderer;
+	protected FramebufferRenderer framebufferRenderer;
+	protected RenderThread renderThread;
+
+	private RendererCache rendererCache = new RendererCache();
+	private final DirtyRegions dirtyRegions = new DirtyRegions();
+	private BufferedImage backBuffer;
+	private double backBufferScale;
+	private boolean framebufferRendering;
+	private Framebuffer framebuffer;
 
 	public PlayView(Theme theme, Folks folks, TiledWorld world) {
 		this.folks = folks;
@@ -54,11 +83,78 @@ public class PlayView implements PacManGameView {
 	@Override
 	public void init() {
 		messagesView.clearMessages();
+		invalidate();
+	}
+
+	/**
+	 * Lets the next frame repaint the complete view.
+	 */
+	protected void invalidate() {
+		dirtyRegions.invalidateAll();
 	}
 
 	@Override
 	public void update() {
 		renderSound();
+		if (renderThread != null && renderThread.hasFailed()) {
+			// draw in the game thread from now on
+			renderThread = null;
+			invalidate();
+		}
+		if (renderThread != null) {
+			renderThread.publish(this);
+		}
+	}
+
+	/**
+	 * Lets the given thread draw this view. This view then publishes a snapshot of its state on every
+	 * update and only blits the images drawn by the render thread.
+	 * 
+	 * @param renderThread render thread or {@code null} for drawing in the game thread
+	 */
+	public void setRenderThread(RenderThread renderThread) {
+		this.renderThread = renderThread;
+	}
+
+	/**
+	 * Lets this view take its renderers from the given (e.g. preloaded) cache.
+	 * 
+	 * @param rendererCache renderer cache
+	 */
+	public void setRendererCache(RendererCache rendererCache) {
+		this.rendererCache = rendererCache;
+		updateRenderers();
+		invalidate();
+	}
+
+	/**
+	 * Lets this view draw into a framebuffer if the theme provides a framebuffer renderer.
+	 * 
+	 * @param enabled if framebuffer rendering is used
+	 */
+	public void setFramebufferRendering(boolean enabled) {
+		framebufferRendering = enabled;
+		updateRenderers();
+		invalidate();
+	}
+
+	/**
+	 * @return if this view draws into a framebuffer, i.e. framebuffer rendering is enabled and
+	 *         supported by the current theme
+	 */
+	public boolean isDrawingIntoFramebuffer() {
+		return framebufferRendering && framebufferRenderer != null;
+	}
+
+	/**
+	 * @return the game displayed by this view
+	 */
+	public PacManGame game() {
+		return PacManGame.game;
+	}
+
+	public boolean isShowingScores() {
+		return true;
 	}
 
 	@Override
@@ -71,18 +167,65 @@ public class PlayView implements PacManGameView {
 		this.theme = theme;
 		messagesView.setTheme(theme);
 		updateRenderers();
+		invalidate();
 	}
 
 	private void updateRenderers() {
-		worldRenderer = theme.worldRenderer();
-		pointsCounterRenderer = theme.gameScoreRenderer();
-		livesCounterRenderer = theme.livesCounterRenderer();
-		levelCounterRenderer = theme.levelCounterRenderer();
-		pacManRenderer = theme.pacManRenderer();
+		RendererCache.Renderers renderers = rendererCache.get(theme);
+		worldRenderer = renderers.world;
+		pointsCounterRenderer = renderers.score;
+		livesCounterRenderer = renderers.livesCounter;
+		levelCounterRenderer = renderers.levelCounter;
+		pacManRenderer = renderers.pacMan;
+		ghostRenderer = renderers.ghost;
+		framebufferRenderer = framebufferRendering ? renderers.framebuffer() : null;
 	}
 
 	@Override
 	public void draw(Graphics2D g) {
+		if (renderThread != null) {
+			renderThread.drawFrame(g);
+			return;
+		}
+		int width = world.width() * Tile.SIZE, height = world.height() * Tile.SIZE;
+		if (isDrawingIntoFramebuffer()) {
+			if (framebuffer == null) {
+				framebuffer = new Framebuffer(width, height);
+			}
+			framebufferRenderer.render(framebuffer, this);
+			framebuffer.draw(g);
+			// the back buffer is outdated when drawing with Java2D again
+			invalidate();
+			return;
+		}
+		double scale = g.getTransform().getScaleX();
+		if (backBuffer == null || scale != backBufferScale) {
+			backBuffer = Rendering.compatibleImage((int) Math.ceil(width * scale), (int) Math.ceil(height * scale),
+					Transparency.TRANSLUCENT);
+			backBufferScale = scale;
+			invalidate();
+		}
+		dirtyRegions.collect(this);
+		Shape damage = dirtyRegions.clip(width, height);
+		Graphics2D bg = backBuffer.createGraphics();
+		bg.setRenderingHints(g.getRenderingHints());
+		bg.scale(scale, scale);
+		bg.setComposite(AlphaComposite.Clear);
+		bg.fill(damage);
+		bg.setComposite(AlphaComposite.SrcOver);
+		bg.clip(damage);
+		drawContent(bg);
+		bg.dispose();
+		dirtyRegions.clear();
+		g.drawImage(backBuffer, 0, 0, width, height, null);
+	}
+
+	/**
+	 * Draws the world, the messages, the folks and the counters.
+	 * 
+	 * @param g graphics context
+	 */
+	protected void drawContent(Graphics2D g) {
 		drawWorld(g);
 		drawMessages(g);
 		drawFolks(g);
@@ -96,18 +239,20 @@ public class PlayView implements PacManGameView {
 	}
 
 	protected void drawPointsCounter(Graphics2D g) {
-		pointsCounterRenderer.render(g, game);
+		if (isShowingScores()) {
+			pointsCounterRenderer.render(g, game());
+		}
 	}
 
 	protected void drawLivesCounter(Graphics2D g) {
 		g.translate(Tile.SIZE, (world.height() - 2) * Tile.SIZE);
-		livesCounterRenderer.render(g, game);
+		livesCounterRenderer.render(g, game());
 		g.translate(-Tile.SIZE, -(world.height() - 2) * Tile.SIZE);
 	}
 
 	protected void drawLevelCounter(Graphics2D g) {
 		g.translate(world.width() * Tile.SIZE, (world.height() - 2) * Tile.SIZE);
-		levelCounterRenderer.render(g, game);
+		levelCounterRenderer.render(g, game());
 		g.translate(-world.width() * Tile.SIZE, -(world.height() - 2) * Tile.SIZE);
 	}
 
@@ -116,7 +261,7 @@ public class PlayView implements PacManGameView {
 	}
 
 	protected void drawGhost(Graphics2D g, Ghost ghost) {
-		theme.ghostRenderer().render(g, ghost);
+		ghostRenderer.render(g, ghost);
 	}
 
 	protected void drawFolks(Graphics2D g) {
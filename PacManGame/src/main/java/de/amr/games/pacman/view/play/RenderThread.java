@@ -0,0 +1,362 @@
+package de.amr.games.pacman.view.play;
+
+import static de.amr.easy.game.Application.app;
+import static de.amr.easy.game.Application.loginfo;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.Guy;
+import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.pacman.PacMan;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.game.SeededRandom;
+import de.amr.games.pacman.model.world.api.TemporaryFood;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
+import de.amr.games.pacman.model.world.components.Door;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.view.common.Rendering;
+
+/**
+ * Draws the play view in a separate thread such that slow drawing (e.g. on a high-resolution
+ * full-screen display) never delays the simulation.
+ * <p>
+ * At the end of each frame, the game thread fills a {@link FrameSnapshot} of the live world and
+ * creatures and publishes it. The render thread puts a world and creatures of its own into the state
+ * of the latest snapshot, draws them with a play view of its own into an image and publishes the
+ * image. The play view of the game thread only blits the latest image. Snapshots and images are
+ * passed through lock-free triple buffers, so neither thread ever waits for the other.
+ * <p>
+ * If drawing fails, the render thread ends and the play view draws itself in the game thread again.
+ *
+ * @author Armin Reichert
+ */
+public class RenderThread extends Thread {
+
+	private final TripleBuffer<FrameSnapshot> frames;
+	private final TripleBuffer<BufferedImage> images = new TripleBuffer<>();
+	private final Tile[] foodTiles;
+	private volatile Theme theme;
+	private volatile boolean failed;
+
+	// game thread
+	private final TiledWorld world;
+	private final Folks folks;
+	private final Door[] doors;
+	private final boolean[] publishedEaten;
+	private long publishedFoodVersion;
+	private int[] foodChanges = new int[64];
+	private int foodChangeCount;
+	private int publishedFoodChangeCount;
+	private PacManGame game, gameCopy;
+	private ArcadeBonus bonusCopy;
+
+	// render thread
+	private final TiledWorld renderWorld;
+	private final Folks renderFolks;
+	private final Door[] renderDoors;
+	private final boolean[] renderedEaten;
+	private final PlayView renderView;
+	private FrameSnapshot frame;
+	private ArcadeBonus appliedBonus;
+
+	/**
+	 * @param theme                theme of the play view
+	 * @param folks                the live folks
+	 * @param world                the live world
+	 * @param framebufferRendering if the play view is drawn into a framebuffer (if the theme supports
+	 *                             it)
+	 */
+	public RenderThread(Theme theme, Folks folks, TiledWorld world, boolean framebufferRendering) {
+		super("Render");
+		setDaemon(true);
+		this.theme = theme;
+		this.folks = folks;
+		this.world = world;
+		renderWorld = world.freshCopy();
+		foodTiles = world.tiles().filter(tile -> world.hasFood(tile) || world.hasEatenFood(tile)).toArray(Tile[]::new);
+		publishedEaten = new boolean[foodTiles.length];
+		publishedFoodVersion = world.foodVersion() - 1;
+		renderedEaten = new boolean[foodTiles.length];
+		doors = world.houses().flatMap(House::doors).toArray(Door[]::new);
+		renderDoors = renderWorld.houses().flatMap(House::doors).toArray(Door[]::new);
+		frames = new TripleBuffer<>(() -> new FrameSnapshot(folks.store.size(), folks.ghostCount(), doors.length));
+		renderFolks = new Folks(renderWorld, renderWorld.house(0).get(), new SeededRandom(0), folks.ghostCount());
+		renderView = new PlayView(theme, renderFolks, renderWorld) {
+
+			@Override
+			public PacManGame game() {
+				return frame.game;
+			}
+
+			@Override
+			public boolean isShowingScores() {
+				return frame.showingScores;
+			}
+		};
+		renderView.setFramebufferRendering(framebufferRendering);
+	}
+
+	/**
+	 * Publishes a snapshot of the given (live) play view. Called by the game thread at the end of
+	 * each frame.
+	 *
+	 * @param view the play view
+	 */
+	public void publish(PlayView view) {
+		theme = view.getTheme();
+		collectFoodChanges();
+		// the back snapshot is not accessed by the render thread until it is published
+		FrameSnapshot snapshot = frames.back();
+		for (int slot = 0; slot < folks.store.size(); ++slot) {
+			Guy<?> guy = folks.store.guy(slot);
+			snapshot.x[slot] = guy.renderX();
+			snapshot.y[slot] = guy.renderY();
+			snapshot.moveDir[slot] = guy.moveDir;
+			snapshot.visible[slot] = guy.visible;
+			snapshot.inWorld[slot] = guy.isInWorld();
+		}
+		snapshot.pacManState = folks.pacMan.ai.getState();
+		for (int i = 0; i < folks.ghostCount(); ++i) {
+			Ghost ghost = folks.ghost(i);
+			snapshot.ghostStates[i] = ghost.ai.getState();
+			snapshot.bounty[i] = ghost.bounty;
+			snapshot.recovering[i] = ghost.recovering;
+		}
+		snapshot.setFoodChanges(foodChanges, foodChangeCount);
+		for (int i = 0; i < doors.length; ++i) {
+			snapshot.doorStates[i] = doors[i].state;
+		}
+		snapshot.frozen = world.isFrozen();
+		snapshot.changing = world.isChanging();
+		snapshot.bonus = copyBonus();
+		snapshot.setMessages(view.messagesView.messages);
+		snapshot.game = copyGame(view.game());
+		snapshot.showingScores = view.isShowingScores();
+		if (!frames.publish()) {
+			// the previous snapshot has been taken by the render thread, so have its food changes
+			dropFoodChanges(publishedFoodChangeCount);
+		}
+		publishedFoodChangeCount = foodChangeCount;
+		LockSupport.unpark(this);
+	}
+
+	private void collectFoodChanges() {
+		if (world.foodVersion() == publishedFoodVersion) {
+			return;
+		}
+		publishedFoodVersion = world.foodVersion();
+		for (int k = 0; k < foodTiles.length; ++k) {
+			boolean eaten = world.hasEatenFood(foodTiles[k]);
+			if (eaten != publishedEaten[k]) {
+				publishedEaten[k] = eaten;
+				if (foodChangeCount == foodChanges.length) {
+					foodChanges = Arrays.copyOf(foodChanges, 2 * foodChanges.length);
+				}
+				foodChanges[foodChangeCount++] = eaten ? k : ~k;
+			}
+		}
+	}
+
+	private void dropFoodChanges(int count) {
+		System.arraycopy(foodChanges, count, foodChanges, 0, foodChangeCount - count);
+		foodChangeCount -= count;
+	}
+
+	private ArcadeBonus copyBonus() {
+		TemporaryFood food = world.temporaryFood().orElse(null);
+		if (!(food instanceof ArcadeBonus)) {
+			bonusCopy = null;
+		} else {
+			ArcadeBonus bonus = (ArcadeBonus) food;
+			if (bonusCopy == null || bonusCopy.symbol != bonus.symbol || bonusCopy.value() != bonus.value()
+					|| bonusCopy.isActive() != bonus.isActive() || bonusCopy.isConsumed() != bonus.isConsumed()) {
+				bonusCopy = ArcadeBonus.of(bonus.symbol.name(), bonus.value());
+				if (bonus.isActive()) {
+					bonusCopy.activate();
+				}
+				if (bonus.isConsumed()) {
+					bonusCopy.consume();
+				}
+			}
+		}
+		return bonusCopy;
+	}
+
+	private PacManGame copyGame(PacManGame current) {
+		if (current == null) {
+			gameCopy = null;
+		} else if (current != game || gameCopy.score != current.score || gameCopy.lives != current.lives
+				|| gameCopy.eatenFoodCount != current.eatenFoodCount
+				|| gameCopy.levelCounter.size() != current.levelCounter.size()
+				|| gameCopy.hiscore.points != current.hiscore.points) {
+			gameCopy = current.copy();
+		}
+		game = current;
+		return gameCopy;
+	}
+
+	/**
+	 * Blits the latest image drawn by the render thread. Called by the game thread.
+	 *
+	 * @param g graphics context of the play view
+	 */
+	public void drawFrame(Graphics2D g) {
+		images.update();
+		BufferedImage image = images.front();
+		if (image != null) {
+			g.drawImage(image, 0, 0, world.width() * Tile.SIZE, world.height() * Tile.SIZE, null);
+		}
+	}
+
+	/**
+	 * @return {@code true} if drawing has failed and the render thread has ended
+	 */
+	public boolean hasFailed() {
+		return failed;
+	}
+
+	@Override
+	public void run() {
+		loginfo("Render thread started");
+		try {
+			while (true) {
+				if (frames.update()) {
+					frame = frames.front();
+					if (renderView.getTheme() != theme) {
+						renderView.setTheme(theme);
+					}
+					apply(frame);
+					draw();
+				} else {
+					LockSupport.park(this);
+				}
+			}
+		} catch (RuntimeException e) {
+			loginfo("Render thread failed, drawing continues in the game thread: %s", e);
+			e.printStackTrace();
+			failed = true;
+		}
+	}
+
+	private void apply(FrameSnapshot frame) {
+		for (int slot = 0; slot < renderFolks.store.size(); ++slot) {
+			Guy<?> guy = renderFolks.store.guy(slot);
+			if (guy.isInWorld() != frame.inWorld[slot]) {
+				if (frame.inWorld[slot]) {
+					renderWorld.include(guy);
+				} else {
+					renderWorld.exclude(guy);
+				}
+			}
+			guy.tf.setPosition(frame.x[slot], frame.y[slot]);
+			guy.moveDir = frame.moveDir[slot];
+			guy.visible = frame.visible[slot];
+		}
+		PacMan pacMan = renderFolks.pacMan;
+		if (frame.pacManState != null && pacMan.ai.getState() != frame.pacManState) {
+			if (pacMan.ai.getState() == PacManState.DEAD) {
+				renderView.pacManRenderer.resetAnimations(pacMan);
+			}
+			pacMan.ai.resumeState(frame.pacManState);
+		}
+		for (int i = 0; i < frame.ghostStates.length; ++i) {
+			Ghost ghost = renderFolks.ghost(i);
+			if (frame.ghostStates[i] != null && ghost.ai.getState() != frame.ghostStates[i]) {
+				ghost.ai.resumeState(frame.ghostStates[i]);
+			}
+			ghost.bounty = frame.bounty[i];
+			ghost.recovering = frame.recovering[i];
+		}
+		applyFoodChanges(frame.foodChanges, frame.foodChangeCount);
+		for (int i = 0; i < renderDoors.length; ++i) {
+			renderDoors[i].state = frame.doorStates[i];
+		}
+		renderWorld.setFrozen(frame.frozen);
+		renderWorld.setChanging(frame.changing);
+		applyBonus(frame.bonus);
+		for (int i = 0; i < frame.messageCount; ++i) {
+			if (frame.messageTexts[i] != null) {
+				renderView.messagesView.showMessage(i + 1, frame.messageTexts[i], frame.messageColors[i]);
+			} else {
+				renderView.messagesView.clearMessage(i + 1);
+			}
+		}
+	}
+
+	private void applyFoodChanges(int[] changes, int count) {
+		boolean restored = false;
+		for (int i = 0; i < count; ++i) {
+			int change = changes[i];
+			if (change >= 0) {
+				renderedEaten[change] = true;
+				renderWorld.removeFood(foodTiles[change]);
+			} else {
+				renderedEaten[~change] = false;
+				restored = true;
+			}
+		}
+		// there is no way to restore a single food tile
+		if (restored) {
+			renderWorld.restoreFood();
+			for (int k = 0; k < foodTiles.length; ++k) {
+				if (renderedEaten[k]) {
+					renderWorld.removeFood(foodTiles[k]);
+				}
+			}
+		}
+	}
+
+	private void applyBonus(ArcadeBonus bonus) {
+		if (bonus == appliedBonus) {
+			return;
+		}
+		appliedBonus = bonus;
+		if (bonus == null) {
+			renderWorld.hideTemporaryFood();
+			return;
+		}
+		// the copy in the snapshot is never modified, showing the bonus activates it
+		ArcadeBonus shown = ArcadeBonus.of(bonus.symbol.name(), bonus.value());
+		renderWorld.showTemporaryFood(shown);
+		if (!bonus.isActive()) {
+			shown.deactivate();
+		}
+		if (bonus.isConsumed()) {
+			shown.consume();
+		}
+	}
+
+	private void draw() {
+		float scale = app().settings().scale;
+		int width = Math.round(renderWorld.width() * Tile.SIZE * scale);
+		int height = Math.round(renderWorld.height() * Tile.SIZE * scale);
+		BufferedImage image = images.back();
+		if (image == null || image.getWidth() != width || image.getHeight() != height) {
+			image = Rendering.compatibleImage(width, height, Transparency.TRANSLUCENT);
+			images.setBack(image);
+		}
+		Graphics2D g = image.createGraphics();
+		g.setComposite(AlphaComposite.Clear);
+		g.fillRect(0, 0, width, height);
+		g.setComposite(AlphaComposite.SrcOver);
+		g.scale(scale, scale);
+		if (renderView.isDrawingIntoFramebuffer()) {
+			// the render view has no render thread, so it draws its framebuffer
+			renderView.draw(g);
+		} else {
+			renderView.drawContent(g);
+		}
+		g.dispose();
+		images.publish();
+	}
+}
@@ -0,0 +1,159 @@
+package de.amr.games.pacman.view.play;
+
+import static de.amr.easy.game.Application.loginfo;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.creatures.pacman.PacManState;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.game.SeededRandom;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.api.TiledWorld;
+import de.amr.games.pacman.theme.api.FramebufferRenderer;
+import de.amr.games.pacman.theme.api.GameRenderer;
+import de.amr.games.pacman.theme.api.GhostRenderer;
+import de.amr.games.pacman.theme.api.PacManRenderer;
+import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.theme.api.WorldRenderer;
+import de.amr.games.pacman.view.common.Rendering;
+
+/**
+ * The renderers of the play view per theme. Switching back to a theme reuses its renderers
+ * including their caches (maze images, glyphs, sprites).
+ * <p>
+ * The renderers of all themes can be preloaded by a background thread, e.g. during the intro: the
+ * shared caches of a theme are built (see {@link Theme#warmUp()}), then its renderers are created
+ * and draw one frame into an offscreen image of the display scale, which builds the images and
+ * glyph caches of the renderers. Like the render thread, the preloader draws a world and creatures
+ * of its own, the live ones are never touched. The preloader's creatures are drawn by throwaway
+ * renderers, so the cached renderers never keep state of them. A theme's renderers are only added
+ * to the cache after they have been warmed up, so they are never used by two threads at the same
+ * time. Themes requested before they are preloaded get fresh renderers.
+ *
+ * @author Armin Reichert
+ */
+public class RendererCache {
+
+	/**
+	 * The renderers of a theme used by the play view.
+	 */
+	public static class Renderers {
+
+		public final WorldRenderer world;
+		public final PacManRenderer pacMan;
+		public final GhostRenderer ghost;
+		public final GameRenderer score;
+		public final GameRenderer livesCounter;
+		public final GameRenderer levelCounter;
+		private final Theme theme;
+		private FramebufferRenderer framebuffer;
+		private boolean framebufferCreated;
+
+		public Renderers(Theme theme) {
+			this.theme = theme;
+			world = theme.worldRenderer();
+			pacMan = theme.pacManRenderer();
+			ghost = theme.ghostRenderer();
+			score = theme.gameScoreRenderer();
+			livesCounter = theme.livesCounterRenderer();
+			levelCounter = theme.levelCounterRenderer();
+		}
+
+		/**
+		 * @return the framebuffer renderer of the theme (created on first access) or {@code null}
+		 */
+		public FramebufferRenderer framebuffer() {
+			if (!framebufferCreated) {
+				framebuffer = theme.framebufferRenderer().orElse(null);
+				framebufferCreated = true;
+			}
+			return framebuffer;
+		}
+	}
+
+	private final Map<Theme, Renderers> renderersByTheme = new ConcurrentHashMap<>();
+	private Thread preloader;
+
+	/**
+	 * @param theme theme
+	 * @return the renderers of the theme, created if not yet cached
+	 */
+	public Renderers get(Theme theme) {
+		return renderersByTheme.computeIfAbsent(theme, Renderers::new);
+	}
+
+	/**
+	 * Starts preloading the given themes in a background thread. Does nothing if preloading has already
+	 * been started.
+	 *
+	 * @param themes themes
+	 * @param world  the live world, the preloader draws a fresh copy of it taken by the calling thread
+	 * @param scale  display scale
+	 */
+	public synchronized void preload(List<Theme> themes, TiledWorld world, float scale) {
+		if (preloader != null) {
+			return;
+		}
+		TiledWorld preloadWorld = world.freshCopy();
+		preloader = new Thread(() -> {
+			Folks preloadFolks = new Folks(preloadWorld, preloadWorld.house(0).get(), new SeededRandom(0));
+			preloadFolks.guys().forEach(preloadWorld::include);
+			preloadFolks.pacMan.ai.resumeState(PacManState.AWAKE);
+			preloadFolks.ghosts().forEach(ghost -> ghost.ai.resumeState(GhostState.SCATTERING));
+			themes.forEach(theme -> preload(theme, preloadFolks, preloadWorld, scale));
+		}, "ThemePreloader");
+		preloader.setDaemon(true);
+		preloader.setPriority(Thread.MIN_PRIORITY);
+		preloader.start();
+	}
+
+	private void preload(Theme theme, Folks folks, TiledWorld world, float scale) {
+		if (renderersByTheme.containsKey(theme)) {
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			theme.warmUp();
+			Renderers renderers = new Renderers(theme);
+			renderers.framebuffer();
+			BufferedImage image = Rendering.compatibleImage(Math.round(world.width() * Tile.SIZE * scale),
+					Math.round(world.height() * Tile.SIZE * scale), Transparency.TRANSLUCENT);
+			// text caches depend on the anti-aliasing, so warm up with and without
+			warmUp(theme, renderers, image, scale, folks, world, false);
+			warmUp(theme, renderers, image, scale, folks, world, true);
+			if (renderersByTheme.putIfAbsent(theme, renderers) == null) {
+				loginfo("Theme %s preloaded in %d ms", theme.name(), (System.nanoTime() - start) / 1_000_000);
+			}
+		} catch (RuntimeException e) {
+			loginfo("Theme %s could not be preloaded: %s", theme.name(), e);
+		}
+	}
+
+	private void warmUp(Theme theme, Renderers renderers, BufferedImage image, float scale, Folks folks,
+			TiledWorld world, boolean smooth) {
+		Graphics2D g = image.createGraphics();
+		g.scale(scale, scale);
+		if (smooth) {
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		}
+		renderers.world.render(g, world);
+		theme.pacManRenderer().render(g, folks.pacMan);
+		GhostRenderer ghostRenderer = theme.ghostRenderer();
+		folks.ghosts().forEach(ghost -> ghostRenderer.render(g, ghost));
+		if (PacManGame.started()) {
+			renderers.score.render(g, PacManGame.game);
+			renderers.livesCounter.render(g, PacManGame.game);
+			renderers.levelCounter.render(g, PacManGame.game);
+		}
+		g.dispose();
+	}
+}
@@ -0,0 +1,93 @@
+package de.amr.games.pacman.view.play;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer passing values from one producer thread to one consumer thread.
+ * <p>
+ * The producer fills its back buffer and publishes it by swapping it with the middle buffer, the
+ * consumer takes the latest published value by swapping its front buffer with the middle buffer.
+ * Neither thread ever waits for the other, values that are published faster than they are consumed
+ * are skipped.
+ * 
+ * @param <T> value type
+ * 
+ * @author Armin Reichert
+ */
+class TripleBuffer<T> {
+
+	private static final int INDEX = 3, FRESH = 4;
+
+	private final Object[] buffers = new Object[3];
+	private final AtomicInteger middle = new AtomicInteger(1);
+	private int back = 0;
+	private int front = 2;
+
+	/**
+	 * Creates a triple buffer with empty buffers.
+	 */
+	public TripleBuffer() {
+	}
+
+	/**
+	 * Creates a triple buffer whose buffers hold values that are filled in place by the producer.
+	 * 
+	 * @param factory creates the value of each buffer
+	 */
+	public TripleBuffer(Supplier<T> factory) {
+		for (int i = 0; i < buffers.length; ++i) {
+			buffers[i] = factory.get();
+		}
+	}
+
+	/**
+	 * Sets the value of the back buffer (producer thread only).
+	 * 
+	 * @param value value
+	 */
+	public void setBack(T value) {
+		buffers[back] = value;
+	}
+
+	/**
+	 * @return value of the back buffer (producer thread only), the value consumed before the last
+	 *         publication or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public T back() {
+		return (T) buffers[back];
+	}
+
+	/**
+	 * Publishes the back buffer (producer thread only).
+	 * 
+	 * @return {@code true} if the previously published value has been skipped by the consumer
+	 */
+	public boolean publish() {
+		int previous = middle.getAndSet(back | FRESH);
+		back = previous & INDEX;
+		return (previous & FRESH) != 0;
+	}
+
+	/**
+	 * Takes the latest published value into the front buffer (consumer thread only).
+	 * 
+	 * @return {@code true} if a new value has been published since the last update
+	 */
+	public boolean update() {
+		if ((middle.get() & FRESH) == 0) {
+			return false;
+		}
+		front = middle.getAndSet(front) & INDEX;
+		return true;
+	}
+
+	/**
+	 * @return value of the front buffer (consumer thread only) or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public T front() {
+		return (T) buffers[front];
+	}
+}
@@ -0,0 +1,89 @@
+package de.amr.games.pacman.view.sound;
+
+import de.amr.games.pacman.view.api.Sound;
+import de.amr.games.pacman.view.sound.SoundMixer.Cue;
+
+/**
+ * A sound decoded into PCM samples which is played by a {@link SoundMixer}.
+ * <p>
+ * The methods of the sound are called by the game thread and only post cues to the mixer. The
+ * running state is known without asking the mixer: a sound is running if it has been started and
+ * the mixer has neither finished nor stopped this start. Stopping a sound which is not running and
+ * setting the current volume again post nothing.
+ *
+ * @author Armin Reichert
+ */
+class MixedSound implements Sound {
+
+	final SoundMixer mixer;
+	final String path;
+	final short[] samples;
+
+	// game thread
+	private boolean started;
+	private int startCount;
+	private float volume = 1;
+
+	// mixer thread
+	int position;
+	boolean looping;
+	boolean active;
+	int start;
+	float gain = 1;
+	volatile int finishedStart;
+
+	/**
+	 * @param mixer   the mixer playing this sound
+	 * @param path    path of the sound resource
+	 * @param samples interleaved stereo samples in the format of the mixer
+	 */
+	MixedSound(SoundMixer mixer, String path, short[] samples) {
+		this.mixer = mixer;
+		this.path = path;
+		this.samples = samples;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Sound[%s, %.1f sec]", path, samples.length / 2 / SoundMixer.FORMAT.getSampleRate());
+	}
+
+	@Override
+	public void play() {
+		start(Cue.Type.PLAY);
+	}
+
+	@Override
+	public void loop() {
+		start(Cue.Type.LOOP);
+	}
+
+	private void start(Cue.Type type) {
+		started = true;
+		mixer.post(new Cue(this, type, ++startCount, volume));
+	}
+
+	@Override
+	public void stop() {
+		if (isRunning()) {
+			started = false;
+			mixer.post(new Cue(this, Cue.Type.STOP, startCount, volume));
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return started && finishedStart != startCount;
+	}
+
+	@Override
+	public void setVolume(float volume) {
+		if (volume < 0 || volume > 1) {
+			throw new IllegalArgumentException("Volume must be between 0 and 1 but is " + volume);
+		}
+		if (volume != this.volume) {
+			this.volume = volume;
+			mixer.post(new Cue(this, Cue.Type.VOLUME, startCount, volume));
+		}
+	}
+}
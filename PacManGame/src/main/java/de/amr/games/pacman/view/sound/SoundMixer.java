@@ -0,0 +1,293 @@
+package de.amr.games.pacman.view.sound;
+
+import static de.amr.easy.game.Application.loginfo;
+import static de.amr.games.pacman.PacManApp.settings;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import de.amr.games.pacman.view.api.Sound;
+
+/**
+ * Plays sounds by mixing them in software into a single audio line.
+ * <p>
+ * Each sound is decoded once into 16-bit stereo PCM samples when it is loaded. The game thread only
+ * posts cues (play, loop, stop, volume) into a lock-free queue. The mixer thread takes the cues at
+ * the start of each chunk of {@link #CHUNK_FRAMES} frames, mixes the running sounds into the chunk
+ * and writes it into the line, which paces the thread. The line is opened when the mixer is unmuted
+ * for the first time. While the mixer is muted and no line is open, or if no line is available, the
+ * chunks are mixed at the same pace but not written, so sounds still run as long as they last.
+ * Muting an open line writes silence instead.
+ * <p>
+ * The mixer thread is started with the first cue.
+ *
+ * @author Armin Reichert
+ */
+public class SoundMixer {
+
+	/** Format of the decoded samples and the audio line. */
+	public static final AudioFormat FORMAT = new AudioFormat(44100, 16, 2, true, false);
+
+	/** Frames mixed per chunk (about 12 milliseconds). */
+	static final int CHUNK_FRAMES = 512;
+
+	/** Chunks buffered by the audio line, this gives the latency of a cue. */
+	static final int LINE_CHUNKS = 4;
+
+	static class Cue {
+
+		enum Type {
+			PLAY, LOOP, STOP, VOLUME
+		}
+
+		final MixedSound sound;
+		final Type type;
+		final int start;
+		final float volume;
+
+		Cue(MixedSound sound, Type type, int start, float volume) {
+			this.sound = sound;
+			this.type = type;
+			this.start = start;
+			this.volume = volume;
+		}
+	}
+
+	private final Queue<Cue> cues = new ConcurrentLinkedQueue<>();
+	private final boolean threaded;
+	private volatile Thread thread;
+	private volatile Boolean muted; // null: muted as given by the settings
+
+	// mixer thread
+	private final List<MixedSound> running = new ArrayList<>();
+	private final int[] mix = new int[2 * CHUNK_FRAMES];
+	final byte[] chunk = new byte[4 * CHUNK_FRAMES];
+
+	/**
+	 * Creates a mixer playing in its own thread.
+	 */
+	public SoundMixer() {
+		this(true);
+	}
+
+	/**
+	 * @param threaded if the mixer plays in its own thread, else nothing is mixed unless
+	 *                 {@link #step()} is called
+	 */
+	SoundMixer(boolean threaded) {
+		this.threaded = threaded;
+	}
+
+	/**
+	 * Loads and decodes the sound with the given resource path. If the format of the sound is not
+	 * supported, e.g. because no MP3 decoder is installed, the sound is silent.
+	 *
+	 * @param path resource path, e.g. {@code themes/arcade/sounds/eating.mp3}
+	 * @return the sound
+	 */
+	public Sound load(String path) {
+		return new MixedSound(this, path, decode(path));
+	}
+
+	private static short[] decode(String path) {
+		InputStream resource = SoundMixer.class.getClassLoader().getResourceAsStream(path);
+		if (resource == null) {
+			throw new IllegalArgumentException("Sound not found: " + path);
+		}
+		try (AudioInputStream in = AudioSystem.getAudioInputStream(new BufferedInputStream(resource))) {
+			AudioFormat format = in.getFormat();
+			float sampleRate = format.getSampleRate() > 0 ? format.getSampleRate() : FORMAT.getSampleRate();
+			int channels = format.getChannels() > 0 ? format.getChannels() : 2;
+			AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sampleRate, 16, channels, 2 * channels,
+					sampleRate, false);
+			try (AudioInputStream decoded = AudioSystem.getAudioInputStream(pcm, in)) {
+				return toStereo(decoded.readAllBytes(), channels, sampleRate);
+			}
+		} catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+			loginfo("Sound '%s' could not be decoded, it stays silent: %s", path, e.getMessage());
+			return new short[0];
+		} catch (IOException e) {
+			loginfo("Sound '%s' could not be read", path);
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Converts 16-bit little endian PCM bytes into interleaved stereo samples at the sample rate of the
+	 * mixer (linear interpolation).
+	 */
+	private static short[] toStereo(byte[] bytes, int channels, float sampleRate) {
+		int frames = bytes.length / (2 * channels);
+		double step = sampleRate / FORMAT.getSampleRate();
+		int outFrames = (int) (frames / step);
+		short[] samples = new short[2 * outFrames];
+		for (int i = 0; i < outFrames; ++i) {
+			double pos = i * step;
+			int frame = (int) pos;
+			double t = pos - frame;
+			int next = Math.min(frame + 1, frames - 1);
+			for (int c = 0; c < 2; ++c) {
+				int channel = Math.min(c, channels - 1);
+				int a = sample(bytes, frame * channels + channel), b = sample(bytes, next * channels + channel);
+				samples[2 * i + c] = (short) Math.round(a + t * (b - a));
+			}
+		}
+		return samples;
+	}
+
+	private static int sample(byte[] bytes, int index) {
+		return (bytes[2 * index] & 0xFF) | (bytes[2 * index + 1] << 8);
+	}
+
+	/**
+	 * Mutes or unmutes the mixer, the sounds keep running. Overrides the muted setting of the game.
+	 *
+	 * @param muted if the mixer is muted
+	 */
+	public void setMuted(boolean muted) {
+		this.muted = muted;
+	}
+
+	private boolean isMuted() {
+		Boolean m = muted;
+		return m != null ? m : settings.muted;
+	}
+
+	void post(Cue cue) {
+		cues.add(cue);
+		if (threaded && thread == null) {
+			start();
+		}
+	}
+
+	private synchronized void start() {
+		if (thread == null) {
+			thread = new Thread(this::run, "SoundMixer");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MAX_PRIORITY);
+			thread.start();
+		}
+	}
+
+	private SourceDataLine openLine() {
+		try {
+			SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT);
+			line.open(FORMAT, LINE_CHUNKS * chunk.length);
+			line.start();
+			return line;
+		} catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+			loginfo("No audio line available, sounds are muted: %s", e.getMessage());
+			return null;
+		}
+	}
+
+	private void run() {
+		loginfo("Sound mixer started");
+		SourceDataLine line = null;
+		boolean lineAvailable = true;
+		long chunkNanos = CHUNK_FRAMES * 1_000_000_000L / (long) FORMAT.getSampleRate();
+		long deadline = System.nanoTime();
+		while (true) {
+			step();
+			boolean silent = isMuted();
+			if (line == null && lineAvailable && !silent) {
+				line = openLine();
+				lineAvailable = line != null;
+				if (line != null) {
+					loginfo("Audio line opened, %s", FORMAT);
+				}
+			}
+			if (line != null) {
+				if (silent) {
+					Arrays.fill(chunk, (byte) 0);
+				}
+				line.write(chunk, 0, chunk.length);
+			} else {
+				deadline += chunkNanos;
+				LockSupport.parkNanos(deadline - System.nanoTime());
+			}
+		}
+	}
+
+	/**
+	 * Applies the posted cues and mixes the next chunk (mixer thread only).
+	 */
+	void step() {
+		for (Cue cue = cues.poll(); cue != null; cue = cues.poll()) {
+			apply(cue);
+		}
+		mixChunk();
+	}
+
+	private void apply(Cue cue) {
+		MixedSound sound = cue.sound;
+		switch (cue.type) {
+		case PLAY:
+		case LOOP:
+			sound.position = 0;
+			sound.looping = cue.type == Cue.Type.LOOP;
+			sound.start = cue.start;
+			sound.gain = cue.volume;
+			if (!sound.active) {
+				sound.active = true;
+				running.add(sound);
+			}
+			break;
+		case STOP:
+			if (sound.active && sound.start == cue.start) {
+				finish(sound);
+			}
+			break;
+		case VOLUME:
+			sound.gain = cue.volume;
+			break;
+		default:
+			throw new IllegalArgumentException("Illegal cue type: " + cue.type);
+		}
+	}
+
+	private void finish(MixedSound sound) {
+		sound.active = false;
+		running.remove(sound);
+		sound.finishedStart = sound.start;
+	}
+
+	private void mixChunk() {
+		Arrays.fill(mix, 0);
+		for (int i = running.size() - 1; i >= 0; --i) {
+			MixedSound sound = running.get(i);
+			short[] samples = sound.samples;
+			float gain = sound.gain;
+			for (int j = 0; j < mix.length; ++j) {
+				if (sound.position == samples.length) {
+					if (!sound.looping || samples.length == 0) {
+						finish(sound);
+						break;
+					}
+					sound.position = 0;
+				}
+				mix[j] += (int) (samples[sound.position++] * gain);
+			}
+		}
+		for (int j = 0; j < mix.length; ++j) {
+			int value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[j]));
+			chunk[2 * j] = (byte) value;
+			chunk[2 * j + 1] = (byte) (value >> 8);
+		}
+	}
+}
@@ -4,6 +4,7 @@ import de.amr.easy.game.config.AppSettings;
 import de.amr.easy.game.ui.AppShell;
 import de.amr.easy.game.ui.f2dialog.F2Dialog;
 import de.amr.games.pacman.controller.game.ExtendedGameController;
+import de.amr.games.pacman.controller.perf.PerformanceMonitor;
 import de.amr.games.pacman.model.game.PacManGame;
 import de.amr.games.pacman.theme.api.Themes;
 import de.amr.games.pacman.theme.arcade.ArcadeTheme;
@@ -11,6 +12,7 @@ import de.amr.games.pacman.theme.blocks.BlocksTheme;
 import de.amr.games.pacman.theme.letters.LettersTheme;
 import de.amr.games.pacman.view.dashboard.fsm.FsmView;
 import de.amr.games.pacman.view.dashboard.level.GameLevelView;
+import de.amr.games.pacman.view.dashboard.performance.PerformanceView;
 import de.amr.games.pacman.view.dashboard.states.GameStateView;
 import de.amr.games.pacman.view.dashboard.theme.ThemeSelectionView;
 import guru.nidi.graphviz.engine.Graphviz;
@@ -70,5 +72,9 @@ public class PacManAppEnhanced extends PacManApp {
 		GameLevelView gameLevelView = new GameLevelView();
 		gameLevelView.attachTo(gameController);
 		f2.addCustomTab("Game Level", gameLevelView, PacManGame::started);
+
+		PerformanceView performanceView = new PerformanceView();
+		performanceView.attachTo(PerformanceMonitor.PERFORMANCE);
+		f2.addCustomTab("Performance", performanceView, () -> true);
 	}
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import static de.amr.games.pacman.controller.game.PacManGameState.GAME_OVER;
 import static de.amr.games.pacman.controller.game.PacManGameState.GETTING_READY;
 import static de.amr.games.pacman.controller.game.PacManGameState.INTRO;
 import static de.amr.games.pacman.controller.game.PacManGameState.PLAYING;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
 import static de.amr.games.pacman.controller.steering.api.SteeringBuilder.you;
 import static de.amr.games.pacman.model.game.PacManGame.game;
 
@@ -84,12 +85,12 @@ public class ExtendedGameController extends GameController {
 	protected void handleInput() {
 		super.handleInput();
 		if (Keyboard.keyPressedOnce(Modifier.CONTROL, KeyEvent.VK_LEFT)) {
-			int oldFreq = app().clock().getTargetFramerate();
+			int oldFreq = CLOCK.getTicksPerSecond();
 			Timing.changeClockFrequency(oldFreq <= 10 ? Math.max(1, oldFreq - 1) : oldFreq - 5);
 		}
 
 		else if (Keyboard.keyPressedOnce(Modifier.CONTROL, KeyEvent.VK_RIGHT)) {
-			int oldFreq = app().clock().getTargetFramerate();
+			int oldFreq = CLOCK.getTicksPerSecond();
 			Timing.changeClockFrequency(oldFreq < 10 ? oldFreq + 1 : oldFreq + 5);
 		}
 
@@ -182,10 +183,11 @@ public class ExtendedGameController extends GameController {
 	protected void setDemoMode(boolean demoMode) {
 		if (demoMode) {
 			settings.pacManImmortable = true;
-			folks.pacMan.setSteering(PacManState.AWAKE, new SearchingForFoodAndAvoidingGhosts(world, folks.pacMan, folks));
+			folks.pacMan.setSteering(PacManState.AWAKE, new SearchingForFoodAndAvoidingGhosts(world, folks.pacMan, folks,
+					rnd.split(folks.pacMan.name)));
 		} else {
 			settings.pacManImmortable = false;
-			you(folks.pacMan).followTheCursorKeys().ok();
+			you(folks.pacMan).followTheCursorKeys().input(input).ok();
 		}
 	}
 
@@ -258,14 +260,15 @@ public class ExtendedGameController extends GameController {
 	private void toggleGhostFrightenedBehavior() {
 		if (settings.ghostsSafeCorner) {
 			settings.ghostsSafeCorner = false;
-			folks.ghosts().forEach(ghost -> you(ghost).when(FRIGHTENED).moveRandomly().ok());
+			folks.ghosts().forEach(ghost -> you(ghost).when(FRIGHTENED).moveRandomly().random(rnd.split(ghost.name)).ok());
 			loginfo("Ghost escape behavior is: Random movement");
 		} else {
 			settings.ghostsSafeCorner = true;
 			if (graph == null) {
 				graph = new WorldGraph(world);
 			}
-			folks.ghosts().forEach(ghost -> ghost.setSteering(FRIGHTENED, new FleeingToSafeTile(ghost, graph, folks.pacMan)));
+			folks.ghosts().forEach(ghost -> ghost.setSteering(FRIGHTENED,
+					new FleeingToSafeTile(ghost, graph, folks.pacMan, rnd.split(ghost.name + ".fleeing"))));
 			loginfo("Ghosts escape behavior is: Fleeing to safe corners");
 		}
 	}
@@ -29,4 +29,10 @@ public class TakingShortestPath extends FollowingPath {
 		}
 		super.steer(guy);
 	}
+
+	@Override
+	public boolean isConcurrent() {
+		// the path finder of the world graph is not thread-safe
+		return false;
+	}
 }
\ No newline at end of file
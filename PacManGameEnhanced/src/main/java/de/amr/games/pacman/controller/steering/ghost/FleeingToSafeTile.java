@@ -4,10 +4,10 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
-import de.amr.datastruct.StreamUtils;
 import de.amr.games.pacman.controller.creatures.Guy;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.steering.common.FollowingPath;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.core.TileWorldEntity;
 import de.amr.games.pacman.model.world.graph.WorldGraph;
@@ -27,12 +27,14 @@ public class FleeingToSafeTile extends FollowingPath {
 	private final WorldGraph graph;
 	private final List<Tile> capes;
 	private final List<Tile> safeTiles;
+	private final SeededRandom rnd;
 	private Tile safeTile;
 
-	public FleeingToSafeTile(Ghost refugee, WorldGraph graph, TileWorldEntity attacker) {
+	public FleeingToSafeTile(Ghost refugee, WorldGraph graph, TileWorldEntity attacker, SeededRandom rnd) {
 		super(refugee);
 		this.graph = graph;
 		this.attacker = attacker;
+		this.rnd = rnd;
 		graph.setPathFinder(PathFinder.BEST_FIRST_SEARCH);
 		capes = graph.world.capes();
 		safeTiles = new ArrayList<>(capes);
@@ -63,9 +65,15 @@ public class FleeingToSafeTile extends FollowingPath {
 		return true;
 	}
 
+	@Override
+	public boolean isConcurrent() {
+		// the path finder of the world graph is not thread-safe
+		return false;
+	}
+
 	private Tile computeSafestCorner() {
-		return StreamUtils.permute(safeTiles.stream()).filter(tile -> tile != safeTile).sorted(byTileSafety()).findFirst()
-				.get();
+		rnd.shuffle(safeTiles);
+		return safeTiles.stream().filter(tile -> tile != safeTile).sorted(byTileSafety()).findFirst().get();
 	}
 
 	private Comparator<Tile> byTileSafety() {
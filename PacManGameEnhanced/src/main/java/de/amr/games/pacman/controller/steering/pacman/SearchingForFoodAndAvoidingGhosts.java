@@ -5,16 +5,17 @@ import static de.amr.games.pacman.controller.creatures.ghost.GhostState.FRIGHTEN
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
 import static java.util.Comparator.comparingInt;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import java.util.stream.Stream;
 
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.creatures.Guy;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.steering.api.Steering;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.model.world.api.TemporaryFood;
 import de.amr.games.pacman.model.world.api.Tile;
@@ -30,8 +31,6 @@ import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
  */
 public class SearchingForFoodAndAvoidingGhosts implements Steering {
 
-	private static final Random rnd = new Random();
-
 	static class Target {
 
 		Direction dir;
@@ -46,12 +45,15 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 	private final Folks folks;
 	private final TiledWorld world;
 	private final WorldGraph graph;
+	private final SeededRandom rnd;
 	private Tile target;
+	private final List<Ghost> ghostsNearby = new ArrayList<>();
 
-	public SearchingForFoodAndAvoidingGhosts(TiledWorld world, Guy<?> guy, Folks folks) {
+	public SearchingForFoodAndAvoidingGhosts(TiledWorld world, Guy<?> guy, Folks folks, SeededRandom rnd) {
 		this.world = world;
 		this.guy = guy;
 		this.folks = folks;
+		this.rnd = rnd;
 		graph = new WorldGraph(world);
 		graph.setPathFinder(PathFinder.ASTAR);
 	}
@@ -72,6 +74,12 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 		return true;
 	}
 
+	@Override
+	public boolean isConcurrent() {
+		// fleeing moves the guy
+		return false;
+	}
+
 	@Override
 	public boolean isPathComputed() {
 		return target != null;
@@ -228,7 +236,17 @@ public class SearchingForFoodAndAvoidingGhosts implements Steering {
 	}
 
 	private Stream<Ghost> ghostsInRange(int numTiles) {
-		return folks.ghostsInWorld().filter(ghost -> isGhostInRange(ghost, numTiles));
+		// a path of at most n tiles implies a Manhattan distance of at most n tiles, so only the ghosts
+		// found by the occupancy grid need a path search
+		ghostsNearby.clear();
+		folks.store.grid().forEachWithin(guy.col(), guy.row(), numTiles, slot -> {
+			Guy<?> nearby = folks.store.guy(slot);
+			if (nearby instanceof Ghost) {
+				ghostsNearby.add((Ghost) nearby);
+			}
+		});
+		ghostsNearby.sort(comparingInt(Guy::slot)); // keep the order of Folks.ghosts()
+		return ghostsNearby.stream().filter(ghost -> isGhostInRange(ghost, numTiles));
 	}
 
 	private Stream<Direction> aheadThenLeftOrRight() {
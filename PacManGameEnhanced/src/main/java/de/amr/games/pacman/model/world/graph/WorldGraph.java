@@ -1,12 +1,15 @@
 package de.amr.games.pacman.model.world.graph;
 
-import static de.amr.easy.game.Application.loginfo;
 import static de.amr.games.pacman.PacManApp.settings;
+import static de.amr.games.pacman.controller.perf.PerformanceMonitor.PERFORMANCE;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import de.amr.games.pacman.controller.log.GameLog;
+import de.amr.games.pacman.controller.log.LogCategory;
+import de.amr.games.pacman.controller.perf.Metric;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
 import de.amr.graph.core.api.UndirectedEdge;
@@ -32,6 +35,7 @@ public class WorldGraph extends GridGraph<Tile, Void> {
 	public final TiledWorld world;
 	private PathFinder pathFinder;
 	private int pathFinderCalls;
+	private final Metric pathFinderTiming = PERFORMANCE.timing("Path finding");
 
 	public WorldGraph(TiledWorld world) {
 		super(world.width(), world.height(), Grid4Topology.get(), v -> null, (u, v) -> null, UndirectedEdge::new);
@@ -82,10 +86,12 @@ public class WorldGraph extends GridGraph<Tile, Void> {
 	public List<Tile> findPath(Tile source, Tile target) {
 		List<Tile> tiles = Collections.emptyList();
 		if (world.includes(source) && world.includes(target)) {
+			pathFinderTiming.begin();
 			Path path = createPathFinder(target).findPath(vertex(source), vertex(target));
+			pathFinderTiming.end();
 			pathFinderCalls += 1;
 			if (pathFinderCalls % 100 == 0) {
-				loginfo("%d'th pathfinding (%s) executed", pathFinderCalls, pathFinder);
+				GameLog.info(LogCategory.PATH_FINDING, "%d'th pathfinding (%s) executed", pathFinderCalls, pathFinder);
 			}
 			tiles = path.vertexStream().map(this::tile).collect(Collectors.toList());
 		}
@@ -1,12 +1,13 @@
 package de.amr.games.pacman.theme.blocks;
 
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
+
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 
-import de.amr.easy.game.Application;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.theme.api.GhostRenderer;
@@ -76,7 +77,7 @@ class BlocksGhostRenderer implements GhostRenderer {
 	}
 
 	private void drawFlashing(Graphics2D g, Ghost ghost, int width, int height, int offsetX, int offsetY) {
-		boolean flash = Application.app().clock().getTotalTicks() % 30 < 15;
+		boolean flash = CLOCK.getTicks() % 30 < 15;
 		drawShape(g, ghost, width, height, offsetX, offsetY, flash ? Color.WHITE : Color.BLUE);
 	}
 
@@ -96,10 +97,10 @@ class BlocksGhostRenderer implements GhostRenderer {
 	}
 
 	private int centerOffsetX(Ghost ghost, int width) {
-		return (int) ghost.tf.x + (ghost.tf.width - width) / 2;
+		return (int) ghost.renderX() + (ghost.tf.width - width) / 2;
 	}
 
 	private int centerOffsetY(Ghost ghost, int height) {
-		return (int) ghost.tf.y + (ghost.tf.height - height) / 2;
+		return (int) ghost.renderY() + (ghost.tf.height - height) / 2;
 	}
 }
\ No newline at end of file
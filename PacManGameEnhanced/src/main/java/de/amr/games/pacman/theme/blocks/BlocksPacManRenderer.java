@@ -40,15 +40,15 @@ class BlocksPacManRenderer implements PacManRenderer {
 	}
 
 	private void drawFull(Graphics2D g, PacMan pacMan, int size) {
-		int x = (int) pacMan.tf.x + (pacMan.tf.width - size) / 2;
-		int y = (int) pacMan.tf.y + (pacMan.tf.width - size) / 2;
+		int x = (int) pacMan.renderX() + (pacMan.tf.width - size) / 2;
+		int y = (int) pacMan.renderY() + (pacMan.tf.width - size) / 2;
 		g.setColor(Color.YELLOW);
 		g.fillOval(x, y, size, size);
 	}
 
 	private void drawRunning(Graphics2D g, PacMan pacMan, int size) {
-		int x = (int) pacMan.tf.x + (pacMan.tf.width - size) / 2;
-		int y = (int) pacMan.tf.y + (pacMan.tf.width - size) / 2;
+		int x = (int) pacMan.renderX() + (pacMan.tf.width - size) / 2;
+		int y = (int) pacMan.renderY() + (pacMan.tf.width - size) / 2;
 		g.setColor(Color.YELLOW);
 		g.fillOval(x, y, size, size);
 	}
@@ -58,8 +58,8 @@ class BlocksPacManRenderer implements PacManRenderer {
 		float thickness = 1f;
 		g.setColor(Color.YELLOW);
 		for (int d = size; d > size / 8; d = d / 2) {
-			int x = (int) pacMan.tf.x + (pacMan.tf.width - d) / 2;
-			int y = (int) pacMan.tf.y + (pacMan.tf.width - d) / 2;
+			int x = (int) pacMan.renderX() + (pacMan.tf.width - d) / 2;
+			int y = (int) pacMan.renderY() + (pacMan.tf.width - d) / 2;
 			g.setStroke(new BasicStroke(thickness));
 			g.drawOval(x, y, d, d);
 			thickness = thickness * 0.5f;
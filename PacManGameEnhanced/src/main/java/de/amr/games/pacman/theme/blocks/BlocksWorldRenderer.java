@@ -1,9 +1,13 @@
 package de.amr.games.pacman.theme.blocks;
 
-import static de.amr.easy.game.Application.app;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 
 import de.amr.easy.game.math.Vector2f;
 import de.amr.easy.game.view.Pen;
@@ -16,12 +20,37 @@ import de.amr.games.pacman.model.world.components.House;
 import de.amr.games.pacman.theme.api.WorldRenderer;
 import de.amr.games.pacman.view.common.Rendering;
 
+/**
+ * Renders the world as blocks.
+ * <p>
+ * The walls are prerendered into two images, one in the wall color and one for the flashing of a
+ * level change. The pellets are kept in a transparent layer which is only patched when the food of
+ * the world has changed (see {@link TiledWorld#foodVersion()}). The layers are rendered in the
+ * resolution of the graphics context, so they stay sharp on a scaled display.
+ * 
+ * @author Armin Reichert
+ */
 class BlocksWorldRenderer implements WorldRenderer {
 
+	private TiledWorld cachedWorld;
+	private double cachedScale;
+	private Color cachedWallColor;
+	private BufferedImage wallImage;
+	private BufferedImage flashingWallImage;
+	private BufferedImage pelletLayer;
+	private Tile[] foodTiles;
+	private boolean[] pelletVisible;
+	private long foodVersion;
+	private final List<Tile> energizerTiles = new ArrayList<>();
+
 	@Override
 	public void render(Graphics2D g, TiledWorld world) {
-		drawEmptyWorld(g, world);
+		updateLayers(world, g.getTransform().getScaleX());
+		int width = world.width() * Tile.SIZE, height = world.height() * Tile.SIZE;
+		boolean flashing = world.isChanging() && CLOCK.getTicks() % 30 < 15;
+		g.drawImage(flashing ? flashingWallImage : wallImage, 0, 0, width, height, null);
 		if (!world.isChanging()) {
+			g.drawImage(pelletLayer, 0, 0, width, height, null);
 			drawFood(g, world);
 		}
 		// draw doors depending on their state
@@ -33,13 +62,9 @@ class BlocksWorldRenderer implements WorldRenderer {
 
 	private void drawFood(Graphics2D g, TiledWorld world) {
 		Rendering.smoothOn(g);
-		world.tiles().forEach(location -> {
-			if (world.hasFood(ArcadeFood.ENERGIZER, location)) {
-				drawEnergizer(g, world, location);
-			} else if (world.hasFood(ArcadeFood.PELLET, location)) {
-				drawSimplePellet(g, location);
-			}
-		});
+		for (Tile location : energizerTiles) {
+			drawEnergizer(g, world, location);
+		}
 		world.temporaryFood().ifPresent(bonus -> {
 			Vector2f center = Vector2f.of(bonus.location().x() + Tile.SIZE, bonus.location().y() + Tile.SIZE / 2);
 			if (bonus.isActive()) {
@@ -54,7 +79,7 @@ class BlocksWorldRenderer implements WorldRenderer {
 	}
 
 	private void drawActiveBonus(Graphics2D g, Vector2f center, ArcadeBonus bonus) {
-		if (app().clock().getTotalTicks() % 60 < 30) {
+		if (CLOCK.getTicks() % 60 < 30) {
 			return; // blink effect
 		}
 		drawBonusSymbol(g, center, bonus);
@@ -92,7 +117,7 @@ class BlocksWorldRenderer implements WorldRenderer {
 		int y = location.y() + (Tile.SIZE - size) / 2;
 		g.translate(x, y);
 		// create blink effect
-		if (!world.isFrozen() && app().clock().getTotalTicks() % 60 < 30) {
+		if (!world.isFrozen() && CLOCK.getTicks() % 60 < 30) {
 			g.setColor(Color.BLACK);
 			g.fillRect(0, 0, size, size);
 		} else {
@@ -102,24 +127,70 @@ class BlocksWorldRenderer implements WorldRenderer {
 		g.translate(-x, -y);
 	}
 
-	private void drawEmptyWorld(Graphics2D g, TiledWorld world) {
+	private void updateLayers(TiledWorld world, double scale) {
+		Color wallColor = BlocksTheme.THEME.$color("wall-color");
+		if (world != cachedWorld || scale != cachedScale || !wallColor.equals(cachedWallColor)) {
+			cachedWorld = world;
+			cachedScale = scale;
+			cachedWallColor = wallColor;
+			wallImage = createWallImage(world, scale, wallColor);
+			flashingWallImage = createWallImage(world, scale, Color.WHITE);
+			pelletLayer = createLayer(world, scale);
+			foodTiles = world.tiles().filter(tile -> world.hasFood(tile) || world.hasEatenFood(tile)).toArray(Tile[]::new);
+			pelletVisible = new boolean[foodTiles.length];
+			foodVersion = world.foodVersion() - 1;
+		}
+		if (foodVersion == world.foodVersion()) {
+			return;
+		}
+		foodVersion = world.foodVersion();
+		energizerTiles.clear();
+		Graphics2D g = layerGraphics(pelletLayer, scale);
+		Rendering.smoothOn(g);
+		for (int i = 0; i < foodTiles.length; ++i) {
+			Tile tile = foodTiles[i];
+			if (world.hasFood(ArcadeFood.ENERGIZER, tile)) {
+				energizerTiles.add(tile);
+			}
+			boolean visible = world.hasFood(ArcadeFood.PELLET, tile);
+			if (visible && !pelletVisible[i]) {
+				drawSimplePellet(g, tile);
+			} else if (!visible && pelletVisible[i]) {
+				g.setComposite(AlphaComposite.Clear);
+				g.fillRect(tile.x(), tile.y(), Tile.SIZE, Tile.SIZE);
+				g.setComposite(AlphaComposite.SrcOver);
+			}
+			pelletVisible[i] = visible;
+		}
+		g.dispose();
+	}
+
+	private BufferedImage createLayer(TiledWorld world, double scale) {
+		int width = (int) Math.ceil(world.width() * Tile.SIZE * scale);
+		int height = (int) Math.ceil(world.height() * Tile.SIZE * scale);
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	private Graphics2D layerGraphics(BufferedImage layer, double scale) {
+		Graphics2D g = layer.createGraphics();
+		g.scale(scale, scale);
+		return g;
+	}
+
+	private BufferedImage createWallImage(TiledWorld world, double scale, Color wallColor) {
+		BufferedImage image = createLayer(world, scale);
+		Graphics2D g = layerGraphics(image, scale);
 		g.setColor(Color.BLACK);
 		g.fillRect(0, 0, world.width() * Tile.SIZE, world.height() * Tile.SIZE);
+		g.setColor(wallColor);
 		for (int row = 0; row < world.height(); ++row) {
 			for (int col = 0; col < world.width(); ++col) {
 				if (!world.isAccessible(Tile.at(col, row))) {
-					drawWall(g, world, row, col);
+					g.fillRect(col * Tile.SIZE, row * Tile.SIZE, Tile.SIZE, Tile.SIZE);
 				}
 			}
 		}
-	}
-
-	private void drawWall(Graphics2D g, TiledWorld world, int row, int col) {
-		if (world.isChanging() && app().clock().getTotalTicks() % 30 < 15) {
-			g.setColor(Color.WHITE);
-		} else {
-			g.setColor(BlocksTheme.THEME.$color("wall-color"));
-		}
-		g.fillRect(col * Tile.SIZE, row * Tile.SIZE, Tile.SIZE, Tile.SIZE);
+		g.dispose();
+		return image;
 	}
 }
\ No newline at end of file
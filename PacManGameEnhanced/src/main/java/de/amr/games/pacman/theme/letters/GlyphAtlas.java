@@ -0,0 +1,156 @@
+package de.amr.games.pacman.theme.letters;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prerasterized glyphs of a font in the resolution of a display scale. Text is drawn by blitting
+ * the glyph images instead of rasterizing it with every frame.
+ * <p>
+ * The glyphs of a color are rasterized when first used. Atlases are used by the game thread and the
+ * render thread, so the glyph maps are concurrent.
+ *
+ * @author Armin Reichert
+ */
+class GlyphAtlas {
+
+	private final Font font;
+	private final double scale;
+	private final Object textAntialiasing;
+	private final FontMetrics metrics;
+	private final Map<Color, Map<Character, BufferedImage>> glyphsByColor = new ConcurrentHashMap<>();
+
+	/**
+	 * @param font             font of the glyphs
+	 * @param scale            display scale, the glyph images have the resolution of the display
+	 * @param textAntialiasing value of the text anti-aliasing rendering hint
+	 */
+	public GlyphAtlas(Font font, double scale, Object textAntialiasing) {
+		this.font = font;
+		this.scale = scale;
+		this.textAntialiasing = textAntialiasing != null ? textAntialiasing
+				: RenderingHints.VALUE_TEXT_ANTIALIAS_DEFAULT;
+		BufferedImage dummy = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = dummy.createGraphics();
+		metrics = g.getFontMetrics(font);
+		g.dispose();
+	}
+
+	public Font font() {
+		return font;
+	}
+
+	public double scale() {
+		return scale;
+	}
+
+	/**
+	 * @param textAntialiasing value of the text anti-aliasing rendering hint
+	 * @return if the glyphs are rasterized with this hint
+	 */
+	public boolean isTextAntialiasing(Object textAntialiasing) {
+		return this.textAntialiasing
+				.equals(textAntialiasing != null ? textAntialiasing : RenderingHints.VALUE_TEXT_ANTIALIAS_DEFAULT);
+	}
+
+	public int ascent() {
+		return metrics.getMaxAscent();
+	}
+
+	public int height() {
+		return metrics.getMaxAscent() + metrics.getMaxDescent();
+	}
+
+	public int stringWidth(String text) {
+		return metrics.stringWidth(text);
+	}
+
+	private BufferedImage glyph(char c, Color color) {
+		return glyphsByColor.computeIfAbsent(color, key -> new ConcurrentHashMap<>()).computeIfAbsent(c,
+				key -> rasterize(c, color));
+	}
+
+	private BufferedImage rasterize(char c, Color color) {
+		int width = Math.max(1, (int) Math.ceil(metrics.charWidth(c) * scale));
+		int height = Math.max(1, (int) Math.ceil(height() * scale));
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialiasing);
+		g.scale(scale, scale);
+		g.setFont(font);
+		g.setColor(color);
+		g.drawString(String.valueOf(c), 0, ascent());
+		g.dispose();
+		return image;
+	}
+
+	/**
+	 * Draws a character like {@link Graphics2D#drawString(String, float, float)}.
+	 *
+	 * @param g     graphics context
+	 * @param c     character
+	 * @param color text color
+	 * @param x     x-position
+	 * @param y     baseline position
+	 */
+	public void drawChar(Graphics2D g, char c, Color color, float x, float y) {
+		BufferedImage glyph = glyph(c, color);
+		int left = Math.round(x), top = Math.round(y) - ascent();
+		g.drawImage(glyph, left, top, metrics.charWidth(c), height(), null);
+	}
+
+	/**
+	 * Draws a text like {@link Graphics2D#drawString(String, float, float)}.
+	 *
+	 * @param g     graphics context
+	 * @param text  text
+	 * @param color text color
+	 * @param x     x-position
+	 * @param y     baseline position
+	 */
+	public void drawString(Graphics2D g, String text, Color color, float x, float y) {
+		for (int i = 0; i < text.length(); ++i) {
+			char c = text.charAt(i);
+			drawChar(g, c, color, x, y);
+			x += metrics.charWidth(c);
+		}
+	}
+
+	/**
+	 * Renders a text into an image of the display resolution, e.g. for text that changes rarely.
+	 *
+	 * @param text  text
+	 * @param color text color
+	 * @return image containing the text, the baseline is at {@link #ascent()}
+	 */
+	public BufferedImage renderString(String text, Color color) {
+		int width = Math.max(1, (int) Math.ceil(stringWidth(text) * scale));
+		int height = Math.max(1, (int) Math.ceil(height() * scale));
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.scale(scale, scale);
+		drawString(g, text, color, 0, ascent());
+		g.dispose();
+		return image;
+	}
+
+	/**
+	 * Draws an image created by {@link #renderString(String, Color)}.
+	 *
+	 * @param g     graphics context
+	 * @param image text image
+	 * @param x     x-position
+	 * @param y     baseline position
+	 */
+	public void drawTextImage(Graphics2D g, BufferedImage image, float x, float y) {
+		int left = Math.round(x), top = Math.round(y) - ascent();
+		g.drawImage(image, left, top, (int) Math.round(image.getWidth() / scale),
+				(int) Math.round(image.getHeight() / scale), null);
+	}
+}
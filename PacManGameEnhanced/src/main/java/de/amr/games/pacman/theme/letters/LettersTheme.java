@@ -1,12 +1,16 @@
 package de.amr.games.pacman.theme.letters;
 
 import static de.amr.games.pacman.controller.creatures.pacman.PacManState.COLLAPSING;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import de.amr.easy.game.Application;
 import de.amr.easy.game.entity.Transform;
 import de.amr.games.pacman.controller.creatures.ghost.Ghost;
 import de.amr.games.pacman.controller.creatures.ghost.GhostPersonality;
@@ -28,6 +32,9 @@ import de.amr.games.pacman.view.common.Rendering;
 
 /**
  * Theme using letters and other non-graphic characters.
+ * <p>
+ * All text is drawn from prerasterized glyphs (see {@link GlyphAtlas}), the counters are only
+ * rendered again when their values have changed.
  * 
  * @author Armin Reichert
  */
@@ -35,6 +42,8 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 
 	public static final LettersTheme THEME = new LettersTheme();
 
+	private final Map<String, GlyphAtlas> atlases = new ConcurrentHashMap<>();
+
 	private LettersTheme() {
 		set("font", new Font(Font.MONOSPACED, Font.BOLD, Tile.SIZE));
 		set("offset-baseline", Tile.SIZE - 1);
@@ -59,33 +68,90 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 		return colorByPersonality.getOrDefault(ghost.personality, Color.WHITE);
 	}
 
-	String ghostLetter(Ghost ghost) {
+	char ghostLetter(Ghost ghost) {
 		if (ghost.ai.getState() == null) {
-			return ghost.name.substring(0, 1);
+			return ghost.name.charAt(0);
 		}
 		switch (ghost.ai.getState()) {
 		case FRIGHTENED:
-			return ghost.name.substring(0, 1).toLowerCase();
+			return Character.toLowerCase(ghost.name.charAt(0));
 		case DEAD:
 		case ENTERING_HOUSE:
-			return Rendering.INFTY;
+			return Rendering.INFTY.charAt(0);
 		default:
-			return ghost.name.substring(0, 1);
+			return ghost.name.charAt(0);
+		}
+	}
+
+	/**
+	 * @param size font size
+	 * @param g    graphics context, defines the display scale and text anti-aliasing
+	 * @return glyph atlas of the theme font in the given size for the display scale and text
+	 *         anti-aliasing of the graphics context
+	 */
+	GlyphAtlas glyphAtlas(float size, Graphics2D g) {
+		double scale = g.getTransform().getScaleX();
+		Object textAntialiasing = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+		return atlases.computeIfAbsent(size + "@" + scale + "@" + textAntialiasing,
+				key -> new GlyphAtlas($font("font").deriveFont(size), scale, textAntialiasing));
+	}
+
+	/**
+	 * The glyph atlas used by a renderer, only looked up again if font size, display scale or text
+	 * anti-aliasing change.
+	 */
+	private class Glyphs {
+
+		private GlyphAtlas atlas;
+
+		GlyphAtlas get(float size, Graphics2D g) {
+			if (atlas == null || atlas.font().getSize2D() != size || atlas.scale() != g.getTransform().getScaleX()
+					|| !atlas.isTextAntialiasing(g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING))) {
+				atlas = glyphAtlas(size, g);
+			}
+			return atlas;
+		}
+	}
+
+	/**
+	 * Text that is only rendered again when it has changed.
+	 */
+	private static class CachedText {
+
+		private String text;
+		private GlyphAtlas atlas;
+		private BufferedImage image;
+
+		boolean isOutdated(GlyphAtlas atlas) {
+			return image == null || atlas != this.atlas;
+		}
+
+		void update(GlyphAtlas atlas, String text, Color color) {
+			if (isOutdated(atlas) || !text.equals(this.text)) {
+				this.atlas = atlas;
+				this.text = text;
+				image = atlas.renderString(text, color);
+			}
+		}
+
+		void draw(Graphics2D g, float x, float y) {
+			atlas.drawTextImage(g, image, x, y);
 		}
 	}
 
 	@Override
 	public GhostRenderer ghostRenderer() {
+		Glyphs glyphs = new Glyphs();
 		return (g, ghost) -> {
 			if (ghost.visible) {
-				Font font = $font("font");
+				GlyphAtlas atlas = glyphs.get(ghost.tf.width, g);
 				int offset_baseline = $int("offset-baseline");
-				g.setFont(font.deriveFont((float) ghost.tf.width));
-				g.setColor(ghostColor(ghost));
+				Color color = ghostColor(ghost);
 				if (ghost.bounty > 0) {
-					g.drawString("" + ghost.bounty, ghost.tf.x, ghost.tf.y + offset_baseline);
+					atlas.drawString(g, Integer.toString(ghost.bounty), color, ghost.renderX(),
+							ghost.renderY() + offset_baseline);
 				} else {
-					g.drawString(ghostLetter(ghost), ghost.tf.x, ghost.tf.y + offset_baseline);
+					atlas.drawChar(g, ghostLetter(ghost), color, ghost.renderX(), ghost.renderY() + offset_baseline);
 				}
 			}
 		};
@@ -93,99 +159,105 @@ public class LettersTheme extends ThemeParameterMap implements Theme {
 
 	@Override
 	public PacManRenderer pacManRenderer() {
+		Glyphs glyphs = new Glyphs();
 		return (g, pacMan) -> {
 			if (pacMan.visible) {
 				Transform tf = pacMan.tf;
 				int offset_baseline = $int("offset-baseline");
-				g.setFont($font("font").deriveFont((float) tf.width));
-				g.setColor(Color.YELLOW);
-				String letter = pacMan.ai.is(COLLAPSING) ? "\u2668" : "O";
-				g.drawString(letter, tf.x, tf.y + offset_baseline);
+				char letter = pacMan.ai.is(COLLAPSING) ? '\u2668' : 'O';
+				glyphs.get(tf.width, g).drawChar(g, letter, Color.YELLOW, pacMan.renderX(),
+						pacMan.renderY() + offset_baseline);
 			}
 		};
 	}
 
 	@Override
 	public GameRenderer levelCounterRenderer() {
-		return (g, level) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
-			String text = String.format("Level: %d (%s)", level.level, level.bonusSymbol);
-			g.setColor(Color.YELLOW);
-			g.setFont(font);
-			g.drawString(text, -15 * Tile.SIZE, Tile.SIZE + offset_baseline);
+		Glyphs glyphs = new Glyphs();
+		CachedText text = new CachedText();
+		int[] level = { -1 };
+		return (g, game) -> {
+			GlyphAtlas atlas = glyphs.get(Tile.SIZE, g);
+			if (text.isOutdated(atlas) || game.level != level[0]) {
+				level[0] = game.level;
+				text.update(atlas, String.format("Level: %d (%s)", game.level, game.bonusSymbol), Color.YELLOW);
+			}
+			text.draw(g, -15 * Tile.SIZE, Tile.SIZE + $int("offset-baseline"));
 		};
 	}
 
 	@Override
 	public GameRenderer livesCounterRenderer() {
-		return (g, level) -> {
-			Font font = $font("font");
-			int offset_baseline = $int("offset-baseline");
-			g.setColor(Color.YELLOW);
-			g.setFont(font);
-			g.drawString(String.format("Lives: %d", level.lives), 0, Tile.SIZE + offset_baseline);
+		Glyphs glyphs = new Glyphs();
+		CachedText text = new CachedText();
+		int[] lives = { -1 };
+		return (g, game) -> {
+			GlyphAtlas atlas = glyphs.get(Tile.SIZE, g);
+			if (text.isOutdated(atlas) || game.lives != lives[0]) {
+				lives[0] = game.lives;
+				text.update(atlas, String.format("Lives: %d", game.lives), Color.YELLOW);
+			}
+			text.draw(g, 0, Tile.SIZE + $int("offset-baseline"));
 		};
 	}
 
 	@Override
 	public GameRenderer gameScoreRenderer() {
-		return (g, level) -> {
-			Font font = $font("font");
+		Glyphs glyphs = new Glyphs();
+		CachedText header = new CachedText(), values = new CachedText();
+		int[] shown = { -1, -1, -1 };
+		return (g, game) -> {
+			GlyphAtlas atlas = glyphs.get(Tile.SIZE, g);
 			int offset_baseline = $int("offset-baseline");
-			g.setColor(Color.YELLOW);
-			g.setFont(font);
-			g.drawString(" Score          Highscore        Pellets", 0, offset_baseline);
-			g.drawString(
-					String.format(" %08d       %08d         %03d", level.score, level.hiscore.points, level.remainingFoodCount()),
-					0, Tile.SIZE + offset_baseline);
+			header.update(atlas, " Score          Highscore        Pellets", Color.YELLOW);
+			if (values.isOutdated(atlas) || game.score != shown[0] || game.hiscore.points != shown[1]
+					|| game.remainingFoodCount() != shown[2]) {
+				shown[0] = game.score;
+				shown[1] = game.hiscore.points;
+				shown[2] = game.remainingFoodCount();
+				values.update(atlas, String.format(" %08d       %08d         %03d", shown[0], shown[1], shown[2]),
+						Color.YELLOW);
+			}
+			header.draw(g, 0, offset_baseline);
+			values.draw(g, 0, Tile.SIZE + offset_baseline);
 		};
 	}
 
 	@Override
 	public WorldRenderer worldRenderer() {
+		Glyphs glyphs = new Glyphs();
+		Color wallColor = Rendering.alpha(Color.GREEN, 80);
 		return (g, world) -> {
-			Font font = $font("font");
+			GlyphAtlas atlas = glyphs.get(Tile.SIZE, g);
 			int offset_baseline = $int("offset-baseline");
-			g.setFont(font);
 			for (int row = 3; row < world.height() - 2; ++row) {
 				for (int col = 0; col < world.width(); ++col) {
 					Tile tile = Tile.at(col, row);
 					if (world.isAccessible(tile)) {
-						if (world.hasFood(ArcadeFood.ENERGIZER, tile) && Application.app().clock().getTotalTicks() % 60 < 30) {
-							g.setColor(Color.PINK);
-							g.drawString("Ö", col * Tile.SIZE + 2, row * Tile.SIZE + offset_baseline);
+						if (world.hasFood(ArcadeFood.ENERGIZER, tile) && CLOCK.getTicks() % 60 < 30) {
+							atlas.drawChar(g, 'Ö', Color.PINK, col * Tile.SIZE + 2, row * Tile.SIZE + offset_baseline);
 						}
 						if (world.hasFood(ArcadeFood.PELLET, tile)) {
-							g.setColor(Color.PINK);
-							g.drawString(".", col * Tile.SIZE + 1, row * Tile.SIZE - 3 + offset_baseline);
+							atlas.drawChar(g, '.', Color.PINK, col * Tile.SIZE + 1, row * Tile.SIZE - 3 + offset_baseline);
 						}
 					} else {
-						g.setColor(Rendering.alpha(Color.GREEN, 80));
-						g.drawString("#", col * Tile.SIZE + 1, row * Tile.SIZE + offset_baseline - 1);
+						atlas.drawChar(g, '#', wallColor, col * Tile.SIZE + 1, row * Tile.SIZE + offset_baseline - 1);
 					}
 				}
-				world.temporaryFood().ifPresent(bonus -> {
-					Tile tile = bonus.location();
-					g.setColor(Color.GREEN);
-					String text = "";
-					int col = tile.col;
-					if (bonus.isActive() && !bonus.isConsumed()) {
-						text = "BONUS " + bonus.value();
-						col = tile.col - 1;
-					} else if (bonus.isConsumed()) {
-						text = "WON " + bonus.value() + " POINTS!";
-						col = tile.col - 3;
-					}
-					g.drawString(text, col * Tile.SIZE, tile.row * Tile.SIZE + offset_baseline - 1);
-				});
 			}
+			world.temporaryFood().ifPresent(bonus -> {
+				Tile tile = bonus.location();
+				if (bonus.isActive() && !bonus.isConsumed()) {
+					atlas.drawString(g, "BONUS " + bonus.value(), Color.GREEN, (tile.col - 1) * Tile.SIZE,
+							tile.row * Tile.SIZE + offset_baseline - 1);
+				} else if (bonus.isConsumed()) {
+					atlas.drawString(g, "WON " + bonus.value() + " POINTS!", Color.GREEN, (tile.col - 3) * Tile.SIZE,
+							tile.row * Tile.SIZE + offset_baseline - 1);
+				}
+			});
 			world.houses().flatMap(House::doors).forEach(door -> {
 				if (door.state == DoorState.CLOSED) {
-					g.setColor(Color.PINK);
-					door.tiles().forEach(tile -> {
-						g.drawString("_", tile.x() + 1, tile.y());
-					});
+					door.tiles().forEach(tile -> atlas.drawChar(g, '_', Color.PINK, tile.x() + 1, tile.y()));
 				}
 			});
 		};
@@ -0,0 +1,79 @@
+package de.amr.games.pacman.view.dashboard.performance;
+
+import static de.amr.games.pacman.controller.perf.PerformanceMonitor.PERFORMANCE;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import de.amr.games.pacman.controller.perf.Metric;
+
+/**
+ * Model of the table displaying the performance metrics.
+ * 
+ * @author Armin Reichert
+ */
+public class PerformanceTableModel extends AbstractTableModel {
+
+	static final String[] COLUMNS = { "Metric", "Count", "Mean", "P50", "P90", "P99", "Max", "Unit" };
+
+	private List<Metric> metrics = new ArrayList<>();
+	private List<double[]> percentiles = new ArrayList<>();
+	private List<Double> means = new ArrayList<>();
+
+	/**
+	 * Takes a new sample of all metrics.
+	 */
+	public void sample() {
+		metrics = PERFORMANCE.metrics();
+		percentiles = new ArrayList<>(metrics.size());
+		means = new ArrayList<>(metrics.size());
+		for (Metric metric : metrics) {
+			percentiles.add(metric.percentiles(50, 90, 99, 100));
+			means.add(metric.mean());
+		}
+		fireTableDataChanged();
+	}
+
+	@Override
+	public int getRowCount() {
+		return metrics.size();
+	}
+
+	@Override
+	public int getColumnCount() {
+		return COLUMNS.length;
+	}
+
+	@Override
+	public String getColumnName(int col) {
+		return COLUMNS[col];
+	}
+
+	@Override
+	public Object getValueAt(int row, int col) {
+		Metric metric = metrics.get(row);
+		switch (col) {
+		case 0:
+			return metric.name;
+		case 1:
+			return metric.count();
+		case 2:
+			return number(means.get(row));
+		case 3:
+		case 4:
+		case 5:
+		case 6:
+			return number(percentiles.get(row)[col - 3]);
+		case 7:
+			return metric.unit;
+		default:
+			throw new IllegalArgumentException("Illegal column index; " + col);
+		}
+	}
+
+	private String number(double value) {
+		return Double.isNaN(value) ? "" : String.format("%.1f", value);
+	}
+}
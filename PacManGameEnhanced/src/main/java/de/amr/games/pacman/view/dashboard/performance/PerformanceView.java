@@ -0,0 +1,76 @@
+package de.amr.games.pacman.view.dashboard.performance;
+
+import static de.amr.games.pacman.controller.perf.PerformanceMonitor.PERFORMANCE;
+
+import java.awt.BorderLayout;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+
+import de.amr.easy.game.controller.Lifecycle;
+import de.amr.games.pacman.controller.perf.Metric;
+import de.amr.games.pacman.controller.perf.PerformanceMonitor;
+import de.amr.games.pacman.view.dashboard.util.UniversalFormatter;
+import net.miginfocom.swing.MigLayout;
+
+/**
+ * Displays the rolling timings of the game subsystems, the path finding, the memory allocation and
+ * the garbage collector pauses.
+ * 
+ * @author Armin Reichert
+ */
+public class PerformanceView extends JPanel implements Lifecycle {
+
+	private JTable table;
+	private JCheckBox cbEnabled;
+
+	public PerformanceView() {
+		setLayout(new BorderLayout(0, 0));
+
+		JPanel content = new JPanel();
+		add(content, BorderLayout.CENTER);
+		content.setLayout(new MigLayout("", "[][][grow]", "[][grow]"));
+
+		cbEnabled = new JCheckBox("Measure");
+		cbEnabled.addActionListener(e -> PERFORMANCE.setEnabled(cbEnabled.isSelected()));
+		content.add(cbEnabled, "cell 0 0");
+
+		JButton btnReset = new JButton("Reset");
+		btnReset.addActionListener(e -> PERFORMANCE.reset());
+		content.add(btnReset, "cell 1 0");
+
+		content.add(new JLabel(String.format("Statistics over the last %d values", Metric.WINDOW)), "cell 2 0");
+
+		JScrollPane scrollPane = new JScrollPane();
+		content.add(scrollPane, "cell 0 1 3 1,grow");
+
+		table = new JTable();
+		table.setAutoResizeMode(JTable.AUTO_RESIZE_LAST_COLUMN);
+		table.setRowHeight(17);
+		table.setRowSelectionAllowed(false);
+		scrollPane.setViewportView(table);
+	}
+
+	public void attachTo(PerformanceMonitor monitor) {
+		cbEnabled.setSelected(monitor.isEnabled());
+		init();
+	}
+
+	@Override
+	public void init() {
+		table.setModel(new PerformanceTableModel());
+		UniversalFormatter fmt = new UniversalFormatter();
+		fmt.fnBoldCondition = c -> c.column == 0;
+		table.getColumnModel().getColumns().asIterator().forEachRemaining(column -> column.setCellRenderer(fmt));
+		table.getColumnModel().getColumn(0).setMinWidth(160);
+	}
+
+	@Override
+	public void update() {
+		((PerformanceTableModel) table.getModel()).sample();
+	}
+}
@@ -1,7 +1,6 @@
 package de.amr.games.pacman.view.dashboard.states;
 
 import static de.amr.games.pacman.view.dashboard.states.GameStateTableModel.ROW_BLINKY;
-import static de.amr.games.pacman.view.dashboard.states.GameStateTableModel.ROW_PACMAN;
 
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
@@ -38,7 +37,7 @@ public class GameStateTable extends JTable implements Lifecycle {
 		format(ColumnInfo.Tile, tileFmt);
 
 		UniversalFormatter speedFmt = new UniversalFormatter();
-		speedFmt.fnHilightCondition = c -> c.row == ROW_BLINKY && record(ROW_PACMAN).speed <= record(ROW_BLINKY).speed;
+		speedFmt.fnHilightCondition = c -> c.row == ROW_BLINKY && record(getGameStateTableModel().rowPacMan()).speed <= record(ROW_BLINKY).speed;
 		format(ColumnInfo.Speed, speedFmt);
 
 		UniversalFormatter ticksFmt = new UniversalFormatter();
@@ -1,8 +1,8 @@
 package de.amr.games.pacman.view.dashboard.states;
 
-import static de.amr.easy.game.Application.app;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.SCATTERING;
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
 
 import javax.swing.table.AbstractTableModel;
 
@@ -20,20 +20,14 @@ import de.amr.games.pacman.model.world.api.TiledWorld;
 import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
 
 /**
- * Data model of the table displaying actor data.
+ * Data model of the table displaying actor data. There is one row for each ghost (Blinky, Pinky,
+ * Inky, Clyde, then the additional ghosts), followed by the rows for Pac-Man and the bonus.
  * 
  * @author Armin Reichert
  */
 class GameStateTableModel extends AbstractTableModel {
 
 	public static final int ROW_BLINKY = 0;
-	public static final int ROW_PINKY = 1;
-	public static final int ROW_INKY = 2;
-	public static final int ROW_CLYDE = 3;
-	public static final int ROW_PACMAN = 4;
-	public static final int ROW_BONUS = 5;
-
-	public static final int NUM_ROWS = 6;
 
 	public enum ColumnInfo {
 
@@ -69,9 +63,11 @@ class GameStateTableModel extends AbstractTableModel {
 	private GameController gameController;
 	private TiledWorld world;
 	private GameStateRecord[] records;
+	private int ghostCount;
 	private boolean dummy;
 
 	public GameStateTableModel() {
+		ghostCount = Folks.ORIGINAL_GHOST_COUNT;
 		createEmptyRecords();
 		dummy = true;
 	}
@@ -79,6 +75,7 @@ class GameStateTableModel extends AbstractTableModel {
 	public GameStateTableModel(GameController gameController) {
 		this.gameController = gameController;
 		world = gameController.world;
+		ghostCount = gameController.folks.ghostCount();
 		addTableModelListener(change -> {
 			if (change.getColumn() == ColumnInfo.OnStage.ordinal()) {
 				handleOnStageStatusChange(change.getFirstRow());
@@ -93,18 +90,26 @@ class GameStateTableModel extends AbstractTableModel {
 		return dummy;
 	}
 
+	public int rowPacMan() {
+		return ghostCount;
+	}
+
+	public int rowBonus() {
+		return ghostCount + 1;
+	}
+
 	private void createEmptyRecords() {
-		records = new GameStateRecord[NUM_ROWS];
+		records = new GameStateRecord[ghostCount + 2];
 		for (int i = 0; i < records.length; ++i) {
 			records[i] = new GameStateRecord();
 		}
 		// for window builder
 		records[ROW_BLINKY].name = "Blinky";
-		records[ROW_PINKY].name = "Pinky";
-		records[ROW_INKY].name = "Inky";
-		records[ROW_CLYDE].name = "Clyde";
-		records[ROW_PACMAN].name = "Pac-Man";
-		records[ROW_BONUS].name = "Bonus";
+		records[ROW_BLINKY + 1].name = "Pinky";
+		records[ROW_BLINKY + 2].name = "Inky";
+		records[ROW_BLINKY + 3].name = "Clyde";
+		records[rowPacMan()].name = "Pac-Man";
+		records[rowBonus()].name = "Bonus";
 	}
 
 	private void handleOnStageStatusChange(int row) {
@@ -126,12 +131,11 @@ class GameStateTableModel extends AbstractTableModel {
 		if (PacManGame.started()) {
 			GhostCommand ghostCommand = gameController.ghostCommand;
 			Folks folks = gameController.folks;
-			fillGhostRecord(records[ROW_BLINKY], ghostCommand, folks.blinky, folks.pacMan);
-			fillGhostRecord(records[ROW_PINKY], ghostCommand, folks.pinky, folks.pacMan);
-			fillGhostRecord(records[ROW_INKY], ghostCommand, folks.inky, folks.pacMan);
-			fillGhostRecord(records[ROW_CLYDE], ghostCommand, folks.clyde, folks.pacMan);
-			fillPacManRecord(records[ROW_PACMAN], folks.pacMan);
-			fillBonusRecord(records[ROW_BONUS], gameController, world);
+			for (int i = 0; i < ghostCount; ++i) {
+				fillGhostRecord(records[ROW_BLINKY + i], ghostCommand, folks.ghost(i), folks.pacMan);
+			}
+			fillPacManRecord(records[rowPacMan()], folks.pacMan);
+			fillBonusRecord(records[rowBonus()], gameController, world);
 			fireTableDataChanged();
 		}
 	}
@@ -144,7 +148,7 @@ class GameStateTableModel extends AbstractTableModel {
 		r.moveDir = pacMan.moveDir;
 		r.wishDir = pacMan.wishDir;
 		if (pacMan.ai.getState() != null) {
-			r.speed = pacMan.getSpeed() * app().clock().getTargetFramerate();
+			r.speed = pacMan.getSpeed() * CLOCK.getTicksPerSecond();
 			r.state = pacMan.ai.getState().name();
 			r.ticksRemaining = pacMan.ai.state().getTicksRemaining();
 			r.duration = pacMan.ai.state().getDuration();
@@ -160,7 +164,7 @@ class GameStateTableModel extends AbstractTableModel {
 		r.moveDir = ghost.moveDir;
 		r.wishDir = ghost.wishDir;
 		if (ghost.ai.getState() != null) {
-			r.speed = ghost.getSpeed() * app().clock().getTargetFramerate();
+			r.speed = ghost.getSpeed() * CLOCK.getTicksPerSecond();
 			r.state = ghost.ai.getState().name();
 			r.ticksRemaining = ghost.ai.is(CHASING, SCATTERING) ? ghostCommand.state().getTicksRemaining()
 					: ghost.ai.state().getTicksRemaining();
@@ -243,7 +247,7 @@ class GameStateTableModel extends AbstractTableModel {
 
 	@Override
 	public int getRowCount() {
-		return NUM_ROWS;
+		return records.length;
 	}
 
 	@Override
@@ -7,7 +7,6 @@ import java.awt.Graphics2D;
 import java.awt.event.ItemEvent;
 import java.awt.image.BufferedImage;
 import java.util.Optional;
-import java.util.Random;
 
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.ImageIcon;
@@ -25,6 +24,7 @@ import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.controller.creatures.pacman.PacMan;
 import de.amr.games.pacman.controller.creatures.pacman.PacManState;
 import de.amr.games.pacman.controller.game.GameController;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Direction;
 import de.amr.games.pacman.theme.api.Theme;
 import de.amr.games.pacman.theme.api.Themes;
@@ -38,6 +38,7 @@ public class ThemeSelectionView extends JPanel implements Lifecycle {
 
 	private boolean initialized = false;
 	private Folks folks;
+	private final SeededRandom rnd = new SeededRandom(System.nanoTime());
 
 	private GameController gameController;
 	private JComboBox<String> comboSelectTheme;
@@ -185,15 +186,15 @@ public class ThemeSelectionView extends JPanel implements Lifecycle {
 	private void updatePreviewLabels() {
 		Theme theme = gameController.themes.current();
 		lblPacMan.setIcon(createPacManIcon(theme, folks.pacMan));
-		lblBlinky.setIcon(createGhostIcon(theme, folks.blinky, GhostState.CHASING, Direction.random(), 0));
-		lblPinky.setIcon(createGhostIcon(theme, folks.pinky, GhostState.CHASING, Direction.random(), 0));
-		lblInky.setIcon(createGhostIcon(theme, folks.inky, GhostState.CHASING, Direction.random(), 0));
-		lblClyde.setIcon(createGhostIcon(theme, folks.clyde, GhostState.CHASING, Direction.random(), 0));
-		lblGhostFrightened.setIcon(createGhostIcon(theme, folks.blinky, GhostState.FRIGHTENED, Direction.random(), 0));
-		lblGhostDead.setIcon(createGhostIcon(theme, folks.blinky, GhostState.DEAD, Direction.random(), 0));
+		lblBlinky.setIcon(createGhostIcon(theme, folks.blinky, GhostState.CHASING, Direction.random(rnd), 0));
+		lblPinky.setIcon(createGhostIcon(theme, folks.pinky, GhostState.CHASING, Direction.random(rnd), 0));
+		lblInky.setIcon(createGhostIcon(theme, folks.inky, GhostState.CHASING, Direction.random(rnd), 0));
+		lblClyde.setIcon(createGhostIcon(theme, folks.clyde, GhostState.CHASING, Direction.random(rnd), 0));
+		lblGhostFrightened.setIcon(createGhostIcon(theme, folks.blinky, GhostState.FRIGHTENED, Direction.random(rnd), 0));
+		lblGhostDead.setIcon(createGhostIcon(theme, folks.blinky, GhostState.DEAD, Direction.random(rnd), 0));
 		int[] bounties = { 200, 400, 800, 1600 };
-		int bounty = bounties[new Random().nextInt(4)];
-		lblGhostDeadBounty.setIcon(createGhostIcon(theme, folks.blinky, GhostState.DEAD, Direction.random(), bounty));
+		int bounty = bounties[rnd.nextInt(4)];
+		lblGhostDeadBounty.setIcon(createGhostIcon(theme, folks.blinky, GhostState.DEAD, Direction.random(rnd), bounty));
 	}
 
 	private ImageIcon createPacManIcon(Theme theme, PacMan pacMan) {
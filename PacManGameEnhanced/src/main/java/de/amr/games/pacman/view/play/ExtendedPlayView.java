@@ -1,12 +1,14 @@
 package de.amr.games.pacman.view.play;
 
+import static de.amr.games.pacman.controller.perf.PerformanceMonitor.PERFORMANCE;
+
 import java.awt.Color;
 import java.awt.Graphics2D;
 
 import de.amr.easy.game.ui.widgets.FrameRateWidget;
 import de.amr.games.pacman.controller.creatures.Folks;
 import de.amr.games.pacman.controller.game.GhostCommand;
-import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.controller.perf.Metric;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.api.TiledWorld;
 import de.amr.games.pacman.theme.api.Theme;
@@ -28,6 +30,15 @@ public class ExtendedPlayView extends PlayView {
 	protected final FrameRateWidget frameRateView;
 	protected final GhostCommand ghostCommand;
 
+	private final Metric drawGridTiming = PERFORMANCE.timing("Draw Grid");
+	private final Metric drawWorldTiming = PERFORMANCE.timing("Draw World");
+	private final Metric drawMessagesTiming = PERFORMANCE.timing("Draw Messages");
+	private final Metric drawFolksTiming = PERFORMANCE.timing("Draw Folks");
+	private final Metric drawRoutesTiming = PERFORMANCE.timing("Draw Routes");
+	private final Metric drawStatesTiming = PERFORMANCE.timing("Draw States");
+	private final Metric drawCountersTiming = PERFORMANCE.timing("Draw Counters");
+	private final Metric drawDirtyRegionsTiming = PERFORMANCE.timing("Draw Dirty Regions");
+
 	protected boolean showingFrameRate;
 	protected boolean showingGrid;
 	protected boolean showingRoutes;
@@ -46,17 +57,50 @@ public class ExtendedPlayView extends PlayView {
 
 	@Override
 	public void draw(Graphics2D g) {
+		if (renderThread != null) {
+			// the render thread draws the world, folks and counters, the debug displays read live data
+			drawGrid(g);
+			renderThread.drawFrame(g);
+			drawOneWayTiles(g);
+			drawFrameRate(g);
+			drawRoutes(g);
+			drawStates(g);
+			return;
+		}
+		if (!showingGrid && !showingFrameRate && !showingRoutes && !showingStates) {
+			// only the changed regions are repainted
+			drawDirtyRegionsTiming.begin();
+			super.draw(g);
+			drawDirtyRegionsTiming.end();
+			return;
+		}
+		// the debug displays change everywhere, so the back buffer has to be repainted afterwards
+		invalidate();
+		drawGridTiming.begin();
 		drawGrid(g);
+		drawGridTiming.end();
+		drawWorldTiming.begin();
 		drawWorld(g);
 		drawOneWayTiles(g);
+		drawWorldTiming.end();
+		drawMessagesTiming.begin();
 		drawFrameRate(g);
 		drawMessages(g);
+		drawMessagesTiming.end();
+		drawFolksTiming.begin();
 		drawFolks(g);
+		drawFolksTiming.end();
+		drawRoutesTiming.begin();
 		drawRoutes(g);
+		drawRoutesTiming.end();
+		drawStatesTiming.begin();
 		drawStates(g);
+		drawStatesTiming.end();
+		drawCountersTiming.begin();
 		drawPointsCounter(g);
 		drawLivesCounter(g);
 		drawLevelCounter(g);
+		drawCountersTiming.end();
 	}
 
 	public boolean isShowingFrameRate() {
@@ -109,6 +153,11 @@ public class ExtendedPlayView extends PlayView {
 		showingStates = false;
 	}
 
+	@Override
+	public boolean isShowingScores() {
+		return showingScores;
+	}
+
 	public void turnScoresOn() {
 		this.showingScores = true;
 	}
@@ -129,13 +178,6 @@ public class ExtendedPlayView extends PlayView {
 		}
 	}
 
-	@Override
-	protected void drawPointsCounter(Graphics2D g) {
-		if (showingScores) {
-			theme.gameScoreRenderer().render(g, PacManGame.game);
-		}
-	}
-
 	protected void drawGrid(Graphics2D g) {
 		if (showingGrid) {
 			gridRenderer.renderGrid(g, world);
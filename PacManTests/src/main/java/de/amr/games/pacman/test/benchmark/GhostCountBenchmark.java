@@ -0,0 +1,89 @@
+package de.amr.games.pacman.test.benchmark;
+
+import static de.amr.games.pacman.PacManApp.settings;
+import static de.amr.games.pacman.controller.game.PacManGameState.LOADING_MUSIC;
+
+import java.util.logging.Level;
+
+import de.amr.games.pacman.controller.game.GameController;
+import de.amr.games.pacman.controller.log.GameLog;
+import de.amr.games.pacman.controller.log.LogCategory;
+import de.amr.games.pacman.theme.api.Themes;
+
+/**
+ * Measures the simulation speed (ticks/sec) depending on the number of ghosts.
+ * <p>
+ * Runs the game controller headless (no rendering, no sound) in demo mode: Pac-Man moves by
+ * himself and eats the food, the ghosts leave the house, scatter and chase as in a real game.
+ * Collisions do not kill anybody. Each measured tick is a complete {@link GameController#step()}.
+ * <p>
+ * Usage: {@code GhostCountBenchmark [ticks [ghostCount...]]}
+ *
+ * @author Armin Reichert
+ */
+public class GhostCountBenchmark {
+
+	static final long SEED = 42;
+	static final int MUSIC_LOADING_TICKS = 60 * 60;
+	/** Covers the "Ready" phase and the initial wait of the playing state. */
+	static final int WARMUP_TICKS = 600;
+
+	public static void main(String[] args) throws InterruptedException {
+		int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 3600;
+		int[] ghostCounts = { 4, 16, 64, 256, 1024 };
+		if (args.length > 1) {
+			ghostCounts = new int[args.length - 1];
+			for (int i = 1; i < args.length; ++i) {
+				ghostCounts[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		for (LogCategory category : LogCategory.values()) {
+			GameLog.setLevel(category, Level.OFF);
+		}
+		settings.seed = SEED;
+		settings.skipIntro = true;
+		settings.muted = true;
+		settings.renderThread = false;
+		settings.demoMode = true;
+		settings.ghostsHarmless = true;
+		settings.pacManImmortable = true;
+		System.out.println(String.format("%8s %12s %12s %14s", "Ghosts", "Ticks/sec", "us/tick", "us/tick/ghost"));
+		for (int ghostCount : ghostCounts) {
+			GhostCountBenchmark benchmark = new GhostCountBenchmark(ghostCount);
+			benchmark.run(WARMUP_TICKS);
+			long start = System.nanoTime();
+			benchmark.run(ticks);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			double microsPerTick = seconds * 1e6 / ticks;
+			System.out.println(String.format("%8d %12.0f %12.1f %14.3f", ghostCount, ticks / seconds, microsPerTick,
+					microsPerTick / ghostCount));
+		}
+	}
+
+	private final GameController controller;
+
+	public GhostCountBenchmark(int ghostCount) throws InterruptedException {
+		settings.ghosts = ghostCount;
+		controller = new GameController(Themes.all());
+		controller.init();
+		controller.themes.current().sounds().loadMusic();
+		for (int tick = 0; controller.is(LOADING_MUSIC); ++tick) {
+			if (tick == MUSIC_LOADING_TICKS) {
+				throw new IllegalStateException("Game could not be started, music is not loaded");
+			}
+			controller.step();
+			Thread.sleep(1000 / 60);
+		}
+	}
+
+	/**
+	 * Simulates the given number of ticks.
+	 *
+	 * @param ticks number of ticks
+	 */
+	public void run(int ticks) {
+		for (int tick = 0; tick < ticks; ++tick) {
+			controller.step();
+		}
+	}
+}
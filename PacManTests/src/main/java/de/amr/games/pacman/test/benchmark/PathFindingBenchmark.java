@@ -0,0 +1,95 @@
+package de.amr.games.pacman.test.benchmark;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+import de.amr.games.pacman.controller.log.GameLog;
+import de.amr.games.pacman.controller.log.LogCategory;
+import de.amr.games.pacman.model.game.SeededRandom;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.graph.WorldGraph;
+import de.amr.games.pacman.model.world.graph.WorldGraph.PathFinder;
+import de.amr.games.pacman.model.world.maze.MazeWorld;
+
+/**
+ * Measures the path finders on randomly generated maze worlds of increasing size.
+ * <p>
+ * For each world size, the maze world and its graph are built and timed, then each path finder
+ * searches the paths between the same random pairs of accessible tiles. The world and the pairs
+ * only depend on the seed, so runs with the same arguments are comparable.
+ * <p>
+ * Usage: {@code PathFindingBenchmark [queries [WxH...]]}
+ *
+ * @author Armin Reichert
+ */
+public class PathFindingBenchmark {
+
+	static final long SEED = 42;
+	static final int WARMUP_QUERIES = 100;
+
+	public static void main(String[] args) {
+		int queries = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		String[] sizes = { "28x36", "101x80", "301x200", "1001x700" };
+		if (args.length > 1) {
+			sizes = new String[args.length - 1];
+			System.arraycopy(args, 1, sizes, 0, sizes.length);
+		}
+		for (LogCategory category : LogCategory.values()) {
+			GameLog.setLevel(category, Level.OFF);
+		}
+		System.out.println(String.format("%10s %10s %10s %20s %10s %12s", "Size", "World ms", "Graph ms", "Path finder",
+				"us/path", "Path length"));
+		for (String size : sizes) {
+			String[] dimensions = size.split("x");
+			if (dimensions.length != 2) {
+				throw new IllegalArgumentException(String.format("Illegal world size '%s', use WxH", size));
+			}
+			new PathFindingBenchmark(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1])).run(queries);
+		}
+	}
+
+	private final String size;
+	private final double worldMillis, graphMillis;
+	private final WorldGraph graph;
+	private final List<Tile> tiles;
+	private final SeededRandom rnd = new SeededRandom(SEED);
+
+	public PathFindingBenchmark(int width, int height) {
+		size = width + "x" + height;
+		long start = System.nanoTime();
+		MazeWorld world = new MazeWorld(width, height, SEED);
+		worldMillis = (System.nanoTime() - start) / 1e6;
+		start = System.nanoTime();
+		graph = new WorldGraph(world);
+		graphMillis = (System.nanoTime() - start) / 1e6;
+		tiles = world.tiles().filter(world::isAccessible).collect(Collectors.toList());
+	}
+
+	/**
+	 * Lets each path finder search the paths between the given number of random tile pairs.
+	 *
+	 * @param queries number of searched paths per path finder
+	 */
+	public void run(int queries) {
+		Tile[] sources = new Tile[queries], targets = new Tile[queries];
+		for (int i = 0; i < queries; ++i) {
+			sources[i] = tiles.get(rnd.nextInt(tiles.size()));
+			targets[i] = tiles.get(rnd.nextInt(tiles.size()));
+		}
+		for (PathFinder pathFinder : PathFinder.values()) {
+			graph.setPathFinder(pathFinder);
+			for (int i = 0; i < Math.min(WARMUP_QUERIES, queries); ++i) {
+				graph.findPath(sources[i], targets[i]);
+			}
+			long pathLength = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < queries; ++i) {
+				pathLength += graph.findPath(sources[i], targets[i]).size();
+			}
+			double micros = (System.nanoTime() - start) / 1e3;
+			System.out.println(String.format("%10s %10.1f %10.1f %20s %10.1f %12.1f", size, worldMillis, graphMillis,
+					pathFinder, micros / queries, (double) pathLength / queries));
+		}
+	}
+}
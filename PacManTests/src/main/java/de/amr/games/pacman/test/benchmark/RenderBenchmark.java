@@ -0,0 +1,210 @@
+package de.amr.games.pacman.test.benchmark;
+
+import static de.amr.games.pacman.controller.game.SimulationClock.CLOCK;
+import static de.amr.games.pacman.controller.steering.api.SteeringBuilder.you;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.logging.Level;
+
+import de.amr.games.pacman.controller.creatures.Folks;
+import de.amr.games.pacman.controller.creatures.ghost.Ghost;
+import de.amr.games.pacman.controller.creatures.ghost.GhostState;
+import de.amr.games.pacman.controller.game.GhostCommand;
+import de.amr.games.pacman.controller.log.GameLog;
+import de.amr.games.pacman.controller.log.LogCategory;
+import de.amr.games.pacman.model.game.PacManGame;
+import de.amr.games.pacman.model.game.SeededRandom;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.arcade.ArcadeBonus;
+import de.amr.games.pacman.model.world.arcade.ArcadeWorld;
+import de.amr.games.pacman.theme.api.Theme;
+import de.amr.games.pacman.theme.arcade.ArcadeTheme;
+import de.amr.games.pacman.theme.blocks.BlocksTheme;
+import de.amr.games.pacman.theme.letters.LettersTheme;
+import de.amr.games.pacman.view.play.ExtendedPlayView;
+
+/**
+ * Measures the rendering cost (ns/frame, bytes allocated/frame) of the play view for each theme,
+ * overlay and some representative scenes.
+ * <p>
+ * The scenes are set up headless and do not change while they are rendered into an offscreen image.
+ * The simulation clock advances one tick per frame, so the animations of the themes are running.
+ * Every frame is drawn completely, as if the whole scene had changed, so the dirty region tracking
+ * of the play view does not skip the static parts. The allocated bytes are measured for the
+ * rendering thread (HotSpot only, else -1). The frame rate widget reads the clock of the running
+ * application, so the frame rate overlay is measured with a stand-in drawing the same text with a
+ * fixed frame rate.
+ * <p>
+ * Usage: {@code RenderBenchmark [frames [scale]]}
+ *
+ * @author Armin Reichert
+ */
+public class RenderBenchmark {
+
+	static final long SEED = 42;
+	static final int WARMUP_FRAMES = 200;
+
+	static final List<Theme> THEMES = List.of(ArcadeTheme.THEME, BlocksTheme.THEME, LettersTheme.THEME);
+
+	enum Overlay {
+		NONE, GRID, ROUTES, STATES, FRAME_RATE
+	}
+
+	enum Scene {
+		FULL_MAZE, HALF_EATEN, FRIGHTENED_GHOSTS, LEVEL_FLASHING, BONUS_ACTIVE
+	}
+
+	public static void main(String[] args) {
+		int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		float scale = args.length > 1 ? Float.parseFloat(args[1]) : 2;
+		for (LogCategory category : LogCategory.values()) {
+			GameLog.setLevel(category, Level.OFF);
+		}
+		System.out.println(String.format("%-8s %-11s %-18s %12s %14s", "Theme", "Overlay", "Scene", "ns/frame",
+				"bytes/frame"));
+		for (Theme theme : THEMES) {
+			for (Overlay overlay : Overlay.values()) {
+				for (Scene scene : Scene.values()) {
+					String row = String.format("%-8s %-11s %-18s", theme.name(), overlay, scene);
+					try {
+						RenderBenchmark benchmark = new RenderBenchmark(theme, overlay, scene, scale);
+						benchmark.render(WARMUP_FRAMES);
+						long bytes = allocatedBytes();
+						long start = System.nanoTime();
+						benchmark.render(frames);
+						long nanos = System.nanoTime() - start;
+						bytes = bytes != -1 ? allocatedBytes() - bytes : -1;
+						System.out.println(String.format("%s %12d %14d", row, nanos / frames, bytes != -1 ? bytes / frames : -1));
+					} catch (RuntimeException e) {
+						System.out.println(String.format("%s %s", row, "failed: " + e));
+					}
+				}
+			}
+		}
+	}
+
+	private static long allocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	private final ArcadeWorld world;
+	private final Folks folks;
+	private final ExtendedPlayView view;
+	private final float scale;
+	private final BufferedImage image;
+
+	public RenderBenchmark(Theme theme, Overlay overlay, Scene scene, float scale) {
+		this.scale = scale;
+		SeededRandom rnd = new SeededRandom(SEED);
+		world = new ArcadeWorld();
+		PacManGame.start(1, world.totalFoodCount());
+		folks = new Folks(world, world.house(0).get(), rnd);
+		GhostCommand ghostCommand = new GhostCommand(folks);
+		you(folks.pacMan).moveRandomly().random(rnd.split("Pac-Man")).ok();
+		folks.guys().forEach(guy -> {
+			world.include(guy);
+			guy.init();
+		});
+		folks.ghosts().filter(ghost -> ghost.madness != null).forEach(ghost -> ghost.madness.init());
+		ghostCommand.init();
+		folks.pacMan.wakeUp();
+		Tile[] corners = { Tile.at(1, 4), Tile.at(26, 4), Tile.at(1, 32), Tile.at(26, 32) };
+		for (int i = 0; i < folks.ghostCount(); ++i) {
+			Ghost ghost = folks.ghost(i);
+			ghost.placeAt(corners[i % corners.length], 0, 0);
+			ghost.ai.setState(GhostState.SCATTERING);
+		}
+		// one tick computes the steering, routes and target tiles
+		folks.store.computeIntents();
+		folks.guysInWorld().forEach(guy -> guy.update());
+		setUp(scene);
+
+		view = new ExtendedPlayView(theme, folks, ghostCommand, world) {
+
+			@Override
+			public void draw(Graphics2D g) {
+				// the scene is static, without this only the animated regions would be redrawn
+				invalidate();
+				super.draw(g);
+			}
+
+			@Override
+			protected void drawFrameRate(Graphics2D g) {
+				// stand-in for the frame rate widget, which reads the clock of the running application
+				if (isShowingFrameRate()) {
+					int fps = CLOCK.getTicksPerSecond();
+					g.setColor(Color.LIGHT_GRAY);
+					g.setFont(frameRateView.font);
+					g.drawString(String.format("%d|%d fps", fps, fps), 0, 18 * Tile.SIZE);
+				}
+			}
+		};
+		view.init();
+		switch (overlay) {
+		case GRID:
+			view.turnGridOn();
+			break;
+		case ROUTES:
+			view.turnRoutesOn();
+			break;
+		case STATES:
+			view.turnStatesOn();
+			break;
+		case FRAME_RATE:
+			view.turnFrameRateOn();
+			break;
+		default:
+			break;
+		}
+		image = new BufferedImage(Math.round(world.width() * Tile.SIZE * scale),
+				Math.round(world.height() * Tile.SIZE * scale), BufferedImage.TYPE_INT_RGB);
+	}
+
+	private void setUp(Scene scene) {
+		switch (scene) {
+		case HALF_EATEN:
+			Tile[] foodTiles = world.tiles().filter(world::hasFood).toArray(Tile[]::new);
+			for (int i = 0; i < foodTiles.length; i += 2) {
+				world.removeFood(foodTiles[i]);
+			}
+			break;
+		case FRIGHTENED_GHOSTS:
+			folks.ghosts().forEach(ghost -> ghost.ai.setState(GhostState.FRIGHTENED));
+			break;
+		case LEVEL_FLASHING:
+			world.setChanging(true);
+			break;
+		case BONUS_ACTIVE:
+			world.showTemporaryFood(ArcadeBonus.of(PacManGame.game.bonusSymbol, PacManGame.game.bonusValue));
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Renders the given number of frames into the offscreen image, one clock tick per frame.
+	 *
+	 * @param frames number of frames
+	 */
+	public void render(int frames) {
+		for (int frame = 0; frame < frames; ++frame) {
+			CLOCK.tick();
+			Graphics2D g = image.createGraphics();
+			g.setColor(Color.BLACK);
+			g.fillRect(0, 0, image.getWidth(), image.getHeight());
+			g.scale(scale, scale);
+			view.draw(g);
+			g.dispose();
+		}
+	}
+}
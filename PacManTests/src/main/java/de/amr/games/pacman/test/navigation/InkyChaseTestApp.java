@@ -1,6 +1,5 @@
 package de.amr.games.pacman.test.navigation;
 
-import static de.amr.easy.game.Application.app;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 
 import java.awt.Color;
@@ -38,7 +37,7 @@ class InkyChaseTestUI extends TestController {
 	@Override
 	public void init() {
 		super.init();
-		app().soundManager().muteAll();
+		theme().sounds().setMuted(true);
 		include(pacMan, inky, blinky);
 		pacMan.init();
 		folks.ghostsInWorld().forEach(ghost -> {
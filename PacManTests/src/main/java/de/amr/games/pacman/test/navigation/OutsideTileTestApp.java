@@ -1,6 +1,5 @@
 package de.amr.games.pacman.test.navigation;
 
-import static de.amr.easy.game.Application.app;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacman.controller.steering.api.SteeringBuilder.you;
 
@@ -38,7 +37,7 @@ class OutsideTileTestUI extends TestController {
 	@Override
 	public void init() {
 		super.init();
-		app().soundManager().muteAll();
+		theme().sounds().setMuted(true);
 		include(blinky);
 		blinky.init();
 		int row = world.portals().findFirst().map(portal -> portal.other.row).orElse((short) 100);
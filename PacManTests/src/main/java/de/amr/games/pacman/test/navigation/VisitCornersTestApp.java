@@ -1,6 +1,5 @@
 package de.amr.games.pacman.test.navigation;
 
-import static de.amr.easy.game.Application.app;
 import static de.amr.games.pacman.controller.creatures.ghost.GhostState.CHASING;
 import static de.amr.games.pacman.controller.steering.api.SteeringBuilder.you;
 
@@ -44,7 +43,7 @@ class FollowTargetTilesTestUI extends TestController {
 		targets = Arrays.asList(capes.get(0), capes.get(1), capes.get(2),
 				Tile.at(world.pacManBed().col(), world.pacManBed().row()), capes.get(3));
 		current = 0;
-		app().soundManager().muteAll();
+		theme().sounds().setMuted(true);
 		include(blinky);
 		blinky.init();
 		blinky.placeAt(targets.get(0), 0, 0);
@@ -8,6 +8,7 @@ import de.amr.easy.game.Application;
 import de.amr.easy.game.config.AppSettings;
 import de.amr.games.pacman.controller.creatures.ghost.GhostState;
 import de.amr.games.pacman.controller.steering.ghost.FleeingToSafeTile;
+import de.amr.games.pacman.model.game.SeededRandom;
 import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.graph.WorldGraph;
 import de.amr.games.pacman.test.TestController;
@@ -39,8 +40,9 @@ class EscapeIntoCornerTestUI extends TestController {
 		super.init();
 		include(pacMan, blinky, inky);
 		WorldGraph graph = new WorldGraph(world);
+		SeededRandom rnd = new SeededRandom(System.nanoTime());
 		Stream.of(blinky, inky)
-				.forEach(ghost -> ghost.setSteering(FRIGHTENED, new FleeingToSafeTile(ghost, graph, pacMan)));
+				.forEach(ghost -> ghost.setSteering(FRIGHTENED, new FleeingToSafeTile(ghost, graph, pacMan, rnd.split(ghost.name))));
 		blinky.ai.setState(FRIGHTENED);
 		inky.ai.setState(GhostState.LEAVING_HOUSE);
 		inky.nextState = FRIGHTENED;
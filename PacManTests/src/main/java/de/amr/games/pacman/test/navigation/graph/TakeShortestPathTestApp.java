@@ -19,6 +19,7 @@ import de.amr.games.pacman.model.world.api.Tile;
 import de.amr.games.pacman.model.world.components.Portal;
 import de.amr.games.pacman.model.world.graph.WorldGraph;
 import de.amr.games.pacman.test.TestController;
+import de.amr.games.pacman.theme.arcade.ArcadeSounds;
 
 public class TakeShortestPathTestApp extends Application {
 
@@ -36,7 +37,7 @@ public class TakeShortestPathTestApp extends Application {
 
 	@Override
 	public void init() {
-		soundManager().muteAll();
+		ArcadeSounds.SOUNDS.setMuted(true);
 		setController(new TakeShortestPathTestUI());
 	}
 }
@@ -0,0 +1,137 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.view.common.Framebuffer;
+import de.amr.games.pacman.view.common.PixelSprite;
+
+public class FramebufferTests {
+
+	static final int BACKGROUND = 0xff000000;
+	static final int TRANSPARENT = 0x00123456;
+	static final int MASK_COLOR = 0xffff0000;
+
+	private Framebuffer fb;
+	private PixelSprite sprite;
+
+	@Before
+	public void setUp() {
+		fb = new Framebuffer(8, 6);
+		fb.clear(BACKGROUND);
+		// opaque pixels 0xff000001..0xff000009 row by row, the center pixel is transparent
+		int[] pixels = new int[9];
+		for (int i = 0; i < pixels.length; ++i) {
+			pixels[i] = 0xff000001 + i;
+		}
+		pixels[4] = TRANSPARENT;
+		sprite = new PixelSprite(3, 3, pixels);
+	}
+
+	private int pixel(int x, int y) {
+		return fb.pixels[y * fb.width + x];
+	}
+
+	private int spritePixel(int x, int y) {
+		return sprite.pixels[y * sprite.width + x];
+	}
+
+	/*
+	 * Asserts that the pixels covered by the sprite drawn at (x, y) have the expected values and all
+	 * other pixels are untouched.
+	 */
+	private void assertDrawn(int x, int y, boolean copyTransparent, boolean mask) {
+		for (int row = 0; row < fb.height; ++row) {
+			for (int col = 0; col < fb.width; ++col) {
+				int sx = col - x, sy = row - y;
+				int expected = BACKGROUND;
+				if (0 <= sx && sx < sprite.width && 0 <= sy && sy < sprite.height) {
+					int argb = spritePixel(sx, sy);
+					if (copyTransparent || argb >>> 24 != 0) {
+						expected = mask ? MASK_COLOR : argb;
+					}
+				}
+				assertEquals(String.format("Pixel (%d,%d)", col, row), expected, pixel(col, row));
+			}
+		}
+	}
+
+	@Test
+	public void testCopyInside() {
+		fb.copy(sprite, 2, 1);
+		assertDrawn(2, 1, true, false);
+	}
+
+	@Test
+	public void testCopyClippedAtNegativeCoordinates() {
+		fb.copy(sprite, -1, -2);
+		assertDrawn(-1, -2, true, false);
+	}
+
+	@Test
+	public void testCopyClippedAtRightAndBottomEdge() {
+		fb.copy(sprite, fb.width - 2, fb.height - 1);
+		assertDrawn(fb.width - 2, fb.height - 1, true, false);
+	}
+
+	@Test
+	public void testCopyOutside() {
+		fb.copy(sprite, -3, 0);
+		fb.copy(sprite, 0, -3);
+		fb.copy(sprite, fb.width, 0);
+		fb.copy(sprite, 0, fb.height);
+		assertDrawn(fb.width, fb.height, true, false);
+	}
+
+	@Test
+	public void testBlitSkipsTransparentPixels() {
+		fb.blit(sprite, 2, 1);
+		assertDrawn(2, 1, false, false);
+	}
+
+	@Test
+	public void testBlitClippedAtNegativeCoordinates() {
+		fb.blit(sprite, -2, -1);
+		assertDrawn(-2, -1, false, false);
+	}
+
+	@Test
+	public void testBlitClippedAtRightAndBottomEdge() {
+		fb.blit(sprite, fb.width - 1, fb.height - 2);
+		assertDrawn(fb.width - 1, fb.height - 2, false, false);
+	}
+
+	@Test
+	public void testBlitOutside() {
+		fb.blit(sprite, -3, -3);
+		fb.blit(sprite, fb.width, fb.height);
+		assertDrawn(fb.width, fb.height, false, false);
+	}
+
+	@Test
+	public void testBlitMask() {
+		fb.blitMask(sprite, 2, 1, MASK_COLOR);
+		assertDrawn(2, 1, false, true);
+	}
+
+	@Test
+	public void testBlitMaskClippedAtNegativeCoordinates() {
+		fb.blitMask(sprite, -1, -1, MASK_COLOR);
+		assertDrawn(-1, -1, false, true);
+	}
+
+	@Test
+	public void testBlitMaskClippedAtRightAndBottomEdge() {
+		fb.blitMask(sprite, fb.width - 2, fb.height - 2, MASK_COLOR);
+		assertDrawn(fb.width - 2, fb.height - 2, false, true);
+	}
+
+	@Test
+	public void testBlitMaskOutside() {
+		fb.blitMask(sprite, -3, 2, MASK_COLOR);
+		fb.blitMask(sprite, 2, fb.height, MASK_COLOR);
+		assertDrawn(fb.width, fb.height, false, true);
+	}
+}
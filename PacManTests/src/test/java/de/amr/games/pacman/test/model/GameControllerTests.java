@@ -0,0 +1,157 @@
+package de.amr.games.pacman.test.model;
+
+import static de.amr.games.pacman.PacManApp.settings;
+import static de.amr.games.pacman.controller.game.PacManGameState.LOADING_MUSIC;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.game.GameController;
+import de.amr.games.pacman.controller.replay.ReplayPlayer;
+import de.amr.games.pacman.controller.replay.ReplayRecorder;
+import de.amr.games.pacman.theme.api.Themes;
+
+public class GameControllerTests {
+
+	static final int MUSIC_LOADING_TICKS = 60;
+	static final int PLAYING_TICKS = 600;
+	static final int TICKS = 300;
+	static final int REPLAY_TICKS = 1200;
+	static final int KEYFRAME_INTERVAL = 250;
+
+	/** Number of game keys (up, right, down, left, space, enter), see {@code GameInput}. */
+	static final int GAME_KEYS = 6;
+
+	private GameController controller;
+
+	// the settings changed by the tests or by the replay player
+	private long seed;
+	private boolean skipIntro, muted, renderThread, demoMode, ghostsHarmless, ghostsSafeCorner, fixOverflowBug,
+			pacManImmortable;
+	private int startLevel, ghosts;
+	private String pathFinder, replay;
+
+	@Before
+	public void saveSettings() {
+		seed = settings.seed;
+		skipIntro = settings.skipIntro;
+		muted = settings.muted;
+		renderThread = settings.renderThread;
+		demoMode = settings.demoMode;
+		ghostsHarmless = settings.ghostsHarmless;
+		ghostsSafeCorner = settings.ghostsSafeCorner;
+		fixOverflowBug = settings.fixOverflowBug;
+		pacManImmortable = settings.pacManImmortable;
+		startLevel = settings.startLevel;
+		ghosts = settings.ghosts;
+		pathFinder = settings.pathFinder;
+		replay = settings.replay;
+	}
+
+	@After
+	public void restoreSettings() {
+		settings.seed = seed;
+		settings.skipIntro = skipIntro;
+		settings.muted = muted;
+		settings.renderThread = renderThread;
+		settings.demoMode = demoMode;
+		settings.ghostsHarmless = ghostsHarmless;
+		settings.ghostsSafeCorner = ghostsSafeCorner;
+		settings.fixOverflowBug = fixOverflowBug;
+		settings.pacManImmortable = pacManImmortable;
+		settings.startLevel = startLevel;
+		settings.ghosts = ghosts;
+		settings.pathFinder = pathFinder;
+		settings.replay = replay;
+	}
+
+	private GameController startGame(boolean demo) {
+		settings.seed = 42;
+		settings.skipIntro = true;
+		settings.muted = true;
+		settings.renderThread = false;
+		settings.demoMode = demo;
+		settings.replay = null;
+		controller = new GameController(Themes.all());
+		controller.init();
+		controller.themes.current().sounds().loadMusic().join();
+		for (int tick = 0; controller.is(LOADING_MUSIC); ++tick) {
+			if (tick == MUSIC_LOADING_TICKS) {
+				fail("Game has not been started after loading the music");
+			}
+			controller.step();
+		}
+		for (int tick = 0; tick < PLAYING_TICKS; ++tick) {
+			controller.step();
+		}
+		return controller;
+	}
+
+	private long[] stepAndHash(int ticks) {
+		long[] hashes = new long[ticks];
+		for (int tick = 0; tick < ticks; ++tick) {
+			controller.step();
+			hashes[tick] = controller.stateHash();
+		}
+		return hashes;
+	}
+
+	/*
+	 * Steers Pac-Man in a new direction every 90 ticks and presses the key in the first two ticks of
+	 * the direction, i.e. in two consecutive ticks.
+	 */
+	private int input(int tick) {
+		int key = (tick / 90) % 4;
+		int state = 1 << key;
+		if (tick % 90 < 2) {
+			state |= 1 << (GAME_KEYS + key);
+		}
+		return state;
+	}
+
+	@Test
+	public void testRestoredGameReproducesStateHashes() {
+		startGame(true);
+		byte[] snapshot = controller.snapshot();
+		long[] hashes = stepAndHash(TICKS);
+		controller.restore(snapshot);
+		assertArrayEquals(hashes, stepAndHash(TICKS));
+	}
+
+	@Test
+	public void testReplayReproducesStateHashes() throws IOException {
+		Path file = Files.createTempFile("pacman", ".replay");
+		try {
+			startGame(false);
+			long[] hashes = new long[REPLAY_TICKS];
+			try (ReplayRecorder recorder = new ReplayRecorder(controller, file, KEYFRAME_INTERVAL)) {
+				for (int tick = 0; tick < REPLAY_TICKS; ++tick) {
+					controller.input.setState(input(tick));
+					recorder.record();
+					controller.step();
+					hashes[tick] = controller.stateHash();
+				}
+			}
+			settings.replay = file.toString();
+			GameController replayed = new GameController(Themes.all());
+			replayed.init();
+			ReplayPlayer player = replayed.replayPlayer();
+			assertEquals(REPLAY_TICKS, player.lastTick());
+			for (int tick = 0; tick < REPLAY_TICKS; ++tick) {
+				player.step();
+				assertEquals("Tick " + tick, hashes[tick], replayed.stateHash());
+			}
+			player.close();
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
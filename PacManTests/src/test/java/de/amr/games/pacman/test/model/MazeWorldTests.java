@@ -0,0 +1,96 @@
+package de.amr.games.pacman.test.model;
+
+import static de.amr.games.pacman.model.world.arcade.ArcadeFood.ENERGIZER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.model.world.api.Direction;
+import de.amr.games.pacman.model.world.api.Tile;
+import de.amr.games.pacman.model.world.components.House;
+import de.amr.games.pacman.model.world.components.Portal;
+import de.amr.games.pacman.model.world.maze.MazeWorld;
+
+public class MazeWorldTests {
+
+	private int reachableTiles(MazeWorld world) {
+		boolean[] visited = new boolean[world.numTiles()];
+		Deque<Tile> q = new ArrayDeque<>();
+		Tile start = world.capes().get(0);
+		visited[start.row * world.width() + start.col] = true;
+		q.add(start);
+		int count = 0;
+		while (!q.isEmpty()) {
+			Tile tile = q.poll();
+			++count;
+			for (Direction dir : Direction.values()) {
+				Tile neighbor = world.neighbor(tile, dir);
+				if (world.isAccessible(neighbor) && !visited[neighbor.row * world.width() + neighbor.col]) {
+					visited[neighbor.row * world.width() + neighbor.col] = true;
+					q.add(neighbor);
+				}
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testStructure() {
+		MazeWorld world = new MazeWorld(29, 36, 42);
+		assertEquals(1, world.houses().count());
+		House house = world.house(0).get();
+		assertEquals(4, house.beds().count());
+		assertEquals(1, world.portals().count());
+		Portal portal = world.portals().findFirst().get();
+		assertEquals(0, portal.either.col);
+		assertEquals(world.width() - 1, portal.other.col);
+		assertTrue(world.isAccessible(portal.either));
+		assertEquals(portal.other, world.neighbor(portal.either, Direction.LEFT));
+		assertTrue(world.isAccessible(Tile.at(world.pacManBed().col(), world.pacManBed().row())));
+		assertTrue(world.isAccessible(world.bonusLocation()));
+		assertFalse(world.hasFood(world.bonusLocation()));
+		assertEquals(4, world.tiles().filter(tile -> world.foodAt(tile).equals(Optional.of(ENERGIZER))).count());
+	}
+
+	@Test
+	public void testConnectedWithoutDeadEnds() {
+		for (long seed = 0; seed < 10; ++seed) {
+			MazeWorld world = new MazeWorld(101, 80, seed);
+			long accessibleCount = world.tiles().filter(world::isAccessible).count();
+			assertEquals(accessibleCount, reachableTiles(world));
+			world.tiles().filter(world::isAccessible).filter(tile -> world.houses().noneMatch(h -> h.includes(tile)))
+					.forEach(tile -> {
+						long exits = Direction.dirs().map(dir -> world.neighbor(tile, dir)).filter(world::isAccessible).count();
+						assertTrue("Dead end at " + tile, exits >= 2);
+					});
+		}
+	}
+
+	@Test
+	public void testSameSeedSameWorld() {
+		MazeWorld world = new MazeWorld(300, 200, 7), other = new MazeWorld(300, 200, 7);
+		assertEquals(world.totalFoodCount(), other.totalFoodCount());
+		assertTrue(world.tiles().allMatch(tile -> world.isAccessible(tile) == other.isAccessible(tile)
+				&& world.isIntersection(tile) == other.isIntersection(tile) && world.hasFood(tile) == other.hasFood(tile)));
+		assertEquals(world.capes(), other.capes());
+	}
+
+	@Test
+	public void testLargeWorldHasManyHouses() {
+		MazeWorld world = new MazeWorld(1000, 700, 1);
+		assertEquals(150, world.houses().count());
+		assertEquals(10, world.portals().count());
+		assertTrue(world.totalFoodCount() > 300_000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooSmall() {
+		new MazeWorld(10, 10, 0);
+	}
+}
@@ -0,0 +1,60 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.model.game.SeededRandom;
+
+public class SeededRandomTests {
+
+	@Test
+	public void testSameSeedSameNumbers() {
+		SeededRandom r1 = new SeededRandom(42), r2 = new SeededRandom(42);
+		for (int i = 0; i < 1000; ++i) {
+			assertEquals(r1.nextLong(), r2.nextLong());
+		}
+	}
+
+	@Test
+	public void testSplitIndependentOfConsumption() {
+		SeededRandom r1 = new SeededRandom(42), r2 = new SeededRandom(42);
+		for (int i = 0; i < 100; ++i) {
+			r2.nextLong();
+		}
+		SeededRandom s1 = r1.split("Blinky"), s2 = r2.split("Blinky");
+		for (int i = 0; i < 100; ++i) {
+			assertEquals(s1.nextInt(), s2.nextInt());
+		}
+		assertNotEquals(r1.split("Blinky").nextLong(), r1.split("Inky").nextLong());
+	}
+
+	@Test
+	public void testRestoreState() {
+		SeededRandom rnd = new SeededRandom(4711);
+		rnd.nextLong();
+		long state = rnd.getState();
+		long expected = rnd.nextLong();
+		rnd.nextLong();
+		rnd.setState(state);
+		assertEquals(expected, rnd.nextLong());
+	}
+
+	@Test
+	public void testBounds() {
+		SeededRandom rnd = new SeededRandom(0);
+		for (int i = 0; i < 10_000; ++i) {
+			int n = rnd.nextInt(4);
+			assertTrue(0 <= n && n < 4);
+			float f = rnd.nextFloat();
+			assertTrue(0 <= f && f < 1);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalBound() {
+		new SeededRandom(0).nextInt(0);
+	}
+}
@@ -0,0 +1,66 @@
+package de.amr.games.pacman.test.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.snapshot.SnapshotReader;
+import de.amr.games.pacman.controller.snapshot.SnapshotWriter;
+import de.amr.games.pacman.model.world.api.Direction;
+
+public class SnapshotTests {
+
+	@Test
+	public void testValuesRoundTrip() {
+		long[] numbers = { 0, 1, -1, 63, -64, 64, 1_000_000, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+		BitSet bits = new BitSet();
+		bits.set(3);
+		bits.set(500);
+		SnapshotWriter out = new SnapshotWriter();
+		for (long number : numbers) {
+			out.writeLong(number);
+		}
+		out.writeInt(-42);
+		out.writeFloat(13.37f);
+		out.writeFloat(Float.NaN);
+		out.writeEnum(Direction.DOWN);
+		out.writeEnum(null);
+		out.writeBoolean(true);
+		out.writeBits(bits);
+
+		SnapshotReader in = new SnapshotReader(out.toByteArray());
+		for (long number : numbers) {
+			assertEquals(number, in.readLong());
+		}
+		assertEquals(-42, in.readInt());
+		assertEquals(Float.floatToRawIntBits(13.37f), Float.floatToRawIntBits(in.readFloat()));
+		assertTrue(Float.isNaN(in.readFloat()));
+		assertEquals(Direction.DOWN, in.readEnum(Direction.values()));
+		assertNull(in.readEnum(Direction.values()));
+		assertTrue(in.readBoolean());
+		assertEquals(bits, in.readBits());
+		assertTrue(in.isComplete());
+	}
+
+	@Test
+	public void testSmallNumbersTakeOneByte() {
+		SnapshotWriter out = new SnapshotWriter();
+		for (int i = -64; i < 64; ++i) {
+			out.writeInt(i);
+		}
+		assertEquals(128, out.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testTruncatedData() {
+		SnapshotWriter out = new SnapshotWriter();
+		out.writeLong(Long.MAX_VALUE);
+		byte[] data = out.toByteArray();
+		new SnapshotReader(Arrays.copyOf(data, data.length - 1)).readLong();
+	}
+}
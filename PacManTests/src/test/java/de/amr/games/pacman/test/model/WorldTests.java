@@ -84,6 +84,20 @@ public class WorldTests {
 		assertTrue(world.foodAt(Tile.at(1, 6)).get() == ENERGIZER);
 	}
 
+	@Test
+	public void testFoodVersion() {
+		long version = world.foodVersion();
+		world.removeFood(Tile.at(1, 4));
+		assertNotEquals(version, world.foodVersion());
+		version = world.foodVersion();
+		world.removeFood(Tile.at(1, 4));
+		world.removeFood(Tile.at(0, 0));
+		assertEquals(version, world.foodVersion());
+		world.restoreFood();
+		assertNotEquals(version, world.foodVersion());
+		assertTrue(world.hasFood(Tile.at(1, 4)));
+	}
+
 	@Test
 	public void testTiles() {
 		assertEquals(Tile.at(0, 0), Tile.at(0, 0));
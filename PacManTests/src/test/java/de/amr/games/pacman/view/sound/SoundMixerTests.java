@@ -0,0 +1,115 @@
+package de.amr.games.pacman.view.sound;
+
+import static de.amr.games.pacman.view.sound.SoundMixer.CHUNK_FRAMES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.amr.games.pacman.view.sound.SoundMixer.Cue;
+
+// drives a mixer without thread and audio line chunk by chunk, so it is in the package of the mixer
+public class SoundMixerTests {
+
+	private SoundMixer mixer;
+
+	@Before
+	public void setUp() {
+		mixer = new SoundMixer(false);
+	}
+
+	private MixedSound sound(int frames, int value) {
+		short[] samples = new short[2 * frames];
+		Arrays.fill(samples, (short) value);
+		return new MixedSound(mixer, "test", samples);
+	}
+
+	private int sample(int index) {
+		return (short) ((mixer.chunk[2 * index] & 0xFF) | (mixer.chunk[2 * index + 1] << 8));
+	}
+
+	@Test
+	public void testRunningFromStartCounters() {
+		MixedSound sound = sound(3 * CHUNK_FRAMES, 1000);
+		assertFalse(sound.isRunning());
+		sound.play();
+		// running before the mixer has taken the cue
+		assertTrue(sound.isRunning());
+		mixer.step();
+		assertTrue(sound.isRunning());
+		sound.stop();
+		// stopped before the mixer has taken the cue
+		assertFalse(sound.isRunning());
+		mixer.step();
+		assertFalse(sound.active);
+		assertFalse(sound.isRunning());
+		assertEquals(0, sample(0));
+		// the finished start is an older one
+		sound.play();
+		assertTrue(sound.isRunning());
+	}
+
+	@Test
+	public void testStopOfOlderStartIsIgnored() {
+		MixedSound sound = sound(3 * CHUNK_FRAMES, 1000);
+		sound.play();
+		sound.play();
+		mixer.post(new Cue(sound, Cue.Type.STOP, 1, 1));
+		mixer.step();
+		assertTrue(sound.active);
+		assertTrue(sound.isRunning());
+		assertEquals(1000, sample(2 * CHUNK_FRAMES - 1));
+	}
+
+	@Test
+	public void testNonLoopingSoundFinishes() {
+		MixedSound sound = sound(CHUNK_FRAMES + CHUNK_FRAMES / 2, 1000);
+		sound.play();
+		mixer.step();
+		assertTrue(sound.isRunning());
+		assertEquals(1000, sample(2 * CHUNK_FRAMES - 1));
+		mixer.step();
+		assertFalse(sound.active);
+		assertFalse(sound.isRunning());
+		assertEquals(1000, sample(CHUNK_FRAMES - 1));
+		assertEquals(0, sample(CHUNK_FRAMES));
+		mixer.step();
+		assertEquals(0, sample(0));
+	}
+
+	@Test
+	public void testLoopingSoundWrapsAround() {
+		short[] samples = { 1, 2, 3, 4, 5, 6 };
+		MixedSound sound = new MixedSound(mixer, "test", samples);
+		sound.loop();
+		mixer.step();
+		mixer.step();
+		assertTrue(sound.isRunning());
+		// the second chunk continues the cycle of the first one
+		for (int i = 0; i < 2 * CHUNK_FRAMES; ++i) {
+			assertEquals(samples[(2 * CHUNK_FRAMES + i) % samples.length], sample(i));
+		}
+		sound.stop();
+		mixer.step();
+		assertFalse(sound.isRunning());
+		assertEquals(0, sample(0));
+	}
+
+	@Test
+	public void testVolumeAndClipping() {
+		MixedSound quiet = sound(CHUNK_FRAMES, 1000);
+		quiet.setVolume(0.5f);
+		quiet.play();
+		mixer.step();
+		assertEquals(500, sample(0));
+		MixedSound loud = sound(CHUNK_FRAMES, 20000), louder = sound(CHUNK_FRAMES, 20000);
+		loud.play();
+		louder.play();
+		mixer.step();
+		assertEquals(Short.MAX_VALUE, sample(0));
+	}
+}